@@ -0,0 +1,292 @@
+//package setup.javaPlus;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+/**
+ * The <code>ArrayBuilder</code> class builds an array of objects one object or one
+ * block of objects at a time, without the reflection and copying of
+ * {@link ArraysPlus#add(Object[], Object)} on every add. The objects are kept in a
+ * backing array of the final component type with room to spare, which grows by half
+ * its size whenever it fills up, so adding <code>n</code> objects takes
+ * <code>O(n)</code> time in total.<br>
+ * <br>
+ *
+ * The finished objects can be copied out with {@link #toArray()}, or read without
+ * copying through {@link #array()}, which returns the backing array itself; calling
+ * {@link #trimToSize()} first makes it exactly as long as the amount of objects.
+ *
+ * @author jonatanfontanez
+ * @param <T> the component type of the array
+ * @see IntArrayBuilder
+ * @see DoubleArrayBuilder
+ *
+ */
+public final class ArrayBuilder<T> {
+	private static final int DEFAULT_CAPACITY = 10;
+	private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+	private T[] elements;
+	private int size;
+
+	/**
+	 * Creates an empty builder for an array of the component type
+	 * <code>componentType</code>.
+	 *
+	 * @param componentType the component type of the array
+	 */
+	public ArrayBuilder(Class<T> componentType) {
+		this(componentType, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty builder for an array of the component type
+	 * <code>componentType</code>, with room for <code>capacity</code> objects before it
+	 * needs to grow.
+	 *
+	 * @param componentType the component type of the array
+	 * @param capacity      amount of objects to make room for
+	 */
+	@SuppressWarnings("unchecked")
+	public ArrayBuilder(Class<T> componentType, int capacity) {
+		if (capacity < 0)
+			throw new IllegalArgumentException("Capacity cannot be negative!");
+		this.elements = (T[]) Array.newInstance(componentType, capacity);
+	}
+
+	/**
+	 * Creates a builder holding a copy of the objects in <code>values</code>, building
+	 * an array of the same component type.
+	 *
+	 * @param values the objects to start with
+	 */
+	public ArrayBuilder(T[] values) {
+		this.elements = values.clone();
+		this.size = values.length;
+	}
+
+	/**
+	 * Adds the object <code>value</code> to the end.
+	 *
+	 * @param value the object to add
+	 * @return this builder
+	 */
+	public ArrayBuilder<T> add(T value) {
+		if (size == elements.length)
+			grow(size + 1);
+		elements[size++] = value;
+		return this;
+	}
+
+	/**
+	 * Inserts the object <code>value</code> at the index <code>index</code>, shifting
+	 * every object from that index one index to the right.
+	 *
+	 * @param index the index to insert at
+	 * @param value the object to insert
+	 * @return this builder
+	 */
+	public ArrayBuilder<T> add(int index, T value) {
+		if (index < 0 || index > size)
+			throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+		if (size == elements.length)
+			grow(size + 1);
+		System.arraycopy(elements, index, elements, index + 1, size - index);
+		elements[index] = value;
+		size++;
+		return this;
+	}
+
+	/**
+	 * Adds every object in <code>values</code> to the end, in order.
+	 *
+	 * @param values the objects to add
+	 * @return this builder
+	 */
+	@SafeVarargs
+	public final ArrayBuilder<T> addAll(T... values) {
+		if (values.length > elements.length - size)
+			grow(size + values.length);
+		// Copying element by element keeps the varargs array from escaping this method
+		for (T value : values)
+			elements[size++] = value;
+		return this;
+	}
+
+	/**
+	 * Adds every object in <code>values</code> from the index <code>from</code>,
+	 * inclusive, to the index <code>to</code>, exclusive, to the end, in order.
+	 *
+	 * @param values the objects to add
+	 * @param from   first index to add
+	 * @param to     index after the last index to add
+	 * @return this builder
+	 */
+	public ArrayBuilder<T> addAll(T[] values, int from, int to) {
+		if (from < 0 || to > values.length || from > to)
+			throw new ArrayIndexOutOfBoundsException("Range [" + from + ", " + to + ") is out of bounds!");
+		int length = to - from;
+		if (length > elements.length - size)
+			grow(size + length);
+		System.arraycopy(values, from, elements, size, length);
+		size += length;
+		return this;
+	}
+
+	/**
+	 * Adds every object of the builder <code>other</code> to the end, in order.
+	 *
+	 * @param other the builder whose objects to add
+	 * @return this builder
+	 */
+	public ArrayBuilder<T> addAll(ArrayBuilder<? extends T> other) {
+		return addAll(other.elements, 0, other.size);
+	}
+
+	/**
+	 * Returns the object at the index <code>index</code>.
+	 *
+	 * @param index the index to read
+	 * @return the object at the index
+	 */
+	public T get(int index) {
+		checkIndex(index);
+		return elements[index];
+	}
+
+	/**
+	 * Sets the object at the index <code>index</code> to <code>value</code>.
+	 *
+	 * @param index the index to set
+	 * @param value the object to store
+	 * @return the object previously at the index
+	 */
+	public T set(int index, T value) {
+		checkIndex(index);
+		T old = elements[index];
+		elements[index] = value;
+		return old;
+	}
+
+	/**
+	 * Removes the object at the index <code>index</code>, shifting every later object one
+	 * index to the left.
+	 *
+	 * @param index the index to remove
+	 * @return the removed object
+	 */
+	public T remove(int index) {
+		checkIndex(index);
+		T old = elements[index];
+		System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+		elements[--size] = null;
+		return old;
+	}
+
+	/**
+	 * Returns the amount of objects added.
+	 *
+	 * @return amount of objects
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns if no objects have been added.
+	 *
+	 * @return if the builder is empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the amount of objects the backing array has room for.
+	 *
+	 * @return length of the backing array
+	 */
+	public int capacity() {
+		return elements.length;
+	}
+
+	/**
+	 * Removes every object, keeping the backing array for reuse.
+	 */
+	public void clear() {
+		Arrays.fill(elements, 0, size, null);
+		size = 0;
+	}
+
+	/**
+	 * Makes sure the backing array has room for at least <code>capacity</code> objects,
+	 * so that many objects can be added without it growing again.
+	 *
+	 * @param capacity amount of objects to make room for
+	 */
+	public void ensureCapacity(int capacity) {
+		if (capacity > elements.length)
+			grow(capacity);
+	}
+
+	/**
+	 * Shrinks the backing array to exactly the amount of objects.
+	 */
+	public void trimToSize() {
+		if (size < elements.length)
+			elements = Arrays.copyOf(elements, size);
+	}
+
+	/**
+	 * Returns a copy of the objects, exactly as long as the amount of objects.
+	 *
+	 * @return array of the objects
+	 */
+	public T[] toArray() {
+		return Arrays.copyOf(elements, size);
+	}
+
+	/**
+	 * Returns the backing array itself, without copying. Only the first
+	 * {@link #size()} indices hold objects; the array may be longer unless
+	 * {@link #trimToSize()} was called first. Changes to the array show up in the
+	 * builder until it grows into a new array.
+	 *
+	 * @return the backing array
+	 */
+	public T[] array() {
+		return elements;
+	}
+
+	private void grow(int minCapacity) {
+		// A negative capacity means the amount of values overflowed an int
+		if (minCapacity < 0 || minCapacity > MAX_CAPACITY)
+			throw new OutOfMemoryError("Required array length is too large!");
+		long capacity = (long) elements.length + (elements.length >> 1);
+		capacity = Math.max(capacity, Math.max(minCapacity, DEFAULT_CAPACITY));
+		elements = Arrays.copyOf(elements, (int) Math.min(capacity, MAX_CAPACITY));
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size)
+			throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+	}
+
+	/**
+	 * Creates and returns a string representation of the objects, in the form
+	 * {@code {a, b, c}}.
+	 *
+	 * @return string representation of the objects
+	 */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder(size * 8 + 2).append('{');
+		for (int i = 0; i < size; i++) {
+			if (i > 0)
+				builder.append(", ");
+			builder.append(elements[i]);
+		}
+		return builder.append('}').toString();
+	}
+
+}
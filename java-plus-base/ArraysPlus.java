@@ -1,8 +1,11 @@
 //package setup.javaPlus;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Array;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -12,6 +15,7 @@ import java.util.List;
  * forms of the more general <code>length()</code> and <code>toString()</code> methods.
  * 
  * @author jonatanfontanez
+ * @see NDArray
  *
  */
 public final class ArraysPlus {
@@ -34,7 +38,11 @@ public final class ArraysPlus {
 	 * @return the changed array
 	 */
 	public static <T>T[] remove(T[] arr, int index) {
-		return ArraysPlus.remove(arr, arr[index]);
+		if(index < 0 || index >= arr.length)
+			throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + arr.length);
+		T[] newArr = Arrays.copyOf(arr, arr.length - 1);
+		System.arraycopy(arr, index + 1, newArr, index, arr.length - index - 1);
+		return newArr;
 	}
 
 	/**
@@ -47,18 +55,10 @@ public final class ArraysPlus {
 	 * @return the changed array
 	 */
 	public static <T>T[] remove(T[] arr, T obj) {
-		if(ArraysPlus.contains(arr, obj)) {
-			@SuppressWarnings("unchecked")
-			T[] newArr = (T[])Array.newInstance(arr.getClass().getComponentType(), arr.length - 1);
-			int objIndex = ArraysPlus.indexOf(arr, obj);
-			for(int i = 0; i < arr.length; i++) 
-				if(newArr.getClass().getComponentType().equals(arr.getClass().getComponentType())) 
-					if(i < objIndex) 
-						newArr[i] = arr[i];
-					else if(i > objIndex) 
-						newArr[i-1] = arr[i];
-			return newArr;
-		}else 
+		int objIndex = ArraysPlus.indexOf(arr, obj);
+		if(objIndex >= 0)
+			return ArraysPlus.remove(arr, objIndex);
+		else 
 			return arr;
 	}
 	
@@ -82,13 +82,11 @@ public final class ArraysPlus {
 	 * @return the changed array
 	 */
 	public static <T>T[] add(T[] arr, int index, T obj) {
-		@SuppressWarnings("unchecked")
-		T[] newArr = (T[])Array.newInstance(arr.getClass().getComponentType(), arr.length - 1);
-		for(int i = 0; i < index; i++) 
-			newArr[i] = arr[i];
+		if(index < 0 || index > arr.length)
+			throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + arr.length);
+		T[] newArr = Arrays.copyOf(arr, arr.length + 1);
+		System.arraycopy(arr, index, newArr, index + 1, arr.length - index);
 		newArr[index] = obj;
-		for(int i = index; i < arr.length+1; i++) 
-			newArr[i] = arr[i-1];
 		return newArr;
 	}
 	
@@ -101,7 +99,9 @@ public final class ArraysPlus {
 	 * @return the changed array
 	 */
 	public static <T>T[] set(T[] arr, int index, T obj) {
-		return (T[])ArraysPlus.remove(ArraysPlus.add(arr, index, obj), index+1);
+		T[] newArr = arr.clone();
+		newArr[index] = obj;
+		return newArr;
 	}
 	
 	/**
@@ -130,14 +130,13 @@ public final class ArraysPlus {
 	public static <T>T[] concatenate(T[]... arrs){
 		int fullLength = 0;
 		for(int i = 0; i < arrs.length; i++) 
-			for(int j = 0; j < arrs[i].length; j++) 
-				fullLength++;
-		@SuppressWarnings("unchecked")
-		T[] fullArr = (T[]) Array.newInstance(arrs[0].getClass().getComponentType(), fullLength);
-		int index = 0;
-		for(int i = 0; i < arrs.length; i++) 
-			for(int j = 0; j < arrs[i].length; j++) 
-				fullArr[index++] = arrs[i][j];
+			fullLength += arrs[i].length;
+		T[] fullArr = Arrays.copyOf(arrs[0], fullLength);
+		int index = arrs[0].length;
+		for(int i = 1; i < arrs.length; i++) {
+			System.arraycopy(arrs[i], 0, fullArr, index, arrs[i].length);
+			index += arrs[i].length;
+		}
 		return fullArr;
 	}
 	
@@ -150,10 +149,9 @@ public final class ArraysPlus {
 	 * @return the index of the found object; returns -1 if not found
 	 */
 	public static int indexOf(Object[] arr, Object obj) {
-		if(ArraysPlus.contains(obj, arr))
-			for(int i = 0; i < arr.length; i++) 
-				if(arr[i].equals(obj))
-					return i;
+		for(int i = 0; i < arr.length; i++) 
+			if(ArraysPlus.matches(arr[i], obj))
+				return i;
 		return -1;
 	}
 	
@@ -166,10 +164,9 @@ public final class ArraysPlus {
 	 * @return the index of the found object; returns -1 if not found
 	 */
 	public static int lastIndexOf(Object[] arr, Object obj) {
-		if(ArraysPlus.contains(arr, obj))
-			for(int i = arr.length-1; i >= 0; i--) 
-				if(arr[i].equals(obj))
-					return i;
+		for(int i = arr.length-1; i >= 0; i--) 
+			if(ArraysPlus.matches(arr[i], obj))
+				return i;
 		return -1;
 	}
 	
@@ -184,13 +181,16 @@ public final class ArraysPlus {
 	 */
 	public static int occurencesOf(Object obj, Object arr) {
 		int count = 0;
-		if(arr.getClass().isArray() && Array.get(arr, 0).getClass().isArray()) 
-			for(int i = 0; i < Array.getLength(arr); i++) 
-				count += occurencesOf(obj, Array.get(arr, i));
-		else if(arr.getClass().isArray()) 
-			for(int i = 0; i < Array.getLength(arr); i++)
-				if(Array.get(arr, i).equals(obj))
+		if(arr instanceof Object[] && !ArraysPlus.isNested(arr)) {
+			for(Object element : (Object[])arr)
+				if(ArraysPlus.matches(element, obj))
 					count++;
+		}else if(ArraysPlus.isNested(arr)) {
+			for(Object row : (Object[])arr) 
+				if(row != null)
+					count += occurencesOf(obj, row);
+		}else if(arr.getClass().isArray()) 
+			count = ArraysPlus.primitiveOccurences(obj, arr, Integer.MAX_VALUE);
 		return count;
 	}
 	
@@ -203,7 +203,91 @@ public final class ArraysPlus {
 	 * @return if <code>arr</code> contains the object <code>obj</code>
 	 */
 	public static boolean contains(Object obj, Object arr) {
-		return ArraysPlus.occurencesOf(obj, arr) > 0;
+		if(arr instanceof Object[] && !ArraysPlus.isNested(arr))
+			return ArraysPlus.indexOf((Object[])arr, obj) >= 0;
+		else if(ArraysPlus.isNested(arr)) {
+			for(Object row : (Object[])arr) 
+				if(row != null && ArraysPlus.contains(obj, row))
+					return true;
+			return false;
+		}else if(arr.getClass().isArray())
+			return ArraysPlus.primitiveOccurences(obj, arr, 1) > 0;
+		return false;
+	}
+	
+	/**
+	 * Checks if an element of an array matches the object searched for, the same way
+	 * as <code>element.equals(obj)</code> but allowing <code>null</code> elements.
+	 */
+	private static boolean matches(Object element, Object obj) {
+		return element == null ? obj == null : element.equals(obj);
+	}
+	
+	/**
+	 * Checks if <code>arr</code> is an array whose first index holds another array, which
+	 * is how the methods working on multidimensional arrays tell them apart.
+	 */
+	private static boolean isNested(Object arr) {
+		if(!(arr instanceof Object[]))
+			return false;
+		if(arr.getClass().getComponentType().isArray())
+			return true;
+		for(Object element : (Object[])arr)
+			if(element != null)
+				return element.getClass().isArray();
+		return false;
+	}
+	
+	/**
+	 * Counts the indices of the primitive array <code>arr</code> whose wrapped value equals 
+	 * <code>obj</code>, reading the array directly instead of boxing every index. A wrapper
+	 * of a different type never matches, the same as {@link Object#equals(Object)} on the
+	 * wrappers. Stops counting once <code>limit</code> indices have matched.
+	 */
+	private static int primitiveOccurences(Object obj, Object arr, int limit) {
+		int count = 0;
+		if(arr instanceof int[] && obj instanceof Integer) {
+			int value = (Integer)obj;
+			for(int element : (int[])arr)
+				if(element == value && ++count == limit)
+					break;
+		}else if(arr instanceof double[] && obj instanceof Double) {
+			long bits = Double.doubleToLongBits((Double)obj);
+			for(double element : (double[])arr)
+				if(Double.doubleToLongBits(element) == bits && ++count == limit)
+					break;
+		}else if(arr instanceof long[] && obj instanceof Long) {
+			long value = (Long)obj;
+			for(long element : (long[])arr)
+				if(element == value && ++count == limit)
+					break;
+		}else if(arr instanceof float[] && obj instanceof Float) {
+			int bits = Float.floatToIntBits((Float)obj);
+			for(float element : (float[])arr)
+				if(Float.floatToIntBits(element) == bits && ++count == limit)
+					break;
+		}else if(arr instanceof char[] && obj instanceof Character) {
+			char value = (Character)obj;
+			for(char element : (char[])arr)
+				if(element == value && ++count == limit)
+					break;
+		}else if(arr instanceof byte[] && obj instanceof Byte) {
+			byte value = (Byte)obj;
+			for(byte element : (byte[])arr)
+				if(element == value && ++count == limit)
+					break;
+		}else if(arr instanceof short[] && obj instanceof Short) {
+			short value = (Short)obj;
+			for(short element : (short[])arr)
+				if(element == value && ++count == limit)
+					break;
+		}else if(arr instanceof boolean[] && obj instanceof Boolean) {
+			boolean value = (Boolean)obj;
+			for(boolean element : (boolean[])arr)
+				if(element == value && ++count == limit)
+					break;
+		}
+		return count;
 	}
 	
 	/**
@@ -248,20 +332,50 @@ public final class ArraysPlus {
 	 * @return array in custom String form
 	 */
 	public static String toString(Object[] arr, String opnArr, String clsArr, String sep) {
-		String fullArr = opnArr;
-		String stringAdd = "\"";
-		for(int i = 0; i < arr.length; i++) {
-			if(arr[i] instanceof String) 
-				stringAdd = "\"";
-			else 
-				stringAdd = "";
-			if(i != arr.length-1)
-				fullArr += stringAdd + arr[i].toString() + stringAdd + sep;
-			else
-				fullArr += stringAdd + arr[i].toString() + stringAdd;
+		StringBuilder builder = new StringBuilder(ArraysPlus.estimateLength(arr.length, sep));
+		ArrayWriter writer = new ArrayWriter(builder, builder, opnArr, clsArr, sep);
+		try {
+			writer.writeArray(arr);
+		}catch(IOException e) {
+			throw new UncheckedIOException(e);
 		}
-		fullArr += clsArr;
-		return fullArr;
+		return builder.toString();
+	}
+	
+	/**
+	 * Writes an array to <code>out</code> in the same format as {@link #toString(Object[])},
+	 * without building the whole String in memory first. The output is written in blocks of 
+	 * a few thousand characters, so arrays of any size can be streamed to a {@link java.io.Writer},
+	 * a file through {@link java.nio.channels.Channels#newWriter}, or a {@link StringBuilder}.
+	 * 
+	 * @param out where to write the array
+	 * @param arr array to be written
+	 * @return <code>out</code>
+	 * @throws IOException if <code>out</code> cannot be written to
+	 */
+	public static <A extends Appendable>A appendTo(A out, Object[] arr) throws IOException {
+		return ArraysPlus.appendTo(out, arr, OPEN_ARRAY, CLOSE_ARRAY, INDEX_SEPARATOR);
+	}
+	
+	/**
+	 * Writes an array to <code>out</code> in the same format as 
+	 * {@link #toString(Object[], String, String, String)}, without building the whole 
+	 * String in memory first.
+	 * 
+	 * @param out where to write the array
+	 * @param arr array to be written
+	 * @param opnArr String to start array with
+	 * @param clsArr String to end array with
+	 * @param sep String to separate indices with
+	 * @return <code>out</code>
+	 * @throws IOException if <code>out</code> cannot be written to
+	 */
+	public static <A extends Appendable>A appendTo(A out, Object[] arr, String opnArr, String clsArr, String sep) 
+			throws IOException {
+		ArrayWriter writer = ArraysPlus.writerFor(out, opnArr, clsArr, sep);
+		writer.writeArray(arr);
+		writer.flush();
+		return out;
 	}
 	
 	/**
@@ -342,19 +456,31 @@ public final class ArraysPlus {
 	
 	/**
 	 * Converts a {@link List} into an equivalent array with every index in the same order. Does
-	 * not destroy or modify the {@link List}.
+	 * not destroy or modify the {@link List}. The array is of the class of the first element
+	 * which is not null, or of {@link Object} if the list is empty.
 	 * 
 	 * @param list list to be converted
 	 * @return array equivalent to the list
 	 */
 	public static <T>T[] fromList(List<T> list){
 		@SuppressWarnings("unchecked")
-		T[] arr = (T[]) Array.newInstance(list.get(0).getClass(), list.size());
+		T[] arr = (T[]) Array.newInstance(ArraysPlus.elementType(list), list.size());
 		for(int i = 0; i < list.size(); i++)
 			arr[i] = list.get(i);
 		return arr;
 	}
 	
+	/**
+	 * Returns the class of the first element of <code>list</code> which is not null, or
+	 * {@link Object} if there is none, such as for an empty list.
+	 */
+	private static Class<?> elementType(List<?> list) {
+		for(Object element : list)
+			if(element != null)
+				return element.getClass();
+		return Object.class;
+	}
+	
 	/**
 	 * Converts an array of any amounts of dimensions into a readable string
 	 * format. Separates indices with commas and arrays with curly braces. Does
@@ -398,18 +524,51 @@ public final class ArraysPlus {
 	 * @return custom readable String format of the array
 	 */
 	public static String multidimensionalArrayToString(Object arr, String opnArr, String clsArr, String sep){
-		String s = "";
-		if (arr.getClass().isArray() && Array.get(arr, 0).getClass().isArray()) 
-			for (int i = 0; i < Array.getLength(arr); i++)
-				if(i == Array.getLength(arr)-1)
-					s += opnArr + multidimensionalArrayToString(Array.get(arr, i), opnArr, clsArr, sep) + clsArr;
-				else
-					s += opnArr + multidimensionalArrayToString(Array.get(arr, i), opnArr, clsArr, sep) + clsArr + sep;
-		else if(arr.getClass().isArray())
-			s += ArraysPlus.toString(ArraysPlus.toObjectArray(arr), opnArr, clsArr, sep).substring(opnArr.length(), 
-					ArraysPlus.toString(ArraysPlus.toObjectArray(arr), opnArr, clsArr, sep).length()-clsArr.length()); 
-		return s;
-	} 
+		StringBuilder builder = new StringBuilder(ArraysPlus.estimateLength(ArraysPlus.fullLength(arr), sep));
+		ArrayWriter writer = new ArrayWriter(builder, builder, opnArr, clsArr, sep);
+		try {
+			writer.writeMultidimensional(arr);
+		}catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return builder.toString();
+	}
+	
+	/**
+	 * Writes an array of any amount of dimensions to <code>out</code> in the same format as
+	 * {@link #multidimensionalArrayToString(Object)}, without building the whole String in
+	 * memory first. The output is written in blocks of a few thousand characters, and 
+	 * primitive arrays are written directly without wrapping each index in an object.
+	 * 
+	 * @param out where to write the array
+	 * @param arr array to be written
+	 * @return <code>out</code>
+	 * @throws IOException if <code>out</code> cannot be written to
+	 */
+	public static <A extends Appendable>A appendMultidimensionalTo(A out, Object arr) throws IOException {
+		return ArraysPlus.appendMultidimensionalTo(out, arr, OPEN_ARRAY, CLOSE_ARRAY, INDEX_SEPARATOR);
+	}
+	
+	/**
+	 * Writes an array of any amount of dimensions to <code>out</code> in the same format as
+	 * {@link #multidimensionalArrayToString(Object, String, String, String)}, without building
+	 * the whole String in memory first.
+	 * 
+	 * @param out where to write the array
+	 * @param arr array to be written
+	 * @param opnArr String to start an array with
+	 * @param clsArr String to end an array with
+	 * @param sep String to separate indices with
+	 * @return <code>out</code>
+	 * @throws IOException if <code>out</code> cannot be written to
+	 */
+	public static <A extends Appendable>A appendMultidimensionalTo(A out, Object arr, String opnArr, String clsArr, 
+			String sep) throws IOException {
+		ArrayWriter writer = ArraysPlus.writerFor(out, opnArr, clsArr, sep);
+		writer.writeMultidimensional(arr);
+		writer.flush();
+		return out;
+	}
 	
 	/**
 	 * Returns how many indices the given array has, or the sum of all lengths of every
@@ -420,10 +579,11 @@ public final class ArraysPlus {
 	 */
 	public static int fullLength(Object arr) {
 		int count = 0;
-		if (arr.getClass().isArray() && Array.get(arr, 0).getClass().isArray()) 
-			for (int i = 0; i < Array.getLength(arr); i++)
-				count += fullLength(Array.get(arr, i));
-		else if(arr.getClass().isArray())
+		if (ArraysPlus.isNested(arr)) {
+			for (Object row : (Object[])arr)
+				if(row != null)
+					count += fullLength(row);
+		}else if(arr.getClass().isArray())
 			count += Array.getLength(arr);
 		return count;
 	}
@@ -444,5 +604,1309 @@ public final class ArraysPlus {
 				return false;
 		return true;
 	}
+	
+	/*
+	 * Primitive versions of the methods above, which work on the array directly instead of
+	 * wrapping every index in an object. Methods which return an array never modify the input.
+	 */
+	
+	/**
+	 * Returns an array with every index of <code>arr</code> reversed. Does not modify or 
+	 * destroy <code>arr</code>.
+	 * 
+	 * @param arr array to be reversed
+	 * @return reversed array
+	 */
+	public static int[] reverse(int[] arr) {
+		int[] newArr = new int[arr.length];
+		for(int i = 0; i < arr.length; i++) 
+			newArr[i] = arr[arr.length-i-1];
+		return newArr;
+	}
+	
+	/**
+	 * Returns an array which contains all indices of all input arrays in the original
+	 * order added into a single array.
+	 * 
+	 * @param arrs arrays to be concatenated
+	 * @return fully concatenated array
+	 */
+	public static int[] concatenate(int[]... arrs) {
+		int fullLength = 0;
+		for(int i = 0; i < arrs.length; i++) 
+			fullLength += arrs[i].length;
+		int[] fullArr = new int[fullLength];
+		int index = 0;
+		for(int i = 0; i < arrs.length; i++) {
+			System.arraycopy(arrs[i], 0, fullArr, index, arrs[i].length);
+			index += arrs[i].length;
+		}
+		return fullArr;
+	}
+	
+	/**
+	 * Returns the index of the first occurrence of <code>val</code> in the array 
+	 * <code>arr</code>; if it does not appear, returns -1.
+	 * 
+	 * @param arr the array to search through
+	 * @param val the value to search for
+	 * @return the index of the found value; returns -1 if not found
+	 */
+	public static int indexOf(int[] arr, int val) {
+		for(int i = 0; i < arr.length; i++) 
+			if(arr[i] == val)
+				return i;
+		return -1;
+	}
+	
+	/**
+	 * Returns the index of the last occurrence of <code>val</code> in the array 
+	 * <code>arr</code>; if it does not appear, returns -1.
+	 * 
+	 * @param arr the array to search through
+	 * @param val the value to search for
+	 * @return the index of the found value; returns -1 if not found
+	 */
+	public static int lastIndexOf(int[] arr, int val) {
+		for(int i = arr.length-1; i >= 0; i--) 
+			if(arr[i] == val)
+				return i;
+		return -1;
+	}
+	
+	/**
+	 * Returns the amount of times <code>val</code> appears in the array <code>arr</code>.
+	 * 
+	 * @param val the value to count
+	 * @param arr the array to search through
+	 * @return amount of times the value appears
+	 */
+	public static int occurencesOf(int val, int[] arr) {
+		int count = 0;
+		for(int i = 0; i < arr.length; i++) 
+			if(arr[i] == val)
+				count++;
+		return count;
+	}
+	
+	/**
+	 * Checks if <code>val</code> is contained within the array <code>arr</code>.
+	 * 
+	 * @param val the value to be checked for
+	 * @param arr the array to search through
+	 * @return if <code>arr</code> contains the value <code>val</code>
+	 */
+	public static boolean contains(int val, int[] arr) {
+		return ArraysPlus.indexOf(arr, val) >= 0;
+	}
+	
+	/**
+	 * Checks if both arrays hold the same values in the same order.
+	 * 
+	 * @param arr1 first array to compare
+	 * @param arr2 second array to compare
+	 * @return if both arrays are equal
+	 */
+	public static boolean equals(int[] arr1, int[] arr2) {
+		return Arrays.equals(arr1, arr2);
+	}
+	
+	/**
+	 * Adds the value <code>val</code> to the end of the array <code>arr</code>.
+	 * 
+	 * @param arr the array to add a value to
+	 * @param val the value to add
+	 * @return the changed array
+	 */
+	public static int[] add(int[] arr, int val) {
+		int[] newArr = Arrays.copyOf(arr, arr.length + 1);
+		newArr[arr.length] = val;
+		return newArr;
+	}
+	
+	/**
+	 * Adds the value <code>val</code> to the index <code>index</code> in the array <code>arr</code>.
+	 * 
+	 * @param arr the array to add a value to
+	 * @param index the index to add the value to
+	 * @param val the value to add
+	 * @return the changed array
+	 */
+	public static int[] add(int[] arr, int index, int val) {
+		if(index < 0 || index > arr.length)
+			throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + arr.length);
+		int[] newArr = Arrays.copyOf(arr, arr.length + 1);
+		System.arraycopy(arr, index, newArr, index + 1, arr.length - index);
+		newArr[index] = val;
+		return newArr;
+	}
+	
+	/**
+	 * Removes the value found at the index <code>index</code> in the array <code>arr</code>.
+	 * To remove a value wherever it is, use <code>remove(arr, indexOf(arr, val))</code>.
+	 * 
+	 * @param arr the array to remove a value from
+	 * @param index the index to remove
+	 * @return the changed array
+	 */
+	public static int[] remove(int[] arr, int index) {
+		if(index < 0 || index >= arr.length)
+			throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + arr.length);
+		int[] newArr = Arrays.copyOf(arr, arr.length - 1);
+		System.arraycopy(arr, index + 1, newArr, index, arr.length - index - 1);
+		return newArr;
+	}
+	
+	/**
+	 * Sets the index of <code>index</code> in the array <code>arr</code> as the value <code>val</code>.
+	 * 
+	 * @param arr the array to use
+	 * @param index the index to set to
+	 * @param val the value to set
+	 * @return the changed array
+	 */
+	public static int[] set(int[] arr, int index, int val) {
+		int[] newArr = arr.clone();
+		newArr[index] = val;
+		return newArr;
+	}
+	
+	/**
+	 * Returns an array with every index of <code>arr</code> reversed. Does not modify or 
+	 * destroy <code>arr</code>.
+	 * 
+	 * @param arr array to be reversed
+	 * @return reversed array
+	 */
+	public static long[] reverse(long[] arr) {
+		long[] newArr = new long[arr.length];
+		for(int i = 0; i < arr.length; i++) 
+			newArr[i] = arr[arr.length-i-1];
+		return newArr;
+	}
+	
+	/**
+	 * Returns an array which contains all indices of all input arrays in the original
+	 * order added into a single array.
+	 * 
+	 * @param arrs arrays to be concatenated
+	 * @return fully concatenated array
+	 */
+	public static long[] concatenate(long[]... arrs) {
+		int fullLength = 0;
+		for(int i = 0; i < arrs.length; i++) 
+			fullLength += arrs[i].length;
+		long[] fullArr = new long[fullLength];
+		int index = 0;
+		for(int i = 0; i < arrs.length; i++) {
+			System.arraycopy(arrs[i], 0, fullArr, index, arrs[i].length);
+			index += arrs[i].length;
+		}
+		return fullArr;
+	}
+	
+	/**
+	 * Returns the index of the first occurrence of <code>val</code> in the array 
+	 * <code>arr</code>; if it does not appear, returns -1.
+	 * 
+	 * @param arr the array to search through
+	 * @param val the value to search for
+	 * @return the index of the found value; returns -1 if not found
+	 */
+	public static int indexOf(long[] arr, long val) {
+		for(int i = 0; i < arr.length; i++) 
+			if(arr[i] == val)
+				return i;
+		return -1;
+	}
+	
+	/**
+	 * Returns the index of the last occurrence of <code>val</code> in the array 
+	 * <code>arr</code>; if it does not appear, returns -1.
+	 * 
+	 * @param arr the array to search through
+	 * @param val the value to search for
+	 * @return the index of the found value; returns -1 if not found
+	 */
+	public static int lastIndexOf(long[] arr, long val) {
+		for(int i = arr.length-1; i >= 0; i--) 
+			if(arr[i] == val)
+				return i;
+		return -1;
+	}
+	
+	/**
+	 * Returns the amount of times <code>val</code> appears in the array <code>arr</code>.
+	 * 
+	 * @param val the value to count
+	 * @param arr the array to search through
+	 * @return amount of times the value appears
+	 */
+	public static int occurencesOf(long val, long[] arr) {
+		int count = 0;
+		for(int i = 0; i < arr.length; i++) 
+			if(arr[i] == val)
+				count++;
+		return count;
+	}
+	
+	/**
+	 * Checks if <code>val</code> is contained within the array <code>arr</code>.
+	 * 
+	 * @param val the value to be checked for
+	 * @param arr the array to search through
+	 * @return if <code>arr</code> contains the value <code>val</code>
+	 */
+	public static boolean contains(long val, long[] arr) {
+		return ArraysPlus.indexOf(arr, val) >= 0;
+	}
+	
+	/**
+	 * Checks if both arrays hold the same values in the same order.
+	 * 
+	 * @param arr1 first array to compare
+	 * @param arr2 second array to compare
+	 * @return if both arrays are equal
+	 */
+	public static boolean equals(long[] arr1, long[] arr2) {
+		return Arrays.equals(arr1, arr2);
+	}
+	
+	/**
+	 * Adds the value <code>val</code> to the end of the array <code>arr</code>.
+	 * 
+	 * @param arr the array to add a value to
+	 * @param val the value to add
+	 * @return the changed array
+	 */
+	public static long[] add(long[] arr, long val) {
+		long[] newArr = Arrays.copyOf(arr, arr.length + 1);
+		newArr[arr.length] = val;
+		return newArr;
+	}
+	
+	/**
+	 * Adds the value <code>val</code> to the index <code>index</code> in the array <code>arr</code>.
+	 * 
+	 * @param arr the array to add a value to
+	 * @param index the index to add the value to
+	 * @param val the value to add
+	 * @return the changed array
+	 */
+	public static long[] add(long[] arr, int index, long val) {
+		if(index < 0 || index > arr.length)
+			throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + arr.length);
+		long[] newArr = Arrays.copyOf(arr, arr.length + 1);
+		System.arraycopy(arr, index, newArr, index + 1, arr.length - index);
+		newArr[index] = val;
+		return newArr;
+	}
+	
+	/**
+	 * Removes the value found at the index <code>index</code> in the array <code>arr</code>.
+	 * To remove a value wherever it is, use <code>remove(arr, indexOf(arr, val))</code>.
+	 * 
+	 * @param arr the array to remove a value from
+	 * @param index the index to remove
+	 * @return the changed array
+	 */
+	public static long[] remove(long[] arr, int index) {
+		if(index < 0 || index >= arr.length)
+			throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + arr.length);
+		long[] newArr = Arrays.copyOf(arr, arr.length - 1);
+		System.arraycopy(arr, index + 1, newArr, index, arr.length - index - 1);
+		return newArr;
+	}
+	
+	/**
+	 * Sets the index of <code>index</code> in the array <code>arr</code> as the value <code>val</code>.
+	 * 
+	 * @param arr the array to use
+	 * @param index the index to set to
+	 * @param val the value to set
+	 * @return the changed array
+	 */
+	public static long[] set(long[] arr, int index, long val) {
+		long[] newArr = arr.clone();
+		newArr[index] = val;
+		return newArr;
+	}
+	
+	/**
+	 * Returns an array with every index of <code>arr</code> reversed. Does not modify or 
+	 * destroy <code>arr</code>.
+	 * 
+	 * @param arr array to be reversed
+	 * @return reversed array
+	 */
+	public static double[] reverse(double[] arr) {
+		double[] newArr = new double[arr.length];
+		for(int i = 0; i < arr.length; i++) 
+			newArr[i] = arr[arr.length-i-1];
+		return newArr;
+	}
+	
+	/**
+	 * Returns an array which contains all indices of all input arrays in the original
+	 * order added into a single array.
+	 * 
+	 * @param arrs arrays to be concatenated
+	 * @return fully concatenated array
+	 */
+	public static double[] concatenate(double[]... arrs) {
+		int fullLength = 0;
+		for(int i = 0; i < arrs.length; i++) 
+			fullLength += arrs[i].length;
+		double[] fullArr = new double[fullLength];
+		int index = 0;
+		for(int i = 0; i < arrs.length; i++) {
+			System.arraycopy(arrs[i], 0, fullArr, index, arrs[i].length);
+			index += arrs[i].length;
+		}
+		return fullArr;
+	}
+	
+	/**
+	 * Returns the index of the first occurrence of <code>val</code> in the array 
+	 * <code>arr</code>; if it does not appear, returns -1.
+	 * Values are compared by their bits, so <code>NaN</code> can be found and <code>0.0</code> and 
+	 * <code>-0.0</code> are different.
+	 * 
+	 * @param arr the array to search through
+	 * @param val the value to search for
+	 * @return the index of the found value; returns -1 if not found
+	 */
+	public static int indexOf(double[] arr, double val) {
+		for(int i = 0; i < arr.length; i++) 
+			if(Double.doubleToLongBits(arr[i]) == Double.doubleToLongBits(val))
+				return i;
+		return -1;
+	}
+	
+	/**
+	 * Returns the index of the last occurrence of <code>val</code> in the array 
+	 * <code>arr</code>; if it does not appear, returns -1.
+	 * Values are compared by their bits, so <code>NaN</code> can be found and <code>0.0</code> and 
+	 * <code>-0.0</code> are different.
+	 * 
+	 * @param arr the array to search through
+	 * @param val the value to search for
+	 * @return the index of the found value; returns -1 if not found
+	 */
+	public static int lastIndexOf(double[] arr, double val) {
+		for(int i = arr.length-1; i >= 0; i--) 
+			if(Double.doubleToLongBits(arr[i]) == Double.doubleToLongBits(val))
+				return i;
+		return -1;
+	}
+	
+	/**
+	 * Returns the amount of times <code>val</code> appears in the array <code>arr</code>.
+	 * Values are compared by their bits, so <code>NaN</code> can be found and <code>0.0</code> and 
+	 * <code>-0.0</code> are different.
+	 * 
+	 * @param val the value to count
+	 * @param arr the array to search through
+	 * @return amount of times the value appears
+	 */
+	public static int occurencesOf(double val, double[] arr) {
+		int count = 0;
+		for(int i = 0; i < arr.length; i++) 
+			if(Double.doubleToLongBits(arr[i]) == Double.doubleToLongBits(val))
+				count++;
+		return count;
+	}
+	
+	/**
+	 * Checks if <code>val</code> is contained within the array <code>arr</code>.
+	 * Values are compared by their bits, so <code>NaN</code> can be found and <code>0.0</code> and 
+	 * <code>-0.0</code> are different.
+	 * 
+	 * @param val the value to be checked for
+	 * @param arr the array to search through
+	 * @return if <code>arr</code> contains the value <code>val</code>
+	 */
+	public static boolean contains(double val, double[] arr) {
+		return ArraysPlus.indexOf(arr, val) >= 0;
+	}
+	
+	/**
+	 * Checks if both arrays hold the same values in the same order.
+	 * Values are compared by their bits, so <code>NaN</code> can be found and <code>0.0</code> and 
+	 * <code>-0.0</code> are different.
+	 * 
+	 * @param arr1 first array to compare
+	 * @param arr2 second array to compare
+	 * @return if both arrays are equal
+	 */
+	public static boolean equals(double[] arr1, double[] arr2) {
+		return Arrays.equals(arr1, arr2);
+	}
+	
+	/**
+	 * Adds the value <code>val</code> to the end of the array <code>arr</code>.
+	 * 
+	 * @param arr the array to add a value to
+	 * @param val the value to add
+	 * @return the changed array
+	 */
+	public static double[] add(double[] arr, double val) {
+		double[] newArr = Arrays.copyOf(arr, arr.length + 1);
+		newArr[arr.length] = val;
+		return newArr;
+	}
+	
+	/**
+	 * Adds the value <code>val</code> to the index <code>index</code> in the array <code>arr</code>.
+	 * 
+	 * @param arr the array to add a value to
+	 * @param index the index to add the value to
+	 * @param val the value to add
+	 * @return the changed array
+	 */
+	public static double[] add(double[] arr, int index, double val) {
+		if(index < 0 || index > arr.length)
+			throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + arr.length);
+		double[] newArr = Arrays.copyOf(arr, arr.length + 1);
+		System.arraycopy(arr, index, newArr, index + 1, arr.length - index);
+		newArr[index] = val;
+		return newArr;
+	}
+	
+	/**
+	 * Removes the value found at the index <code>index</code> in the array <code>arr</code>.
+	 * To remove a value wherever it is, use <code>remove(arr, indexOf(arr, val))</code>.
+	 * 
+	 * @param arr the array to remove a value from
+	 * @param index the index to remove
+	 * @return the changed array
+	 */
+	public static double[] remove(double[] arr, int index) {
+		if(index < 0 || index >= arr.length)
+			throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + arr.length);
+		double[] newArr = Arrays.copyOf(arr, arr.length - 1);
+		System.arraycopy(arr, index + 1, newArr, index, arr.length - index - 1);
+		return newArr;
+	}
+	
+	/**
+	 * Sets the index of <code>index</code> in the array <code>arr</code> as the value <code>val</code>.
+	 * 
+	 * @param arr the array to use
+	 * @param index the index to set to
+	 * @param val the value to set
+	 * @return the changed array
+	 */
+	public static double[] set(double[] arr, int index, double val) {
+		double[] newArr = arr.clone();
+		newArr[index] = val;
+		return newArr;
+	}
+	
+	/**
+	 * Returns an array with every index of <code>arr</code> reversed. Does not modify or 
+	 * destroy <code>arr</code>.
+	 * 
+	 * @param arr array to be reversed
+	 * @return reversed array
+	 */
+	public static float[] reverse(float[] arr) {
+		float[] newArr = new float[arr.length];
+		for(int i = 0; i < arr.length; i++) 
+			newArr[i] = arr[arr.length-i-1];
+		return newArr;
+	}
+	
+	/**
+	 * Returns an array which contains all indices of all input arrays in the original
+	 * order added into a single array.
+	 * 
+	 * @param arrs arrays to be concatenated
+	 * @return fully concatenated array
+	 */
+	public static float[] concatenate(float[]... arrs) {
+		int fullLength = 0;
+		for(int i = 0; i < arrs.length; i++) 
+			fullLength += arrs[i].length;
+		float[] fullArr = new float[fullLength];
+		int index = 0;
+		for(int i = 0; i < arrs.length; i++) {
+			System.arraycopy(arrs[i], 0, fullArr, index, arrs[i].length);
+			index += arrs[i].length;
+		}
+		return fullArr;
+	}
+	
+	/**
+	 * Returns the index of the first occurrence of <code>val</code> in the array 
+	 * <code>arr</code>; if it does not appear, returns -1.
+	 * Values are compared by their bits, so <code>NaN</code> can be found and <code>0.0</code> and 
+	 * <code>-0.0</code> are different.
+	 * 
+	 * @param arr the array to search through
+	 * @param val the value to search for
+	 * @return the index of the found value; returns -1 if not found
+	 */
+	public static int indexOf(float[] arr, float val) {
+		for(int i = 0; i < arr.length; i++) 
+			if(Float.floatToIntBits(arr[i]) == Float.floatToIntBits(val))
+				return i;
+		return -1;
+	}
+	
+	/**
+	 * Returns the index of the last occurrence of <code>val</code> in the array 
+	 * <code>arr</code>; if it does not appear, returns -1.
+	 * Values are compared by their bits, so <code>NaN</code> can be found and <code>0.0</code> and 
+	 * <code>-0.0</code> are different.
+	 * 
+	 * @param arr the array to search through
+	 * @param val the value to search for
+	 * @return the index of the found value; returns -1 if not found
+	 */
+	public static int lastIndexOf(float[] arr, float val) {
+		for(int i = arr.length-1; i >= 0; i--) 
+			if(Float.floatToIntBits(arr[i]) == Float.floatToIntBits(val))
+				return i;
+		return -1;
+	}
+	
+	/**
+	 * Returns the amount of times <code>val</code> appears in the array <code>arr</code>.
+	 * Values are compared by their bits, so <code>NaN</code> can be found and <code>0.0</code> and 
+	 * <code>-0.0</code> are different.
+	 * 
+	 * @param val the value to count
+	 * @param arr the array to search through
+	 * @return amount of times the value appears
+	 */
+	public static int occurencesOf(float val, float[] arr) {
+		int count = 0;
+		for(int i = 0; i < arr.length; i++) 
+			if(Float.floatToIntBits(arr[i]) == Float.floatToIntBits(val))
+				count++;
+		return count;
+	}
+	
+	/**
+	 * Checks if <code>val</code> is contained within the array <code>arr</code>.
+	 * Values are compared by their bits, so <code>NaN</code> can be found and <code>0.0</code> and 
+	 * <code>-0.0</code> are different.
+	 * 
+	 * @param val the value to be checked for
+	 * @param arr the array to search through
+	 * @return if <code>arr</code> contains the value <code>val</code>
+	 */
+	public static boolean contains(float val, float[] arr) {
+		return ArraysPlus.indexOf(arr, val) >= 0;
+	}
+	
+	/**
+	 * Checks if both arrays hold the same values in the same order.
+	 * Values are compared by their bits, so <code>NaN</code> can be found and <code>0.0</code> and 
+	 * <code>-0.0</code> are different.
+	 * 
+	 * @param arr1 first array to compare
+	 * @param arr2 second array to compare
+	 * @return if both arrays are equal
+	 */
+	public static boolean equals(float[] arr1, float[] arr2) {
+		return Arrays.equals(arr1, arr2);
+	}
+	
+	/**
+	 * Adds the value <code>val</code> to the end of the array <code>arr</code>.
+	 * 
+	 * @param arr the array to add a value to
+	 * @param val the value to add
+	 * @return the changed array
+	 */
+	public static float[] add(float[] arr, float val) {
+		float[] newArr = Arrays.copyOf(arr, arr.length + 1);
+		newArr[arr.length] = val;
+		return newArr;
+	}
+	
+	/**
+	 * Adds the value <code>val</code> to the index <code>index</code> in the array <code>arr</code>.
+	 * 
+	 * @param arr the array to add a value to
+	 * @param index the index to add the value to
+	 * @param val the value to add
+	 * @return the changed array
+	 */
+	public static float[] add(float[] arr, int index, float val) {
+		if(index < 0 || index > arr.length)
+			throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + arr.length);
+		float[] newArr = Arrays.copyOf(arr, arr.length + 1);
+		System.arraycopy(arr, index, newArr, index + 1, arr.length - index);
+		newArr[index] = val;
+		return newArr;
+	}
+	
+	/**
+	 * Removes the value found at the index <code>index</code> in the array <code>arr</code>.
+	 * To remove a value wherever it is, use <code>remove(arr, indexOf(arr, val))</code>.
+	 * 
+	 * @param arr the array to remove a value from
+	 * @param index the index to remove
+	 * @return the changed array
+	 */
+	public static float[] remove(float[] arr, int index) {
+		if(index < 0 || index >= arr.length)
+			throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + arr.length);
+		float[] newArr = Arrays.copyOf(arr, arr.length - 1);
+		System.arraycopy(arr, index + 1, newArr, index, arr.length - index - 1);
+		return newArr;
+	}
+	
+	/**
+	 * Sets the index of <code>index</code> in the array <code>arr</code> as the value <code>val</code>.
+	 * 
+	 * @param arr the array to use
+	 * @param index the index to set to
+	 * @param val the value to set
+	 * @return the changed array
+	 */
+	public static float[] set(float[] arr, int index, float val) {
+		float[] newArr = arr.clone();
+		newArr[index] = val;
+		return newArr;
+	}
+	
+	/**
+	 * Returns an array with every index of <code>arr</code> reversed. Does not modify or 
+	 * destroy <code>arr</code>.
+	 * 
+	 * @param arr array to be reversed
+	 * @return reversed array
+	 */
+	public static byte[] reverse(byte[] arr) {
+		byte[] newArr = new byte[arr.length];
+		for(int i = 0; i < arr.length; i++) 
+			newArr[i] = arr[arr.length-i-1];
+		return newArr;
+	}
+	
+	/**
+	 * Returns an array which contains all indices of all input arrays in the original
+	 * order added into a single array.
+	 * 
+	 * @param arrs arrays to be concatenated
+	 * @return fully concatenated array
+	 */
+	public static byte[] concatenate(byte[]... arrs) {
+		int fullLength = 0;
+		for(int i = 0; i < arrs.length; i++) 
+			fullLength += arrs[i].length;
+		byte[] fullArr = new byte[fullLength];
+		int index = 0;
+		for(int i = 0; i < arrs.length; i++) {
+			System.arraycopy(arrs[i], 0, fullArr, index, arrs[i].length);
+			index += arrs[i].length;
+		}
+		return fullArr;
+	}
+	
+	/**
+	 * Returns the index of the first occurrence of <code>val</code> in the array 
+	 * <code>arr</code>; if it does not appear, returns -1.
+	 * 
+	 * @param arr the array to search through
+	 * @param val the value to search for
+	 * @return the index of the found value; returns -1 if not found
+	 */
+	public static int indexOf(byte[] arr, byte val) {
+		for(int i = 0; i < arr.length; i++) 
+			if(arr[i] == val)
+				return i;
+		return -1;
+	}
+	
+	/**
+	 * Returns the index of the last occurrence of <code>val</code> in the array 
+	 * <code>arr</code>; if it does not appear, returns -1.
+	 * 
+	 * @param arr the array to search through
+	 * @param val the value to search for
+	 * @return the index of the found value; returns -1 if not found
+	 */
+	public static int lastIndexOf(byte[] arr, byte val) {
+		for(int i = arr.length-1; i >= 0; i--) 
+			if(arr[i] == val)
+				return i;
+		return -1;
+	}
+	
+	/**
+	 * Returns the amount of times <code>val</code> appears in the array <code>arr</code>.
+	 * 
+	 * @param val the value to count
+	 * @param arr the array to search through
+	 * @return amount of times the value appears
+	 */
+	public static int occurencesOf(byte val, byte[] arr) {
+		int count = 0;
+		for(int i = 0; i < arr.length; i++) 
+			if(arr[i] == val)
+				count++;
+		return count;
+	}
+	
+	/**
+	 * Checks if <code>val</code> is contained within the array <code>arr</code>.
+	 * 
+	 * @param val the value to be checked for
+	 * @param arr the array to search through
+	 * @return if <code>arr</code> contains the value <code>val</code>
+	 */
+	public static boolean contains(byte val, byte[] arr) {
+		return ArraysPlus.indexOf(arr, val) >= 0;
+	}
+	
+	/**
+	 * Checks if both arrays hold the same values in the same order.
+	 * 
+	 * @param arr1 first array to compare
+	 * @param arr2 second array to compare
+	 * @return if both arrays are equal
+	 */
+	public static boolean equals(byte[] arr1, byte[] arr2) {
+		return Arrays.equals(arr1, arr2);
+	}
+	
+	/**
+	 * Adds the value <code>val</code> to the end of the array <code>arr</code>.
+	 * 
+	 * @param arr the array to add a value to
+	 * @param val the value to add
+	 * @return the changed array
+	 */
+	public static byte[] add(byte[] arr, byte val) {
+		byte[] newArr = Arrays.copyOf(arr, arr.length + 1);
+		newArr[arr.length] = val;
+		return newArr;
+	}
+	
+	/**
+	 * Adds the value <code>val</code> to the index <code>index</code> in the array <code>arr</code>.
+	 * 
+	 * @param arr the array to add a value to
+	 * @param index the index to add the value to
+	 * @param val the value to add
+	 * @return the changed array
+	 */
+	public static byte[] add(byte[] arr, int index, byte val) {
+		if(index < 0 || index > arr.length)
+			throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + arr.length);
+		byte[] newArr = Arrays.copyOf(arr, arr.length + 1);
+		System.arraycopy(arr, index, newArr, index + 1, arr.length - index);
+		newArr[index] = val;
+		return newArr;
+	}
+	
+	/**
+	 * Removes the value found at the index <code>index</code> in the array <code>arr</code>.
+	 * To remove a value wherever it is, use <code>remove(arr, indexOf(arr, val))</code>.
+	 * 
+	 * @param arr the array to remove a value from
+	 * @param index the index to remove
+	 * @return the changed array
+	 */
+	public static byte[] remove(byte[] arr, int index) {
+		if(index < 0 || index >= arr.length)
+			throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + arr.length);
+		byte[] newArr = Arrays.copyOf(arr, arr.length - 1);
+		System.arraycopy(arr, index + 1, newArr, index, arr.length - index - 1);
+		return newArr;
+	}
+	
+	/**
+	 * Sets the index of <code>index</code> in the array <code>arr</code> as the value <code>val</code>.
+	 * 
+	 * @param arr the array to use
+	 * @param index the index to set to
+	 * @param val the value to set
+	 * @return the changed array
+	 */
+	public static byte[] set(byte[] arr, int index, byte val) {
+		byte[] newArr = arr.clone();
+		newArr[index] = val;
+		return newArr;
+	}
+	
+	/**
+	 * Returns an array with every index of <code>arr</code> reversed. Does not modify or 
+	 * destroy <code>arr</code>.
+	 * 
+	 * @param arr array to be reversed
+	 * @return reversed array
+	 */
+	public static char[] reverse(char[] arr) {
+		char[] newArr = new char[arr.length];
+		for(int i = 0; i < arr.length; i++) 
+			newArr[i] = arr[arr.length-i-1];
+		return newArr;
+	}
+	
+	/**
+	 * Returns an array which contains all indices of all input arrays in the original
+	 * order added into a single array.
+	 * 
+	 * @param arrs arrays to be concatenated
+	 * @return fully concatenated array
+	 */
+	public static char[] concatenate(char[]... arrs) {
+		int fullLength = 0;
+		for(int i = 0; i < arrs.length; i++) 
+			fullLength += arrs[i].length;
+		char[] fullArr = new char[fullLength];
+		int index = 0;
+		for(int i = 0; i < arrs.length; i++) {
+			System.arraycopy(arrs[i], 0, fullArr, index, arrs[i].length);
+			index += arrs[i].length;
+		}
+		return fullArr;
+	}
+	
+	/**
+	 * Returns the index of the first occurrence of <code>val</code> in the array 
+	 * <code>arr</code>; if it does not appear, returns -1.
+	 * 
+	 * @param arr the array to search through
+	 * @param val the value to search for
+	 * @return the index of the found value; returns -1 if not found
+	 */
+	public static int indexOf(char[] arr, char val) {
+		for(int i = 0; i < arr.length; i++) 
+			if(arr[i] == val)
+				return i;
+		return -1;
+	}
+	
+	/**
+	 * Returns the index of the last occurrence of <code>val</code> in the array 
+	 * <code>arr</code>; if it does not appear, returns -1.
+	 * 
+	 * @param arr the array to search through
+	 * @param val the value to search for
+	 * @return the index of the found value; returns -1 if not found
+	 */
+	public static int lastIndexOf(char[] arr, char val) {
+		for(int i = arr.length-1; i >= 0; i--) 
+			if(arr[i] == val)
+				return i;
+		return -1;
+	}
+	
+	/**
+	 * Returns the amount of times <code>val</code> appears in the array <code>arr</code>.
+	 * 
+	 * @param val the value to count
+	 * @param arr the array to search through
+	 * @return amount of times the value appears
+	 */
+	public static int occurencesOf(char val, char[] arr) {
+		int count = 0;
+		for(int i = 0; i < arr.length; i++) 
+			if(arr[i] == val)
+				count++;
+		return count;
+	}
+	
+	/**
+	 * Checks if <code>val</code> is contained within the array <code>arr</code>.
+	 * 
+	 * @param val the value to be checked for
+	 * @param arr the array to search through
+	 * @return if <code>arr</code> contains the value <code>val</code>
+	 */
+	public static boolean contains(char val, char[] arr) {
+		return ArraysPlus.indexOf(arr, val) >= 0;
+	}
+	
+	/**
+	 * Checks if both arrays hold the same values in the same order.
+	 * 
+	 * @param arr1 first array to compare
+	 * @param arr2 second array to compare
+	 * @return if both arrays are equal
+	 */
+	public static boolean equals(char[] arr1, char[] arr2) {
+		return Arrays.equals(arr1, arr2);
+	}
+	
+	/**
+	 * Adds the value <code>val</code> to the end of the array <code>arr</code>.
+	 * 
+	 * @param arr the array to add a value to
+	 * @param val the value to add
+	 * @return the changed array
+	 */
+	public static char[] add(char[] arr, char val) {
+		char[] newArr = Arrays.copyOf(arr, arr.length + 1);
+		newArr[arr.length] = val;
+		return newArr;
+	}
+	
+	/**
+	 * Adds the value <code>val</code> to the index <code>index</code> in the array <code>arr</code>.
+	 * 
+	 * @param arr the array to add a value to
+	 * @param index the index to add the value to
+	 * @param val the value to add
+	 * @return the changed array
+	 */
+	public static char[] add(char[] arr, int index, char val) {
+		if(index < 0 || index > arr.length)
+			throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + arr.length);
+		char[] newArr = Arrays.copyOf(arr, arr.length + 1);
+		System.arraycopy(arr, index, newArr, index + 1, arr.length - index);
+		newArr[index] = val;
+		return newArr;
+	}
+	
+	/**
+	 * Removes the value found at the index <code>index</code> in the array <code>arr</code>.
+	 * To remove a value wherever it is, use <code>remove(arr, indexOf(arr, val))</code>.
+	 * 
+	 * @param arr the array to remove a value from
+	 * @param index the index to remove
+	 * @return the changed array
+	 */
+	public static char[] remove(char[] arr, int index) {
+		if(index < 0 || index >= arr.length)
+			throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + arr.length);
+		char[] newArr = Arrays.copyOf(arr, arr.length - 1);
+		System.arraycopy(arr, index + 1, newArr, index, arr.length - index - 1);
+		return newArr;
+	}
+	
+	/**
+	 * Sets the index of <code>index</code> in the array <code>arr</code> as the value <code>val</code>.
+	 * 
+	 * @param arr the array to use
+	 * @param index the index to set to
+	 * @param val the value to set
+	 * @return the changed array
+	 */
+	public static char[] set(char[] arr, int index, char val) {
+		char[] newArr = arr.clone();
+		newArr[index] = val;
+		return newArr;
+	}
+	
+	/**
+	 * Converts an array of <code>long</code> values into the equivalent array of <code>int</code> 
+	 * values. Keeps the lowest 32 bits of every index, the same as a cast to <code>int</code>.
+	 * 
+	 * @param arr array to be converted
+	 * @return converted array
+	 */
+	public static int[] toIntArray(long[] arr) {
+		int[] arr2 = new int[arr.length];
+		for(int i = 0; i < arr.length; i++)
+			arr2[i] = (int)arr[i];
+		return arr2;
+	}
+	
+	/**
+	 * Converts an array of <code>double</code> values into the equivalent array of <code>int</code> 
+	 * values. Truncates every index toward zero, the same as a cast to <code>int</code>.
+	 * 
+	 * @param arr array to be converted
+	 * @return converted array
+	 */
+	public static int[] toIntArray(double[] arr) {
+		int[] arr2 = new int[arr.length];
+		for(int i = 0; i < arr.length; i++)
+			arr2[i] = (int)arr[i];
+		return arr2;
+	}
+	
+	/**
+	 * Converts an array of <code>float</code> values into the equivalent array of <code>int</code> 
+	 * values. Truncates every index toward zero, the same as a cast to <code>int</code>.
+	 * 
+	 * @param arr array to be converted
+	 * @return converted array
+	 */
+	public static int[] toIntArray(float[] arr) {
+		int[] arr2 = new int[arr.length];
+		for(int i = 0; i < arr.length; i++)
+			arr2[i] = (int)arr[i];
+		return arr2;
+	}
+	
+	/**
+	 * Converts an array of <code>byte</code> values into the equivalent array of <code>int</code> 
+	 * values.
+	 * 
+	 * @param arr array to be converted
+	 * @return converted array
+	 */
+	public static int[] toIntArray(byte[] arr) {
+		int[] arr2 = new int[arr.length];
+		for(int i = 0; i < arr.length; i++)
+			arr2[i] = arr[i];
+		return arr2;
+	}
+	
+	/**
+	 * Converts an array of <code>char</code> values into the equivalent array of <code>int</code> 
+	 * values. Every index becomes its character code.
+	 * 
+	 * @param arr array to be converted
+	 * @return converted array
+	 */
+	public static int[] toIntArray(char[] arr) {
+		int[] arr2 = new int[arr.length];
+		for(int i = 0; i < arr.length; i++)
+			arr2[i] = arr[i];
+		return arr2;
+	}
+	
+	/**
+	 * Converts an array of <code>int</code> values into the equivalent array of <code>long</code> 
+	 * values.
+	 * 
+	 * @param arr array to be converted
+	 * @return converted array
+	 */
+	public static long[] toLongArray(int[] arr) {
+		long[] arr2 = new long[arr.length];
+		for(int i = 0; i < arr.length; i++)
+			arr2[i] = arr[i];
+		return arr2;
+	}
+	
+	/**
+	 * Converts an array of <code>double</code> values into the equivalent array of <code>long</code> 
+	 * values. Truncates every index toward zero, the same as a cast to <code>long</code>.
+	 * 
+	 * @param arr array to be converted
+	 * @return converted array
+	 */
+	public static long[] toLongArray(double[] arr) {
+		long[] arr2 = new long[arr.length];
+		for(int i = 0; i < arr.length; i++)
+			arr2[i] = (long)arr[i];
+		return arr2;
+	}
+	
+	/**
+	 * Converts an array of <code>long</code> values into the equivalent array of <code>double</code> 
+	 * values. Very large values lose precision.
+	 * 
+	 * @param arr array to be converted
+	 * @return converted array
+	 */
+	public static double[] toDoubleArray(long[] arr) {
+		double[] arr2 = new double[arr.length];
+		for(int i = 0; i < arr.length; i++)
+			arr2[i] = arr[i];
+		return arr2;
+	}
+	
+	/**
+	 * Converts an array of <code>float</code> values into the equivalent array of <code>double</code> 
+	 * values.
+	 * 
+	 * @param arr array to be converted
+	 * @return converted array
+	 */
+	public static double[] toDoubleArray(float[] arr) {
+		double[] arr2 = new double[arr.length];
+		for(int i = 0; i < arr.length; i++)
+			arr2[i] = arr[i];
+		return arr2;
+	}
+	
+	/**
+	 * Converts an array of <code>int</code> values into the equivalent array of <code>float</code> 
+	 * values. Very large values lose precision.
+	 * 
+	 * @param arr array to be converted
+	 * @return converted array
+	 */
+	public static float[] toFloatArray(int[] arr) {
+		float[] arr2 = new float[arr.length];
+		for(int i = 0; i < arr.length; i++)
+			arr2[i] = arr[i];
+		return arr2;
+	}
+	
+	/**
+	 * Converts an array of <code>double</code> values into the equivalent array of <code>float</code> 
+	 * values. Rounds every index to the nearest <code>float</code>.
+	 * 
+	 * @param arr array to be converted
+	 * @return converted array
+	 */
+	public static float[] toFloatArray(double[] arr) {
+		float[] arr2 = new float[arr.length];
+		for(int i = 0; i < arr.length; i++)
+			arr2[i] = (float)arr[i];
+		return arr2;
+	}
+	
+	/**
+	 * Guesses how many characters an array of <code>length</code> indices will take as a 
+	 * String, so the builder rarely has to grow. The guess is capped so huge arrays don't 
+	 * reserve more memory than they need up front.
+	 */
+	private static int estimateLength(int length, String sep) {
+		return (int)Math.min((long)length * (sep.length() + 6) + 16, 1 << 24);
+	}
+	
+	/**
+	 * Creates a writer for <code>out</code>. A {@link StringBuilder} is written to directly; 
+	 * anything else through a buffer which is flushed once it holds a few thousand characters.
+	 */
+	private static ArrayWriter writerFor(Appendable out, String opnArr, String clsArr, String sep) {
+		if(out instanceof StringBuilder)
+			return new ArrayWriter((StringBuilder)out, out, opnArr, clsArr, sep);
+		return new ArrayWriter(new StringBuilder(ArrayWriter.FLUSH_SIZE + 64), out, opnArr, clsArr, sep);
+	}
+	
+	/**
+	 * Writes arrays in the format of {@link ArraysPlus#toString(Object[])} and 
+	 * {@link ArraysPlus#multidimensionalArrayToString(Object)} in a single pass. Every index
+	 * is appended to a {@link StringBuilder}, which takes primitives without wrapping them, 
+	 * and the builder is handed to the output whenever it fills up.
+	 */
+	private static final class ArrayWriter {
+		static final int FLUSH_SIZE = 8192;
+		
+		private final StringBuilder buffer;
+		private final Appendable out;
+		private final String opnArr;
+		private final String clsArr;
+		private final String sep;
+		
+		ArrayWriter(StringBuilder buffer, Appendable out, String opnArr, String clsArr, String sep) {
+			this.buffer = buffer;
+			this.out = out;
+			this.opnArr = opnArr;
+			this.clsArr = clsArr;
+			this.sep = sep;
+		}
+		
+		void writeArray(Object[] arr) throws IOException {
+			buffer.append(opnArr);
+			writeIndices(arr);
+			buffer.append(clsArr);
+			flushIfFull();
+		}
+		
+		/**
+		 * Writes every index of a nested array wrapped in <code>opnArr</code> and <code>clsArr</code>,
+		 * or only the indices of a flat array, without surrounding them.
+		 */
+		void writeMultidimensional(Object arr) throws IOException {
+			if(ArraysPlus.isNested(arr)) {
+				Object[] arrs = (Object[])arr;
+				for(int i = 0; i < arrs.length; i++) {
+					if(i > 0)
+						buffer.append(sep);
+					if(arrs[i] == null) {
+						buffer.append("null");
+						continue;
+					}
+					buffer.append(opnArr);
+					writeMultidimensional(arrs[i]);
+					buffer.append(clsArr);
+				}
+			}else if(arr.getClass().isArray())
+				writeIndices(arr);
+		}
+		
+		void flush() throws IOException {
+			if(buffer != out && buffer.length() > 0) {
+				out.append(buffer);
+				buffer.setLength(0);
+			}
+		}
+		
+		private void flushIfFull() throws IOException {
+			if(buffer != out && buffer.length() >= FLUSH_SIZE) {
+				out.append(buffer);
+				buffer.setLength(0);
+			}
+		}
+		
+		/**
+		 * Writes the indices of a flat array separated by <code>sep</code>, with one loop per 
+		 * primitive type so no index is wrapped in an object.
+		 */
+		private void writeIndices(Object arr) throws IOException {
+			if(arr instanceof Object[]) {
+				Object[] values = (Object[])arr;
+				for(int i = 0; i < values.length; i++) {
+					separate(i);
+					if(values[i] instanceof String)
+						buffer.append('"').append((String)values[i]).append('"');
+					else
+						buffer.append(values[i]);
+				}
+			}else if(arr instanceof int[]) {
+				int[] values = (int[])arr;
+				for(int i = 0; i < values.length; i++) {
+					separate(i);
+					buffer.append(values[i]);
+				}
+			}else if(arr instanceof double[]) {
+				double[] values = (double[])arr;
+				for(int i = 0; i < values.length; i++) {
+					separate(i);
+					buffer.append(values[i]);
+				}
+			}else if(arr instanceof long[]) {
+				long[] values = (long[])arr;
+				for(int i = 0; i < values.length; i++) {
+					separate(i);
+					buffer.append(values[i]);
+				}
+			}else if(arr instanceof float[]) {
+				float[] values = (float[])arr;
+				for(int i = 0; i < values.length; i++) {
+					separate(i);
+					buffer.append(values[i]);
+				}
+			}else if(arr instanceof char[]) {
+				char[] values = (char[])arr;
+				for(int i = 0; i < values.length; i++) {
+					separate(i);
+					buffer.append(values[i]);
+				}
+			}else if(arr instanceof byte[]) {
+				byte[] values = (byte[])arr;
+				for(int i = 0; i < values.length; i++) {
+					separate(i);
+					buffer.append(values[i]);
+				}
+			}else if(arr instanceof short[]) {
+				short[] values = (short[])arr;
+				for(int i = 0; i < values.length; i++) {
+					separate(i);
+					buffer.append(values[i]);
+				}
+			}else if(arr instanceof boolean[]) {
+				boolean[] values = (boolean[])arr;
+				for(int i = 0; i < values.length; i++) {
+					separate(i);
+					buffer.append(values[i]);
+				}
+			}
+			flushIfFull();
+		}
+		
+		private void separate(int index) throws IOException {
+			if(index > 0) {
+				buffer.append(sep);
+				flushIfFull();
+			}
+		}
+	}
 
 }
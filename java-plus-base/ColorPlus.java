@@ -1,6 +1,7 @@
 //package setup.javaPlus;
 
 import java.awt.Color;
+import java.util.random.RandomGenerator;
 
 /**
  * The <code>ColorPlus</code> class is meant to build upon the {@link Color}
@@ -14,6 +15,27 @@ import java.awt.Color;
 public final class ColorPlus {
 	private static final float DIM_FACTOR = 0.7f;
 
+	/**
+	 * The square root of every normalised channel value, <code>SQRT[v]</code> being
+	 * <code>√(v/255)</code>, used by {@link #smoothBlend(Color, Color, float)}.
+	 */
+	private static final float[] SQRT = new float[256];
+
+	/**
+	 * The circular curve of every normalised channel value, <code>CIRCULAR[v]</code>
+	 * being <code>√(1 - (v/255 - 1)²)</code>, used by
+	 * {@link #circularBlend(Color, Color, float)}.
+	 */
+	private static final float[] CIRCULAR = new float[256];
+
+	static {
+		for (int v = 0; v < 256; v++) {
+			float normalised = v / 255f;
+			SQRT[v] = (float) Math.sqrt(normalised);
+			CIRCULAR[v] = (float) Math.sqrt(1 - Math.pow(normalised - 1, 2));
+		}
+	}
+
 	/**
 	 * The color green yellow. In the sRGB space.
 	 */
@@ -192,15 +214,8 @@ public final class ColorPlus {
 	 */
 	public static Color smoothBlend(Color c1, Color c2, float blend) {
 		Color linBlend = ColorPlus.linearBlend(c1, c2, blend);
-		int linRed = linBlend.getRed();
-		int linGreen = linBlend.getGreen();
-		int linBlue = linBlend.getBlue();
-		int linAlpha = linBlend.getAlpha();
-		float red = (float) Math.sqrt(linRed / 255f);
-		float green = (float) Math.sqrt(linGreen / 255f);
-		float blue = (float) Math.sqrt(linBlue / 255f);
-		float alpha = (float) Math.sqrt(linAlpha / 255f);
-		return new Color(red, green, blue, alpha);
+		return new Color(SQRT[linBlend.getRed()], SQRT[linBlend.getGreen()], SQRT[linBlend.getBlue()],
+				SQRT[linBlend.getAlpha()]);
 	}
 
 	/**
@@ -216,15 +231,8 @@ public final class ColorPlus {
 	 */
 	public static Color circularBlend(Color c1, Color c2, float blend) {
 		Color linBlend = ColorPlus.linearBlend(c1, c2, blend);
-		float linRed = linBlend.getRed() / 255f;
-		float linGreen = linBlend.getGreen() / 255f;
-		float linBlue = linBlend.getBlue() / 255f;
-		float linAlpha = linBlend.getAlpha() / 255f;
-		float red = (float) Math.sqrt(1 - Math.pow(linRed - 1, 2));
-		float green = (float) Math.sqrt(1 - Math.pow(linGreen - 1, 2));
-		float blue = (float) Math.sqrt(1 - Math.pow(linBlue - 1, 2));
-		float alpha = (float) Math.sqrt(1 - Math.pow(linAlpha - 1, 2));
-		return new Color(red, green, blue, alpha);
+		return new Color(CIRCULAR[linBlend.getRed()], CIRCULAR[linBlend.getGreen()], CIRCULAR[linBlend.getBlue()],
+				CIRCULAR[linBlend.getAlpha()]);
 	}
 
 	/**
@@ -429,7 +437,8 @@ public final class ColorPlus {
 	 * @return random RGB color
 	 */
 	public static Color randomRGBColor() {
-		return new Color((int) (Math.random() * 256), (int) (Math.random() * 256), (int) (Math.random() * 256));
+		RandomGenerator rng = RandomEngine.current();
+		return new Color(rng.nextInt(256), rng.nextInt(256), rng.nextInt(256));
 	}
 
 	/**
@@ -438,6 +447,7 @@ public final class ColorPlus {
 	 * @return random HSB color
 	 */
 	public static Color randomHSBColor() {
-		return new Color((float) Math.random(), (float) Math.random(), (float) Math.random());
+		RandomGenerator rng = RandomEngine.current();
+		return new Color(rng.nextFloat(), rng.nextFloat(), rng.nextFloat());
 	}
 }
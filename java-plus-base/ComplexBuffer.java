@@ -0,0 +1,403 @@
+//package setup.javaPlus;
+
+import java.util.Arrays;
+
+/**
+ * The <code>ComplexBuffer</code> class is a mutable, fixed-length array of complex
+ * numbers, meant for processing many numbers at once without creating an object for
+ * each one. The real and imaginary components are kept in two separate
+ * {@code double} arrays, and every operation changes the buffer in place and works
+ * through both arrays in a plain loop that the JIT can vectorize.<br>
+ * <br>
+ *
+ * Single numbers can be moved in and out as {@link MathPlus.ComplexNumber} objects.
+ * Operations return the buffer itself so they can be chained, for example
+ * <code>buffer.multiply(other).conjugate()</code>.
+ *
+ * @author jonatanfontanez
+ * @see MathPlus.ComplexNumber
+ *
+ */
+public final class ComplexBuffer {
+	private final double[] re;
+	private final double[] im;
+
+	/**
+	 * Creates a buffer of <code>length</code> complex numbers, all zero.
+	 *
+	 * @param length amount of complex numbers
+	 */
+	public ComplexBuffer(int length) {
+		this(new double[length], new double[length]);
+	}
+
+	/**
+	 * Creates a buffer backed by the arrays <code>re</code> and <code>im</code>, which
+	 * hold the real and imaginary components. The arrays are not copied, so changes to
+	 * the buffer show up in the arrays and vice versa.
+	 *
+	 * @param re real components
+	 * @param im imaginary components
+	 */
+	public ComplexBuffer(double[] re, double[] im) {
+		if (re.length != im.length)
+			throw new IllegalArgumentException("The amount of real and imaginary components are not equal!");
+		this.re = re;
+		this.im = im;
+	}
+
+	/**
+	 * Creates a buffer holding the given complex numbers, in order.
+	 *
+	 * @param numbers the complex numbers to hold
+	 * @return buffer of the complex numbers
+	 */
+	public static ComplexBuffer of(MathPlus.ComplexNumber... numbers) {
+		ComplexBuffer buffer = new ComplexBuffer(numbers.length);
+		for (int i = 0; i < numbers.length; i++)
+			buffer.set(i, numbers[i]);
+		return buffer;
+	}
+
+	/**
+	 * Creates a buffer holding the real numbers <code>values</code>, with every
+	 * imaginary component zero. The array is copied.
+	 *
+	 * @param values the real components
+	 * @return buffer of the real numbers
+	 */
+	public static ComplexBuffer fromReal(double... values) {
+		return new ComplexBuffer(values.clone(), new double[values.length]);
+	}
+
+	/**
+	 * Returns the amount of complex numbers in the buffer.
+	 *
+	 * @return amount of complex numbers
+	 */
+	public int length() {
+		return re.length;
+	}
+
+	/**
+	 * Returns the array holding the real components. The array is not copied.
+	 *
+	 * @return real components
+	 */
+	public double[] real() {
+		return re;
+	}
+
+	/**
+	 * Returns the array holding the imaginary components. The array is not copied.
+	 *
+	 * @return imaginary components
+	 */
+	public double[] imaginary() {
+		return im;
+	}
+
+	/**
+	 * Returns the complex number at the index <code>index</code>.
+	 *
+	 * @param index the index to read
+	 * @return the complex number at the index
+	 */
+	public MathPlus.ComplexNumber get(int index) {
+		return new MathPlus.ComplexNumber(re[index], im[index]);
+	}
+
+	/**
+	 * Sets the complex number at the index <code>index</code>.
+	 *
+	 * @param index the index to set
+	 * @param c     the complex number to store
+	 * @return this buffer
+	 */
+	public ComplexBuffer set(int index, MathPlus.ComplexNumber c) {
+		return set(index, c.getRealComponent(), c.getImaginaryComponent());
+	}
+
+	/**
+	 * Sets the complex number at the index <code>index</code> to
+	 * <code>real + imaginary*i</code>.
+	 *
+	 * @param index     the index to set
+	 * @param real      the real component
+	 * @param imaginary the imaginary component
+	 * @return this buffer
+	 */
+	public ComplexBuffer set(int index, double real, double imaginary) {
+		re[index] = real;
+		im[index] = imaginary;
+		return this;
+	}
+
+	/**
+	 * Returns every complex number in the buffer as an array of
+	 * {@link MathPlus.ComplexNumber} objects.
+	 *
+	 * @return array of the complex numbers
+	 */
+	public MathPlus.ComplexNumber[] toArray() {
+		MathPlus.ComplexNumber[] numbers = new MathPlus.ComplexNumber[re.length];
+		for (int i = 0; i < numbers.length; i++)
+			numbers[i] = get(i);
+		return numbers;
+	}
+
+	/**
+	 * Returns a copy of the buffer, backed by new arrays.
+	 *
+	 * @return copy of the buffer
+	 */
+	public ComplexBuffer copy() {
+		return new ComplexBuffer(re.clone(), im.clone());
+	}
+
+	/**
+	 * Adds every number of <code>other</code> to the number at the same index in this
+	 * buffer.
+	 *
+	 * @param other the numbers to add
+	 * @return this buffer
+	 */
+	public ComplexBuffer add(ComplexBuffer other) {
+		checkLength(other);
+		for (int i = 0; i < re.length; i++) {
+			re[i] += other.re[i];
+			im[i] += other.im[i];
+		}
+		return this;
+	}
+
+	/**
+	 * Adds <code>c</code> to every number in the buffer.
+	 *
+	 * @param c the number to add
+	 * @return this buffer
+	 */
+	public ComplexBuffer add(MathPlus.ComplexNumber c) {
+		double cr = c.getRealComponent(), ci = c.getImaginaryComponent();
+		for (int i = 0; i < re.length; i++) {
+			re[i] += cr;
+			im[i] += ci;
+		}
+		return this;
+	}
+
+	/**
+	 * Subtracts every number of <code>other</code> from the number at the same index in
+	 * this buffer.
+	 *
+	 * @param other the numbers to subtract
+	 * @return this buffer
+	 */
+	public ComplexBuffer subtract(ComplexBuffer other) {
+		checkLength(other);
+		for (int i = 0; i < re.length; i++) {
+			re[i] -= other.re[i];
+			im[i] -= other.im[i];
+		}
+		return this;
+	}
+
+	/**
+	 * Multiplies every number in the buffer by the number at the same index in
+	 * <code>other</code>.
+	 *
+	 * @param other the numbers to multiply by
+	 * @return this buffer
+	 */
+	public ComplexBuffer multiply(ComplexBuffer other) {
+		checkLength(other);
+		double[] ore = other.re, oim = other.im;
+		for (int i = 0; i < re.length; i++) {
+			double a = re[i], b = im[i], c = ore[i], d = oim[i];
+			re[i] = a * c - b * d;
+			im[i] = a * d + b * c;
+		}
+		return this;
+	}
+
+	/**
+	 * Multiplies every number in the buffer by <code>c</code>.
+	 *
+	 * @param c the number to multiply by
+	 * @return this buffer
+	 */
+	public ComplexBuffer multiply(MathPlus.ComplexNumber c) {
+		double cr = c.getRealComponent(), ci = c.getImaginaryComponent();
+		for (int i = 0; i < re.length; i++) {
+			double a = re[i], b = im[i];
+			re[i] = a * cr - b * ci;
+			im[i] = a * ci + b * cr;
+		}
+		return this;
+	}
+
+	/**
+	 * Multiplies every number in the buffer by the real number <code>factor</code>.
+	 *
+	 * @param factor the real number to multiply by
+	 * @return this buffer
+	 */
+	public ComplexBuffer scale(double factor) {
+		for (int i = 0; i < re.length; i++) {
+			re[i] *= factor;
+			im[i] *= factor;
+		}
+		return this;
+	}
+
+	/**
+	 * Divides every number in the buffer by the number at the same index in
+	 * <code>other</code>.
+	 *
+	 * @param other the denominators
+	 * @return this buffer
+	 */
+	public ComplexBuffer divide(ComplexBuffer other) {
+		checkLength(other);
+		double[] ore = other.re, oim = other.im;
+		for (int i = 0; i < re.length; i++) {
+			double a = re[i], b = im[i], c = ore[i], d = oim[i];
+			double denominator = c * c + d * d;
+			re[i] = (a * c + b * d) / denominator;
+			im[i] = (b * c - a * d) / denominator;
+		}
+		return this;
+	}
+
+	/**
+	 * Replaces every number in the buffer with its conjugate, where the imaginary
+	 * component's sign is switched.
+	 *
+	 * @return this buffer
+	 */
+	public ComplexBuffer conjugate() {
+		for (int i = 0; i < im.length; i++)
+			im[i] = -im[i];
+		return this;
+	}
+
+	/**
+	 * Replaces every number <code>z</code> in the buffer with <code>e^z</code>.
+	 *
+	 * @return this buffer
+	 */
+	public ComplexBuffer exp() {
+		for (int i = 0; i < re.length; i++) {
+			double realExp = Math.exp(re[i]);
+			double b = im[i];
+			re[i] = realExp * Math.cos(b);
+			im[i] = realExp * Math.sin(b);
+		}
+		return this;
+	}
+
+	/**
+	 * Replaces every number <code>z</code> in the buffer with the principal value of
+	 * <code>ln(z)</code>.
+	 *
+	 * @return this buffer
+	 */
+	public ComplexBuffer log() {
+		for (int i = 0; i < re.length; i++) {
+			double a = re[i], b = im[i];
+			re[i] = Math.log(Math.sqrt(a * a + b * b));
+			im[i] = Math.atan2(b, a);
+		}
+		return this;
+	}
+
+	/**
+	 * Replaces every number <code>z</code> in the buffer with <code>z^pow</code>.
+	 *
+	 * @param pow the power
+	 * @return this buffer
+	 */
+	public ComplexBuffer pow(double pow) {
+		for (int i = 0; i < re.length; i++) {
+			double a = re[i], b = im[i];
+			double magnitude = Math.pow(Math.sqrt(a * a + b * b), pow);
+			double theta = pow * Math.atan2(b, a);
+			re[i] = magnitude * Math.cos(theta);
+			im[i] = magnitude * Math.sin(theta);
+		}
+		return this;
+	}
+
+	/**
+	 * Stores the magnitude of every number in the buffer in <code>out</code>.
+	 *
+	 * @param out the array to store the magnitudes in
+	 * @return <code>out</code>
+	 */
+	public double[] magnitude(double[] out) {
+		checkLength(out);
+		for (int i = 0; i < re.length; i++)
+			out[i] = Math.sqrt(re[i] * re[i] + im[i] * im[i]);
+		return out;
+	}
+
+	/**
+	 * Stores the theta of every number in the buffer, the angle to the positive side
+	 * of the x-axis, in <code>out</code>.
+	 *
+	 * @param out the array to store the angles in
+	 * @return <code>out</code>
+	 */
+	public double[] theta(double[] out) {
+		checkLength(out);
+		for (int i = 0; i < re.length; i++)
+			out[i] = Math.atan2(im[i], re[i]);
+		return out;
+	}
+
+	/**
+	 * Checks if two buffers hold equal complex numbers in the same order.
+	 *
+	 * @return true if they are equal, false otherwise
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof ComplexBuffer))
+			return false;
+		ComplexBuffer other = (ComplexBuffer) obj;
+		return Arrays.equals(re, other.re) && Arrays.equals(im, other.im);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Arrays.hashCode(re) + Arrays.hashCode(im);
+	}
+
+	/**
+	 * Creates and returns a string representation of the buffer, each number in the
+	 * form {@code a +/- bi}
+	 *
+	 * @return string representation of the buffer
+	 */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder(re.length * 24 + 2).append('{');
+		for (int i = 0; i < re.length; i++) {
+			if (i > 0)
+				builder.append(", ");
+			builder.append(re[i]).append(im[i] < 0 ? " - " : " + ").append(Math.abs(im[i])).append('i');
+		}
+		return builder.append('}').toString();
+	}
+
+	private void checkLength(ComplexBuffer other) {
+		if (other.re.length != re.length)
+			throw new IllegalArgumentException("The buffers are not the same length!");
+	}
+
+	private void checkLength(double[] out) {
+		if (out.length != re.length)
+			throw new IllegalArgumentException("The output array is not the same length as the buffer!");
+	}
+
+}
@@ -0,0 +1,159 @@
+//package setup.javaPlus;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * The <code>EasingTable</code> class is a precomputed lookup table for an easing curve,
+ * a function which maps a position <code>t</code> in <code>[0, 1]</code> to how far
+ * along the way between two values the result should be. The curve is sampled at
+ * <code>resolution + 1</code> evenly spaced points when the table is created, and
+ * evaluating it afterwards only takes a table lookup and a linear interpolation
+ * between the two nearest samples, with no calls to {@link Math#sqrt(double)} or
+ * {@link Math#pow(double, double)}.<br>
+ * <br>
+ *
+ * Higher resolutions are more accurate but use more memory. Curves which are very
+ * steep somewhere, like the circular curves near their vertical ends, need a higher
+ * resolution there to stay accurate. Positions outside <code>[0, 1]</code> are
+ * clamped. A table is immutable and can be shared between threads.
+ *
+ * @author jonatanfontanez
+ * @see MathPlus#linearInterpolation(double, double, double)
+ * @see MathPlus#circularInterpolation(double, double, double)
+ *
+ */
+public final class EasingTable {
+	private final double[] table;
+	private final int resolution;
+
+	private EasingTable(DoubleUnaryOperator curve, int resolution) {
+		if (resolution < 1)
+			throw new IllegalArgumentException("Resolution must be at least 1!");
+		this.resolution = resolution;
+		this.table = new double[resolution + 1];
+		for (int i = 0; i <= resolution; i++)
+			table[i] = curve.applyAsDouble((double) i / resolution);
+	}
+
+	/**
+	 * Creates a table for any curve, sampled at <code>resolution + 1</code> points.
+	 *
+	 * @param curve      the curve to sample, given positions in <code>[0, 1]</code>
+	 * @param resolution amount of intervals to sample the curve in
+	 * @return table of the curve
+	 */
+	public static EasingTable of(DoubleUnaryOperator curve, int resolution) {
+		return new EasingTable(curve, resolution);
+	}
+
+	/**
+	 * Creates a table for the curve <code>1 - √(1 - t²)</code>, the curve followed by
+	 * {@link MathPlus#circularInterpolation(double, double, double)}. It starts flat
+	 * and ends steep.
+	 *
+	 * @param resolution amount of intervals to sample the curve in
+	 * @return table of the curve
+	 */
+	public static EasingTable circularIn(int resolution) {
+		return new EasingTable(t -> 1 - Math.sqrt(1 - t * t), resolution);
+	}
+
+	/**
+	 * Creates a table for the curve <code>√(1 - (1 - t)²)</code>, the curve followed by
+	 * {@link ColorPlus#circularBlend(java.awt.Color, java.awt.Color, float)}. It starts
+	 * steep and ends flat.
+	 *
+	 * @param resolution amount of intervals to sample the curve in
+	 * @return table of the curve
+	 */
+	public static EasingTable circularOut(int resolution) {
+		return new EasingTable(t -> Math.sqrt(1 - (1 - t) * (1 - t)), resolution);
+	}
+
+	/**
+	 * Creates a table for the curve <code>(1 - (1 - t)^pow)^(1/pow)</code>, the curve
+	 * followed by {@link ColorPlus#powerBlend(java.awt.Color, java.awt.Color, float, int)}.
+	 * A <code>pow</code> of 2 gives the same curve as {@link #circularOut(int)}.
+	 *
+	 * @param pow        power to use in formula
+	 * @param resolution amount of intervals to sample the curve in
+	 * @return table of the curve
+	 */
+	public static EasingTable powerOut(int pow, int resolution) {
+		if (pow < 1)
+			throw new IllegalArgumentException("Power must be at least 1!");
+		return new EasingTable(t -> Math.pow(1.0 - Math.pow(1 - t, pow), 1.0 / pow), resolution);
+	}
+
+	/**
+	 * Returns the amount of intervals the curve was sampled in.
+	 *
+	 * @return resolution of the table
+	 */
+	public int resolution() {
+		return resolution;
+	}
+
+	/**
+	 * Returns the value of the curve at the position <code>t</code>.
+	 *
+	 * @param t position on the curve, between 0 and 1
+	 * @return value of the curve at <code>t</code>
+	 */
+	public double evaluate(double t) {
+		if (!(t > 0))
+			return table[0];
+		if (t >= 1)
+			return table[resolution];
+		double position = t * resolution;
+		int i = (int) position;
+		double fraction = position - i;
+		return table[i] + (table[i + 1] - table[i]) * fraction;
+	}
+
+	/**
+	 * Stores the value of the curve at every position <code>ts[i]</code> in
+	 * <code>out[i]</code>. The output array may be the input array.
+	 *
+	 * @param ts  positions on the curve, between 0 and 1
+	 * @param out array to store the values in
+	 * @return <code>out</code>
+	 */
+	public double[] evaluate(double[] ts, double[] out) {
+		if (ts.length != out.length)
+			throw new IllegalArgumentException("The output array is not the same length as the input!");
+		for (int i = 0; i < ts.length; i++)
+			out[i] = evaluate(ts[i]);
+		return out;
+	}
+
+	/**
+	 * Returns a value <code>t</code> of the way between <code>a</code> and
+	 * <code>b</code>, following the curve.
+	 *
+	 * @param a first value to be used
+	 * @param b second value to be used
+	 * @param t position on the curve, between 0 and 1
+	 * @return a number <code>t</code> of the way between <code>a</code> and
+	 *         <code>b</code>, following the curve
+	 */
+	public double interpolate(double a, double b, double t) {
+		return a + (b - a) * evaluate(t);
+	}
+
+	/**
+	 * Stores a value <code>t</code> of the way between <code>a[i]</code> and
+	 * <code>b[i]</code>, following the curve, in <code>out[i]</code>. The curve is
+	 * only evaluated once for the whole array.
+	 *
+	 * @param a   first values to be used
+	 * @param b   second values to be used
+	 * @param t   position on the curve, between 0 and 1
+	 * @param out array to store the values in
+	 * @return <code>out</code>
+	 */
+	public double[] interpolate(double[] a, double[] b, double t, double[] out) {
+		return MathPlus.linearInterpolation(a, b, evaluate(t), out);
+	}
+
+}
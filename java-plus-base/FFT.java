@@ -0,0 +1,385 @@
+//package setup.javaPlus;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The <code>FFT</code> class computes discrete Fourier transforms of complex and real
+ * data with the fast Fourier transform, taking <code>O(n log n)</code> time instead of
+ * the <code>O(n²)</code> of a direct sum.<br>
+ * <br>
+ *
+ * Lengths which are a power of two use an in-place iterative radix-2 transform. Every
+ * other length is handled with Bluestein's algorithm, which rewrites the transform as
+ * a convolution computed with power-of-two transforms. The twiddle factors of each
+ * power-of-two length are computed once and cached, and so are the chirps of the
+ * few other lengths used most recently, so repeated transforms of the same length
+ * only pay for the butterflies. Both caches stay small however many different lengths
+ * are transformed.<br>
+ * <br>
+ *
+ * The forward transform is <code>X[k] = Σ x[j]·e^(-2πijk/n)</code>, unscaled; the
+ * inverse divides by <code>n</code>, so an inverse after a forward transform gives
+ * back the input.
+ *
+ * @author jonatanfontanez
+ * @see ComplexBuffer
+ *
+ */
+public final class FFT {
+
+	/**
+	 * Lengths from which the parallel methods actually split the work between threads.
+	 */
+	private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+	/**
+	 * Amount of butterflies each thread works through at a time.
+	 */
+	private static final int BUTTERFLY_CHUNK_SIZE = 1 << 13;
+
+	/**
+	 * Amount of lengths whose Bluestein chirps are kept.
+	 */
+	private static final int CHIRP_CACHE_SIZE = 8;
+
+	private static final ConcurrentHashMap<Integer, Twiddles> TWIDDLES = new ConcurrentHashMap<Integer, Twiddles>();
+	private static final Map<Integer, Chirp> CHIRPS = new LinkedHashMap<Integer, Chirp>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, Chirp> eldest) {
+			return size() > CHIRP_CACHE_SIZE;
+		}
+	};
+
+	/**
+	 * Don't let anyone instantiate this class
+	 */
+	private FFT() {
+
+	}
+
+	/**
+	 * Replaces the complex numbers in <code>data</code> with their discrete Fourier
+	 * transform.
+	 *
+	 * @param data the numbers to transform
+	 * @return <code>data</code>
+	 */
+	public static ComplexBuffer transform(ComplexBuffer data) {
+		FFT.forward(data.real(), data.imaginary(), false);
+		return data;
+	}
+
+	/**
+	 * Replaces the complex numbers in <code>data</code> with their inverse discrete
+	 * Fourier transform.
+	 *
+	 * @param data the numbers to transform
+	 * @return <code>data</code>
+	 */
+	public static ComplexBuffer inverse(ComplexBuffer data) {
+		FFT.inverse(data.real(), data.imaginary(), false);
+		return data;
+	}
+
+	/**
+	 * Replaces the complex numbers in <code>data</code> with their discrete Fourier
+	 * transform, splitting the butterflies of large transforms between threads. Gives
+	 * the same result as {@link #transform(ComplexBuffer)}.
+	 *
+	 * @param data the numbers to transform
+	 * @return <code>data</code>
+	 */
+	public static ComplexBuffer parallelTransform(ComplexBuffer data) {
+		FFT.forward(data.real(), data.imaginary(), data.length() >= PARALLEL_THRESHOLD);
+		return data;
+	}
+
+	/**
+	 * Replaces the complex numbers in <code>data</code> with their inverse discrete
+	 * Fourier transform, splitting the butterflies of large transforms between threads.
+	 * Gives the same result as {@link #inverse(ComplexBuffer)}.
+	 *
+	 * @param data the numbers to transform
+	 * @return <code>data</code>
+	 */
+	public static ComplexBuffer parallelInverse(ComplexBuffer data) {
+		FFT.inverse(data.real(), data.imaginary(), data.length() >= PARALLEL_THRESHOLD);
+		return data;
+	}
+
+	/**
+	 * Returns the discrete Fourier transform of the complex numbers
+	 * <code>numbers</code>. Does not modify the input array.
+	 *
+	 * @param numbers the numbers to transform
+	 * @return the transformed numbers
+	 */
+	public static MathPlus.ComplexNumber[] transform(MathPlus.ComplexNumber... numbers) {
+		return FFT.transform(ComplexBuffer.of(numbers)).toArray();
+	}
+
+	/**
+	 * Returns the inverse discrete Fourier transform of the complex numbers
+	 * <code>numbers</code>. Does not modify the input array.
+	 *
+	 * @param numbers the numbers to transform
+	 * @return the transformed numbers
+	 */
+	public static MathPlus.ComplexNumber[] inverse(MathPlus.ComplexNumber... numbers) {
+		return FFT.inverse(ComplexBuffer.of(numbers)).toArray();
+	}
+
+	/**
+	 * Returns the discrete Fourier transform of the real numbers <code>values</code>.
+	 * The transform of real data is symmetric, so only the first
+	 * <code>n/2 + 1</code> bins are returned; the rest are the conjugates of these in
+	 * reverse order. For even lengths, the values are packed into a complex transform
+	 * of half the length, which is about twice as fast as transforming them as complex
+	 * numbers. An empty array has an empty transform. Does not modify the input array.
+	 *
+	 * @param values the real numbers to transform
+	 * @return the first <code>n/2 + 1</code> bins of the transform
+	 */
+	public static ComplexBuffer realTransform(double[] values) {
+		int n = values.length;
+		if (n == 0)
+			return new ComplexBuffer(0);
+		if (n % 2 != 0) {
+			ComplexBuffer full = FFT.transform(ComplexBuffer.fromReal(values));
+			ComplexBuffer half = new ComplexBuffer(n / 2 + 1);
+			System.arraycopy(full.real(), 0, half.real(), 0, half.length());
+			System.arraycopy(full.imaginary(), 0, half.imaginary(), 0, half.length());
+			return half;
+		}
+		int half = n / 2;
+		// Even values become real components and odd values imaginary components
+		double[] zr = new double[half], zi = new double[half];
+		for (int j = 0; j < half; j++) {
+			zr[j] = values[2 * j];
+			zi[j] = values[2 * j + 1];
+		}
+		FFT.forward(zr, zi, false);
+		ComplexBuffer bins = new ComplexBuffer(half + 1);
+		double[] re = bins.real(), im = bins.imaginary();
+		Twiddles twiddles = FFT.twiddles(n);
+		for (int k = 0; k <= half; k++) {
+			int a = k % half, b = (half - k) % half;
+			// Split Z into the transforms of the even (E) and odd (O) values
+			double er = (zr[a] + zr[b]) / 2, ei = (zi[a] - zi[b]) / 2;
+			double or = (zi[a] + zi[b]) / 2, oi = -(zr[a] - zr[b]) / 2;
+			double wr = k == half ? -1.0 : twiddles.cos[k], wi = k == half ? 0.0 : twiddles.sin[k];
+			re[k] = er + wr * or - wi * oi;
+			im[k] = ei + wr * oi + wi * or;
+		}
+		return bins;
+	}
+
+	/**
+	 * Returns if <code>n</code> is a power of two, the lengths which the radix-2
+	 * transform handles directly.
+	 *
+	 * @param n the length to check
+	 * @return if <code>n</code> is a power of two
+	 */
+	public static boolean isPowerOfTwo(int n) {
+		return n > 0 && (n & (n - 1)) == 0;
+	}
+
+	private static void forward(double[] re, double[] im, boolean parallel) {
+		int n = re.length;
+		if (n <= 1)
+			return;
+		if (FFT.isPowerOfTwo(n))
+			FFT.radix2(re, im, parallel);
+		else
+			FFT.bluestein(re, im, parallel);
+	}
+
+	/**
+	 * The inverse transform is the conjugate of the forward transform of the
+	 * conjugate, divided by the length.
+	 */
+	private static void inverse(double[] re, double[] im, boolean parallel) {
+		int n = re.length;
+		for (int i = 0; i < n; i++)
+			im[i] = -im[i];
+		FFT.forward(re, im, parallel);
+		double scale = 1.0 / n;
+		for (int i = 0; i < n; i++) {
+			re[i] *= scale;
+			im[i] = -im[i] * scale;
+		}
+	}
+
+	private static void radix2(double[] re, double[] im, boolean parallel) {
+		int n = re.length;
+		int shift = 32 - Integer.numberOfTrailingZeros(n);
+		for (int i = 0; i < n; i++) {
+			int j = Integer.reverse(i) >>> shift;
+			if (j > i) {
+				double swap = re[i];
+				re[i] = re[j];
+				re[j] = swap;
+				swap = im[i];
+				im[i] = im[j];
+				im[j] = swap;
+			}
+		}
+		Twiddles twiddles = FFT.twiddles(n);
+		for (int size = 2; size <= n; size <<= 1) {
+			int halfSize = size >>> 1;
+			int step = n / size;
+			if (parallel)
+				ParallelChunks.forEach(n / 2, BUTTERFLY_CHUNK_SIZE,
+						(chunk, from, to) -> FFT.butterflies(re, im, twiddles, halfSize, step, from, to));
+			else
+				FFT.butterflies(re, im, twiddles, halfSize, step, 0, n / 2);
+		}
+	}
+
+	/**
+	 * Runs the butterflies numbered <code>[from, to)</code> of one radix-2 stage, where
+	 * butterfly <code>k</code> combines the element <code>j</code> of block
+	 * <code>k / halfSize</code> with its partner <code>halfSize</code> further on.
+	 */
+	private static void butterflies(double[] re, double[] im, Twiddles twiddles, int halfSize, int step, int from,
+			int to) {
+		double[] cos = twiddles.cos, sin = twiddles.sin;
+		int k = from;
+		while (k < to) {
+			int block = k / halfSize;
+			int j = k - block * halfSize;
+			int start = block * 2 * halfSize;
+			int end = Math.min(halfSize, j + (to - k));
+			for (; j < end; j++, k++) {
+				int i = start + j, l = i + halfSize;
+				double wr = cos[j * step], wi = sin[j * step];
+				double tr = wr * re[l] - wi * im[l];
+				double ti = wr * im[l] + wi * re[l];
+				re[l] = re[i] - tr;
+				im[l] = im[i] - ti;
+				re[i] += tr;
+				im[i] += ti;
+			}
+		}
+	}
+
+	/**
+	 * Bluestein's algorithm: multiplying by the chirp <code>w[k] = e^(-πik²/n)</code>
+	 * turns the transform into a convolution with the conjugate chirp, which is done
+	 * with power-of-two transforms at least <code>2n - 1</code> long.
+	 */
+	private static void bluestein(double[] re, double[] im, boolean parallel) {
+		int n = re.length;
+		Chirp chirp = FFT.chirp(n);
+		int m = chirp.filterRe.length;
+		double[] ar = new double[m], ai = new double[m];
+		for (int k = 0; k < n; k++) {
+			ar[k] = re[k] * chirp.cos[k] - im[k] * chirp.sin[k];
+			ai[k] = re[k] * chirp.sin[k] + im[k] * chirp.cos[k];
+		}
+		FFT.radix2(ar, ai, parallel);
+		for (int k = 0; k < m; k++) {
+			double a = ar[k], b = ai[k], c = chirp.filterRe[k], d = chirp.filterIm[k];
+			ar[k] = a * c - b * d;
+			ai[k] = a * d + b * c;
+		}
+		FFT.inverse(ar, ai, parallel);
+		for (int k = 0; k < n; k++) {
+			re[k] = ar[k] * chirp.cos[k] - ai[k] * chirp.sin[k];
+			im[k] = ar[k] * chirp.sin[k] + ai[k] * chirp.cos[k];
+		}
+	}
+
+	/**
+	 * Returns the twiddle factors for <code>n</code>, cached when it is a power of two,
+	 * of which there are only 31. Other even lengths only need them for
+	 * {@link #realTransform(double[])}, where computing them costs less than the
+	 * transform itself.
+	 */
+	private static Twiddles twiddles(int n) {
+		if ((n & (n - 1)) != 0)
+			return new Twiddles(n);
+		return TWIDDLES.computeIfAbsent(n, Twiddles::new);
+	}
+
+	/**
+	 * Returns the chirp for <code>n</code> from the cache of the most recently used
+	 * lengths. The chirp is built outside the lock, so two threads may both build a
+	 * missing one, but neither blocks transforms of other lengths meanwhile.
+	 */
+	private static Chirp chirp(int n) {
+		Chirp chirp;
+		synchronized (CHIRPS) {
+			chirp = CHIRPS.get(n);
+		}
+		if (chirp == null) {
+			chirp = new Chirp(n);
+			synchronized (CHIRPS) {
+				CHIRPS.put(n, chirp);
+			}
+		}
+		return chirp;
+	}
+
+	/**
+	 * The factors <code>e^(-2πik/n)</code> for <code>k</code> in
+	 * <code>[0, n/2)</code>.
+	 */
+	private static final class Twiddles {
+		final double[] cos;
+		final double[] sin;
+
+		Twiddles(int n) {
+			cos = new double[n / 2];
+			sin = new double[n / 2];
+			for (int k = 0; k < n / 2; k++) {
+				double angle = -MathPlus.TAU * k / n;
+				cos[k] = Math.cos(angle);
+				sin[k] = Math.sin(angle);
+			}
+		}
+	}
+
+	/**
+	 * The chirp of Bluestein's algorithm for one length, along with the transform of
+	 * the conjugate chirp it is convolved with.
+	 */
+	private static final class Chirp {
+		final double[] cos;
+		final double[] sin;
+		final double[] filterRe;
+		final double[] filterIm;
+
+		Chirp(int n) {
+			cos = new double[n];
+			sin = new double[n];
+			long period = 2L * n;
+			for (int k = 0; k < n; k++) {
+				// k² is reduced modulo 2n first, since the angle only depends on it modulo 2n
+				double angle = -Math.PI * (((long) k * k) % period) / n;
+				cos[k] = Math.cos(angle);
+				sin[k] = Math.sin(angle);
+			}
+			int m = Integer.highestOneBit(2 * n - 1);
+			if (m < 2 * n - 1)
+				m <<= 1;
+			filterRe = new double[m];
+			filterIm = new double[m];
+			for (int k = 0; k < n; k++) {
+				filterRe[k] = cos[k];
+				filterIm[k] = -sin[k];
+				if (k > 0) {
+					filterRe[m - k] = cos[k];
+					filterIm[m - k] = -sin[k];
+				}
+			}
+			FFT.radix2(filterRe, filterIm, false);
+		}
+	}
+
+}
@@ -0,0 +1,307 @@
+//package setup.javaPlus;
+
+import java.util.Arrays;
+
+/**
+ * The <code>FrequencyCounter</code> class counts how often each {@code double} value
+ * occurs. Values can be added one at a time or in chunks, and the mode(s), the most
+ * common values and the amount of distinct values can be asked for at any time.<br>
+ * <br>
+ *
+ * Values are kept in an open-addressing hash table of primitives, so counting never
+ * boxes and every value is added in constant time on average. Two values are counted
+ * as the same when {@link Double#equals(Object)} would consider them equal, so every
+ * <code>NaN</code> is counted together and <code>0.0</code> is counted apart from
+ * <code>-0.0</code>.<br>
+ * <br>
+ *
+ * Distinct values are remembered in the order they were first added, and every
+ * method that returns several values uses that order to break ties.
+ *
+ * @author jonatanfontanez
+ * @see MathPlus#mode(double...)
+ *
+ */
+public final class FrequencyCounter {
+	private static final int DEFAULT_CAPACITY = 16;
+
+	// Distinct values and their counts, in the order they were first added
+	private double[] keys;
+	private int[] counts;
+	private int distinct;
+	private long total;
+
+	// Hash slots holding an index into keys plus one, or zero when empty
+	private int[] table;
+	private int mask;
+
+	/**
+	 * Creates an empty counter.
+	 */
+	public FrequencyCounter() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty counter with room for <code>expectedDistinct</code> distinct
+	 * values before it needs to grow.
+	 *
+	 * @param expectedDistinct amount of distinct values expected
+	 */
+	public FrequencyCounter(int expectedDistinct) {
+		if (expectedDistinct < 0)
+			throw new IllegalArgumentException("Expected amount of values cannot be less than zero!");
+		int capacity = Math.max(DEFAULT_CAPACITY, expectedDistinct);
+		keys = new double[capacity];
+		counts = new int[capacity];
+		table = new int[FrequencyCounter.tableSize(capacity)];
+		mask = table.length - 1;
+	}
+
+	/**
+	 * Counts one occurrence of <code>value</code>.
+	 *
+	 * @param value the value to count
+	 */
+	public void add(double value) {
+		add(value, 1);
+	}
+
+	/**
+	 * Counts <code>amount</code> occurrences of <code>value</code>.
+	 *
+	 * @param value  the value to count
+	 * @param amount how many times the value occurred
+	 */
+	public void add(double value, int amount) {
+		if (amount < 0)
+			throw new IllegalArgumentException("Amount cannot be less than zero!");
+		long bits = Double.doubleToLongBits(value);
+		int slot = FrequencyCounter.hash(bits) & mask;
+		int entry;
+		while ((entry = table[slot]) != 0) {
+			if (Double.doubleToLongBits(keys[entry - 1]) == bits) {
+				counts[entry - 1] += amount;
+				total += amount;
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+		if (distinct == keys.length) {
+			grow();
+			slot = FrequencyCounter.hash(bits) & mask;
+			while (table[slot] != 0)
+				slot = (slot + 1) & mask;
+		}
+		keys[distinct] = value;
+		counts[distinct] = amount;
+		table[slot] = ++distinct;
+		total += amount;
+	}
+
+	/**
+	 * Counts every value in <code>values</code>.
+	 *
+	 * @param values the values to count
+	 */
+	public void addAll(double... values) {
+		addAll(values, 0, values.length);
+	}
+
+	/**
+	 * Counts every value in <code>values</code> from the index <code>from</code>,
+	 * inclusive, to the index <code>to</code>, exclusive.
+	 *
+	 * @param values the values to count
+	 * @param from   first index to count
+	 * @param to     index after the last index to count
+	 */
+	public void addAll(double[] values, int from, int to) {
+		if (from < 0 || to > values.length || from > to)
+			throw new ArrayIndexOutOfBoundsException("Range [" + from + ", " + to + ") is out of bounds!");
+		for (int i = from; i < to; i++)
+			add(values[i]);
+	}
+
+	/**
+	 * Adds every count of the counter <code>other</code> to this counter. Useful to
+	 * combine counters which were filled on different threads.
+	 *
+	 * @param other the counter to add
+	 */
+	public void addAll(FrequencyCounter other) {
+		for (int i = 0; i < other.distinct; i++)
+			add(other.keys[i], other.counts[i]);
+	}
+
+	/**
+	 * Returns how many times <code>value</code> has been counted.
+	 *
+	 * @param value the value to look for
+	 * @return amount of times the value was counted
+	 */
+	public int count(double value) {
+		long bits = Double.doubleToLongBits(value);
+		int slot = FrequencyCounter.hash(bits) & mask;
+		int entry;
+		while ((entry = table[slot]) != 0) {
+			if (Double.doubleToLongBits(keys[entry - 1]) == bits)
+				return counts[entry - 1];
+			slot = (slot + 1) & mask;
+		}
+		return 0;
+	}
+
+	/**
+	 * Returns how many different values have been counted.
+	 *
+	 * @return amount of distinct values
+	 */
+	public int distinctCount() {
+		return distinct;
+	}
+
+	/**
+	 * Returns how many values have been counted in total, including repeats.
+	 *
+	 * @return total amount of values
+	 */
+	public long totalCount() {
+		return total;
+	}
+
+	/**
+	 * Returns the mathematical mode or most common value(s) counted so far. Returns an
+	 * empty array if nothing was counted, and multiple numbers if they are all equally
+	 * common.
+	 *
+	 * @return the mode(s) of all counted values
+	 */
+	public double[] modes() {
+		int maxCount = 1;
+		int modeCount = 0;
+		for (int i = 0; i < distinct; i++)
+			if (counts[i] > maxCount) {
+				maxCount = counts[i];
+				modeCount = 1;
+			} else if (counts[i] == maxCount)
+				modeCount++;
+		double[] modes = new double[modeCount];
+		for (int i = 0, j = 0; j < modeCount; i++)
+			if (counts[i] == maxCount)
+				modes[j++] = keys[i];
+		return modes;
+	}
+
+	/**
+	 * Returns the <code>k</code> most common values, most common first. Values which are
+	 * equally common are given in the order they were first counted. If fewer than
+	 * <code>k</code> distinct values were counted, all of them are returned.
+	 *
+	 * @param k amount of values to return
+	 * @return the <code>k</code> most common values
+	 */
+	public double[] topK(int k) {
+		if (k < 0)
+			throw new IllegalArgumentException("k cannot be less than zero!");
+		k = Math.min(k, distinct);
+		// Min-heap of the best k entries seen so far, the worst entry at the root
+		int[] heap = new int[k];
+		int size = 0;
+		for (int i = 0; i < distinct && k > 0; i++)
+			if (size < k) {
+				heap[size] = i;
+				siftUp(heap, size++);
+			} else if (ranksBefore(i, heap[0])) {
+				heap[0] = i;
+				siftDown(heap, 0, size);
+			}
+		double[] top = new double[k];
+		while (size > 0) {
+			top[--size] = keys[heap[0]];
+			heap[0] = heap[size];
+			siftDown(heap, 0, size);
+		}
+		return top;
+	}
+
+	/**
+	 * Forgets every value counted so far.
+	 */
+	public void clear() {
+		Arrays.fill(table, 0);
+		distinct = 0;
+		total = 0;
+	}
+
+	/**
+	 * If the entry <code>a</code> should be listed before the entry <code>b</code>: it
+	 * is more common, or equally common but counted first.
+	 */
+	private boolean ranksBefore(int a, int b) {
+		return counts[a] > counts[b] || (counts[a] == counts[b] && a < b);
+	}
+
+	private void siftUp(int[] heap, int i) {
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (!ranksBefore(heap[parent], heap[i]))
+				return;
+			int swap = heap[parent];
+			heap[parent] = heap[i];
+			heap[i] = swap;
+			i = parent;
+		}
+	}
+
+	private void siftDown(int[] heap, int i, int size) {
+		while (true) {
+			int worst = i;
+			int left = 2 * i + 1, right = left + 1;
+			if (left < size && ranksBefore(heap[worst], heap[left]))
+				worst = left;
+			if (right < size && ranksBefore(heap[worst], heap[right]))
+				worst = right;
+			if (worst == i)
+				return;
+			int swap = heap[worst];
+			heap[worst] = heap[i];
+			heap[i] = swap;
+			i = worst;
+		}
+	}
+
+	private void grow() {
+		int capacity = keys.length * 2;
+		if (capacity < 0)
+			throw new IllegalStateException("Too many distinct values!");
+		keys = Arrays.copyOf(keys, capacity);
+		counts = Arrays.copyOf(counts, capacity);
+		table = new int[FrequencyCounter.tableSize(capacity)];
+		mask = table.length - 1;
+		for (int i = 0; i < distinct; i++) {
+			int slot = FrequencyCounter.hash(Double.doubleToLongBits(keys[i])) & mask;
+			while (table[slot] != 0)
+				slot = (slot + 1) & mask;
+			table[slot] = i + 1;
+		}
+	}
+
+	/**
+	 * A power of two at least twice <code>capacity</code>, so the table is never more
+	 * than half full.
+	 */
+	private static int tableSize(int capacity) {
+		return Integer.highestOneBit(Math.max(1, capacity - 1)) << 2;
+	}
+
+	/**
+	 * Mixes every bit of the value into the low bits used to pick a slot.
+	 */
+	private static int hash(long bits) {
+		bits = (bits ^ (bits >>> 33)) * 0xFF51AFD7ED558CCDL;
+		bits = (bits ^ (bits >>> 33)) * 0xC4CEB9FE1A85EC53L;
+		return (int) (bits ^ (bits >>> 33));
+	}
+
+}
@@ -0,0 +1,262 @@
+//package setup.javaPlus;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The <code>Histogram</code> class counts {@code double} values in a fixed amount of
+ * equally wide bins between a lower bound, inclusive, and an upper bound, exclusive.
+ * Values below the lower bound are counted as underflow and values at or above the
+ * upper bound as overflow, so no value is lost; <code>NaN</code> values are ignored.<br>
+ * <br>
+ *
+ * Adding a value only takes a multiplication and an increment, so a histogram is a
+ * cheap way to look at the distribution of very large arrays. Large arrays can be
+ * counted in parallel with {@link #parallelAddAll(double[])}, and histograms with the
+ * same bins filled on different threads can be merged with
+ * {@link #merge(Histogram)}.
+ *
+ * @author jonatanfontanez
+ * @see QuantileSketch
+ *
+ */
+public final class Histogram {
+	private final double lower;
+	private final double upper;
+	private final double scale;
+	private final long[] counts;
+	private long underflow;
+	private long overflow;
+
+	/**
+	 * Creates an empty histogram of <code>bins</code> equally wide bins between
+	 * <code>lower</code>, inclusive, and <code>upper</code>, exclusive.
+	 *
+	 * @param lower lower bound of the first bin
+	 * @param upper upper bound of the last bin
+	 * @param bins  amount of bins
+	 */
+	public Histogram(double lower, double upper, int bins) {
+		if (bins < 1)
+			throw new IllegalArgumentException("Amount of bins must be at least 1!");
+		if (!(lower < upper) || Double.isInfinite(lower) || Double.isInfinite(upper))
+			throw new IllegalArgumentException("Bounds must be finite and the lower bound must be below the upper bound!");
+		this.lower = lower;
+		this.upper = upper;
+		this.scale = bins / (upper - lower);
+		this.counts = new long[bins];
+	}
+
+	/**
+	 * Counts the value <code>value</code>.
+	 *
+	 * @param value the value to count
+	 */
+	public void add(double value) {
+		if (value < lower)
+			underflow++;
+		else if (value >= upper)
+			overflow++;
+		else if (value == value)
+			counts[bin(value)]++;
+	}
+
+	/**
+	 * Counts every value in <code>values</code>.
+	 *
+	 * @param values the values to count
+	 */
+	public void addAll(double... values) {
+		addAll(values, 0, values.length);
+	}
+
+	/**
+	 * Counts every value in <code>values</code> from the index <code>from</code>,
+	 * inclusive, to the index <code>to</code>, exclusive.
+	 *
+	 * @param values the values to count
+	 * @param from   first index to count
+	 * @param to     index after the last index to count
+	 */
+	public void addAll(double[] values, int from, int to) {
+		if (from < 0 || to > values.length || from > to)
+			throw new ArrayIndexOutOfBoundsException("Range [" + from + ", " + to + ") is out of bounds!");
+		for (int i = from; i < to; i++)
+			add(values[i]);
+	}
+
+	/**
+	 * Counts every value in <code>values</code>, splitting large arrays into one part
+	 * per thread of the common pool. The first part is counted into this histogram and
+	 * every other part into a separate one, which is merged in at the end, so at most
+	 * one copy of the bins is made per thread.
+	 *
+	 * @param values the values to count
+	 */
+	public void parallelAddAll(double[] values) {
+		int parts = Math.min(ParallelChunks.chunkCount(values.length, ParallelChunks.DEFAULT_CHUNK_SIZE),
+				ForkJoinPool.getCommonPoolParallelism());
+		if (parts <= 1) {
+			addAll(values);
+			return;
+		}
+		int partSize = ParallelChunks.chunkCount(values.length, parts);
+		Histogram[] partials = new Histogram[ParallelChunks.chunkCount(values.length, partSize)];
+		ParallelChunks.forEach(values.length, partSize, (chunk, from, to) -> {
+			Histogram partial = chunk == 0 ? this : new Histogram(lower, upper, counts.length);
+			partial.addAll(values, from, to);
+			partials[chunk] = partial;
+		});
+		for (int i = 1; i < partials.length; i++)
+			merge(partials[i]);
+	}
+
+	/**
+	 * Adds every count of <code>other</code> to this histogram, as if every value
+	 * counted by <code>other</code> had been counted by this histogram as well. Both
+	 * histograms need to have the same bounds and amount of bins. Does not modify
+	 * <code>other</code>.
+	 *
+	 * @param other the histogram to merge
+	 * @return this histogram
+	 */
+	public Histogram merge(Histogram other) {
+		if (other.lower != lower || other.upper != upper || other.counts.length != counts.length)
+			throw new IllegalArgumentException("The histograms do not have the same bins!");
+		for (int i = 0; i < counts.length; i++)
+			counts[i] += other.counts[i];
+		underflow += other.underflow;
+		overflow += other.overflow;
+		return this;
+	}
+
+	/**
+	 * Returns the amount of bins.
+	 *
+	 * @return amount of bins
+	 */
+	public int bins() {
+		return counts.length;
+	}
+
+	/**
+	 * Returns the amount of values counted in the bin <code>bin</code>.
+	 *
+	 * @param bin index of the bin
+	 * @return amount of values in the bin
+	 */
+	public long count(int bin) {
+		return counts[bin];
+	}
+
+	/**
+	 * Returns a copy of the amount of values counted in every bin.
+	 *
+	 * @return amount of values in every bin
+	 */
+	public long[] counts() {
+		return counts.clone();
+	}
+
+	/**
+	 * Returns the amount of values counted below the lower bound.
+	 *
+	 * @return amount of values below the lower bound
+	 */
+	public long underflow() {
+		return underflow;
+	}
+
+	/**
+	 * Returns the amount of values counted at or above the upper bound.
+	 *
+	 * @return amount of values at or above the upper bound
+	 */
+	public long overflow() {
+		return overflow;
+	}
+
+	/**
+	 * Returns the amount of values counted, including underflow and overflow.
+	 *
+	 * @return amount of values counted
+	 */
+	public long totalCount() {
+		long total = underflow + overflow;
+		for (long count : counts)
+			total += count;
+		return total;
+	}
+
+	/**
+	 * Returns the lower bound of the bin <code>bin</code>, inclusive.
+	 *
+	 * @param bin index of the bin
+	 * @return lower bound of the bin
+	 */
+	public double binLower(int bin) {
+		return lower + (upper - lower) * bin / counts.length;
+	}
+
+	/**
+	 * Returns the upper bound of the bin <code>bin</code>, exclusive.
+	 *
+	 * @param bin index of the bin
+	 * @return upper bound of the bin
+	 */
+	public double binUpper(int bin) {
+		return binLower(bin + 1);
+	}
+
+	/**
+	 * Returns an estimate of the quantile <code>q</code> of all values counted,
+	 * assuming values are spread evenly within each bin. Quantiles falling in the
+	 * underflow or overflow return the lower or upper bound.
+	 *
+	 * @param q the quantile to estimate, between 0 and 1
+	 * @return estimate of the quantile
+	 */
+	public double quantile(double q) {
+		if (!MathPlus.inRangeEqual(q, 0, 1))
+			throw new IllegalArgumentException("Quantile must be between 0 and 1!");
+		long total = totalCount();
+		if (total == 0)
+			return Double.NaN;
+		double target = q * total;
+		double seen = underflow;
+		if (target <= seen && underflow > 0)
+			return lower;
+		for (int i = 0; i < counts.length; i++) {
+			if (counts[i] > 0 && target <= seen + counts[i])
+				return binLower(i) + (binUpper(i) - binLower(i)) * ((target - seen) / counts[i]);
+			seen += counts[i];
+		}
+		return upper;
+	}
+
+	/**
+	 * Removes every count from the histogram.
+	 */
+	public void clear() {
+		Arrays.fill(counts, 0);
+		underflow = 0;
+		overflow = 0;
+	}
+
+	private int bin(double value) {
+		// Rounding can push values just below the upper bound into the bin after the last
+		return Math.min((int) ((value - lower) * scale), counts.length - 1);
+	}
+
+	/**
+	 * Creates and returns a string representation of the histogram.
+	 *
+	 * @return string representation of the histogram
+	 */
+	@Override
+	public String toString() {
+		return "Histogram{range=[" + lower + ", " + upper + "), underflow=" + underflow + ", counts="
+				+ Arrays.toString(counts) + ", overflow=" + overflow + "}";
+	}
+
+}
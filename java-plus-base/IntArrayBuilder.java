@@ -0,0 +1,275 @@
+//package setup.javaPlus;
+
+import java.util.Arrays;
+
+/**
+ * The <code>IntArrayBuilder</code> class builds an {@code int} array one value or one
+ * block of values at a time. The values are kept in a backing array with room to
+ * spare, which grows by half its size whenever it fills up, so adding <code>n</code>
+ * values takes <code>O(n)</code> time in total instead of the <code>O(n²)</code> of
+ * copying the array on every add with {@link ArraysPlus}.<br>
+ * <br>
+ *
+ * The finished values can be copied out with {@link #toArray()}, or read without
+ * copying through {@link #array()}, which returns the backing array itself; calling
+ * {@link #trimToSize()} first makes it exactly as long as the amount of values.
+ *
+ * @author jonatanfontanez
+ * @see DoubleArrayBuilder
+ * @see ArrayBuilder
+ *
+ */
+public final class IntArrayBuilder {
+	private static final int DEFAULT_CAPACITY = 10;
+	private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+	private int[] elements;
+	private int size;
+
+	/**
+	 * Creates an empty builder.
+	 */
+	public IntArrayBuilder() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty builder with room for <code>capacity</code> values before it
+	 * needs to grow.
+	 *
+	 * @param capacity amount of values to make room for
+	 */
+	public IntArrayBuilder(int capacity) {
+		if (capacity < 0)
+			throw new IllegalArgumentException("Capacity cannot be negative!");
+		this.elements = new int[capacity];
+	}
+
+	/**
+	 * Creates a builder holding a copy of the values in <code>values</code>.
+	 *
+	 * @param values the values to start with
+	 */
+	public IntArrayBuilder(int[] values) {
+		this.elements = values.clone();
+		this.size = values.length;
+	}
+
+	/**
+	 * Adds the value <code>value</code> to the end.
+	 *
+	 * @param value the value to add
+	 * @return this builder
+	 */
+	public IntArrayBuilder add(int value) {
+		if (size == elements.length)
+			grow(size + 1);
+		elements[size++] = value;
+		return this;
+	}
+
+	/**
+	 * Inserts the value <code>value</code> at the index <code>index</code>, shifting
+	 * every value from that index one index to the right.
+	 *
+	 * @param index the index to insert at
+	 * @param value the value to insert
+	 * @return this builder
+	 */
+	public IntArrayBuilder add(int index, int value) {
+		if (index < 0 || index > size)
+			throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+		if (size == elements.length)
+			grow(size + 1);
+		System.arraycopy(elements, index, elements, index + 1, size - index);
+		elements[index] = value;
+		size++;
+		return this;
+	}
+
+	/**
+	 * Adds every value in <code>values</code> to the end, in order.
+	 *
+	 * @param values the values to add
+	 * @return this builder
+	 */
+	public IntArrayBuilder addAll(int... values) {
+		return addAll(values, 0, values.length);
+	}
+
+	/**
+	 * Adds every value in <code>values</code> from the index <code>from</code>,
+	 * inclusive, to the index <code>to</code>, exclusive, to the end, in order.
+	 *
+	 * @param values the values to add
+	 * @param from   first index to add
+	 * @param to     index after the last index to add
+	 * @return this builder
+	 */
+	public IntArrayBuilder addAll(int[] values, int from, int to) {
+		if (from < 0 || to > values.length || from > to)
+			throw new ArrayIndexOutOfBoundsException("Range [" + from + ", " + to + ") is out of bounds!");
+		int length = to - from;
+		if (length > elements.length - size)
+			grow(size + length);
+		System.arraycopy(values, from, elements, size, length);
+		size += length;
+		return this;
+	}
+
+	/**
+	 * Adds every value of the builder <code>other</code> to the end, in order.
+	 *
+	 * @param other the builder whose values to add
+	 * @return this builder
+	 */
+	public IntArrayBuilder addAll(IntArrayBuilder other) {
+		return addAll(other.elements, 0, other.size);
+	}
+
+	/**
+	 * Returns the value at the index <code>index</code>.
+	 *
+	 * @param index the index to read
+	 * @return the value at the index
+	 */
+	public int get(int index) {
+		checkIndex(index);
+		return elements[index];
+	}
+
+	/**
+	 * Sets the value at the index <code>index</code> to <code>value</code>.
+	 *
+	 * @param index the index to set
+	 * @param value the value to store
+	 * @return the value previously at the index
+	 */
+	public int set(int index, int value) {
+		checkIndex(index);
+		int old = elements[index];
+		elements[index] = value;
+		return old;
+	}
+
+	/**
+	 * Removes the value at the index <code>index</code>, shifting every later value one
+	 * index to the left.
+	 *
+	 * @param index the index to remove
+	 * @return the removed value
+	 */
+	public int remove(int index) {
+		checkIndex(index);
+		int old = elements[index];
+		System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+		size--;
+		return old;
+	}
+
+	/**
+	 * Returns the amount of values added.
+	 *
+	 * @return amount of values
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns if no values have been added.
+	 *
+	 * @return if the builder is empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the amount of values the backing array has room for.
+	 *
+	 * @return length of the backing array
+	 */
+	public int capacity() {
+		return elements.length;
+	}
+
+	/**
+	 * Removes every value, keeping the backing array for reuse.
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Makes sure the backing array has room for at least <code>capacity</code> values,
+	 * so that many values can be added without it growing again.
+	 *
+	 * @param capacity amount of values to make room for
+	 */
+	public void ensureCapacity(int capacity) {
+		if (capacity > elements.length)
+			grow(capacity);
+	}
+
+	/**
+	 * Shrinks the backing array to exactly the amount of values.
+	 */
+	public void trimToSize() {
+		if (size < elements.length)
+			elements = Arrays.copyOf(elements, size);
+	}
+
+	/**
+	 * Returns a copy of the values, exactly as long as the amount of values.
+	 *
+	 * @return array of the values
+	 */
+	public int[] toArray() {
+		return Arrays.copyOf(elements, size);
+	}
+
+	/**
+	 * Returns the backing array itself, without copying. Only the first
+	 * {@link #size()} indices hold values; the array may be longer unless
+	 * {@link #trimToSize()} was called first. Changes to the array show up in the
+	 * builder until it grows into a new array.
+	 *
+	 * @return the backing array
+	 */
+	public int[] array() {
+		return elements;
+	}
+
+	private void grow(int minCapacity) {
+		// A negative capacity means the amount of values overflowed an int
+		if (minCapacity < 0 || minCapacity > MAX_CAPACITY)
+			throw new OutOfMemoryError("Required array length is too large!");
+		long capacity = (long) elements.length + (elements.length >> 1);
+		capacity = Math.max(capacity, Math.max(minCapacity, DEFAULT_CAPACITY));
+		elements = Arrays.copyOf(elements, (int) Math.min(capacity, MAX_CAPACITY));
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size)
+			throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+	}
+
+	/**
+	 * Creates and returns a string representation of the values, in the form
+	 * {@code {a, b, c}}.
+	 *
+	 * @return string representation of the values
+	 */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder(size * 4 + 2).append('{');
+		for (int i = 0; i < size; i++) {
+			if (i > 0)
+				builder.append(", ");
+			builder.append(elements[i]);
+		}
+		return builder.append('}').toString();
+	}
+
+}
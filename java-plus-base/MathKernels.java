@@ -0,0 +1,404 @@
+//package setup.javaPlus;
+
+/**
+ * The inner loops behind the aggregate functions of {@link MathPlus}, working on the
+ * range <code>[from, to)</code> of an array.<br>
+ * <br>
+ *
+ * A plain floating-point reduction is one long chain of dependent additions, which
+ * the JIT is not allowed to reorder, so each step waits for the previous one to
+ * finish. These kernels keep four independent accumulators instead, which lets the
+ * processor overlap four chains at once, and only combine them at the end. The
+ * accumulators are always combined in the same order, so results are repeatable.
+ *
+ * @author jonatanfontanez
+ *
+ */
+final class MathKernels {
+
+	/**
+	 * Don't let anyone instantiate this class
+	 */
+	private MathKernels() {
+
+	}
+
+	static double sum(double[] values, int from, int to) {
+		double s0 = 0.0, s1 = 0.0, s2 = 0.0, s3 = 0.0;
+		int i = from;
+		for (; i + 3 < to; i += 4) {
+			s0 += values[i];
+			s1 += values[i + 1];
+			s2 += values[i + 2];
+			s3 += values[i + 3];
+		}
+		for (; i < to; i++)
+			s0 += values[i];
+		return (s0 + s1) + (s2 + s3);
+	}
+
+	static double harmonicSum(double[] values, int from, int to) {
+		double s0 = 0.0, s1 = 0.0, s2 = 0.0, s3 = 0.0;
+		int i = from;
+		for (; i + 3 < to; i += 4) {
+			s0 += 1.0 / values[i];
+			s1 += 1.0 / values[i + 1];
+			s2 += 1.0 / values[i + 2];
+			s3 += 1.0 / values[i + 3];
+		}
+		for (; i < to; i++)
+			s0 += 1.0 / values[i];
+		return (s0 + s1) + (s2 + s3);
+	}
+
+	/**
+	 * The product of the range with four independent accumulators. Splitting the
+	 * product changes where it overflows or underflows: the range 1e200, 1e200,
+	 * 1e-200, 1e-200 gives infinity times zero in the accumulators but infinity in
+	 * order. A zero or non-finite result is therefore recomputed in order, which costs
+	 * a second pass only in those cases.
+	 */
+	static double product(double[] values, int from, int to) {
+		double p0 = 1.0, p1 = 1.0, p2 = 1.0, p3 = 1.0;
+		int i = from;
+		for (; i + 3 < to; i += 4) {
+			p0 *= values[i];
+			p1 *= values[i + 1];
+			p2 *= values[i + 2];
+			p3 *= values[i + 3];
+		}
+		for (; i < to; i++)
+			p0 *= values[i];
+		double product = (p0 * p1) * (p2 * p3);
+		if (Double.isFinite(product) && product != 0.0)
+			return product;
+		// A partial product may have overflowed or underflowed where the sequential one did not
+		product = 1.0;
+		for (i = from; i < to; i++)
+			product *= values[i];
+		return product;
+	}
+
+	/**
+	 * The sum of the natural logarithms of the range, which is the logarithm of its
+	 * product without the product ever overflowing or underflowing. The logarithms are
+	 * added with Neumaier's compensated summation: the call to {@link Math#log(double)}
+	 * costs far more than the compensation, and the result is exponentiated later, which
+	 * would magnify any error in the sum.
+	 */
+	static double logSum(double[] values, int from, int to) {
+		double sum = 0.0, compensation = 0.0;
+		for (int i = from; i < to; i++) {
+			double value = Math.log(values[i]);
+			double t = sum + value;
+			compensation += MathKernels.sumError(sum, value, t);
+			sum = t;
+		}
+		return sum + compensation;
+	}
+
+	/**
+	 * The rounding error of the addition <code>t = a + b</code>, the step of Neumaier's
+	 * compensated summation: adding it to a second accumulator and that accumulator to
+	 * the sum at the end recovers what every addition rounded away. Once the sum is no
+	 * longer finite there is no error left to recover, and the usual formula would
+	 * subtract an infinity from itself and turn the result into <code>NaN</code>, so
+	 * the error is zero; an infinite or <code>NaN</code> sum then comes out exactly as
+	 * the plain sum would.
+	 */
+	static double sumError(double a, double b, double t) {
+		if (!Double.isFinite(t))
+			return 0.0;
+		return Math.abs(a) >= Math.abs(b) ? (a - t) + b : (b - t) + a;
+	}
+
+	/**
+	 * The sum of the range with Neumaier's compensated summation, which keeps the
+	 * rounding error of every addition in a second accumulator and adds it back at the
+	 * end, so the result is as accurate as summing in twice the precision. Two
+	 * independent sums and compensations are kept, which hides most of the extra cost
+	 * behind the latency of the additions.
+	 */
+	static double compensatedSum(double[] values, int from, int to) {
+		double s0 = 0.0, c0 = 0.0, s1 = 0.0, c1 = 0.0;
+		int i = from;
+		for (; i + 1 < to; i += 2) {
+			double v0 = values[i], v1 = values[i + 1];
+			double t0 = s0 + v0, t1 = s1 + v1;
+			c0 += MathKernels.sumError(s0, v0, t0);
+			c1 += MathKernels.sumError(s1, v1, t1);
+			s0 = t0;
+			s1 = t1;
+		}
+		if (i < to) {
+			double v0 = values[i], t0 = s0 + v0;
+			c0 += MathKernels.sumError(s0, v0, t0);
+			s0 = t0;
+		}
+		double t = s0 + s1;
+		double c = MathKernels.sumError(s0, s1, t);
+		return t + (c + (c0 + c1));
+	}
+
+	/**
+	 * The weighted mean of the range, <code>Σ values[i] * weights[i] / Σ weights[i]</code>,
+	 * with both sums accumulated together in a single pass over the arrays.
+	 */
+	static double weightedMean(double[] values, double[] weights, int from, int to) {
+		double s0 = 0.0, s1 = 0.0, w0 = 0.0, w1 = 0.0;
+		int i = from;
+		for (; i + 1 < to; i += 2) {
+			double weight0 = weights[i], weight1 = weights[i + 1];
+			s0 += values[i] * weight0;
+			s1 += values[i + 1] * weight1;
+			w0 += weight0;
+			w1 += weight1;
+		}
+		if (i < to) {
+			s0 += values[i] * weights[i];
+			w0 += weights[i];
+		}
+		return (s0 + s1) / (w0 + w1);
+	}
+
+	/**
+	 * The weighted mean of the range with both sums compensated, in a single pass. The
+	 * rounding error of every product is recovered exactly with
+	 * {@link Math#fma(double, double, double)} and added to the compensation along with
+	 * the error of the addition, so the weighted sum is as accurate as a dot product in
+	 * twice the precision.
+	 */
+	static double compensatedWeightedMean(double[] values, double[] weights, int from, int to) {
+		double sum = 0.0, sumCompensation = 0.0, weightSum = 0.0, weightCompensation = 0.0;
+		for (int i = from; i < to; i++) {
+			double weight = weights[i];
+			double product = values[i] * weight;
+			double t = sum + product;
+			if (Double.isFinite(t))
+				sumCompensation += MathKernels.sumError(sum, product, t) + Math.fma(values[i], weight, -product);
+			sum = t;
+			double w = weightSum + weight;
+			weightCompensation += MathKernels.sumError(weightSum, weight, w);
+			weightSum = w;
+		}
+		return (sum + sumCompensation) / (weightSum + weightCompensation);
+	}
+
+	/**
+	 * The largest value of the range, which must not be empty. A <code>NaN</code> is
+	 * only returned if it is the first value. Unlike the sums, this loop is left plain:
+	 * once the running maximum settles the branch is almost never taken, which the
+	 * processor predicts better than it runs several accumulators.
+	 */
+	static double max(double[] values, int from, int to) {
+		double maximum = values[from];
+		for (int i = from + 1; i < to; i++)
+			if (values[i] > maximum)
+				maximum = values[i];
+		return maximum;
+	}
+
+	/**
+	 * The smallest value of the range, which must not be empty. A <code>NaN</code> is
+	 * only returned if it is the first value.
+	 */
+	static double min(double[] values, int from, int to) {
+		double minimum = values[from];
+		for (int i = from + 1; i < to; i++)
+			if (values[i] < minimum)
+				minimum = values[i];
+		return minimum;
+	}
+
+	/**
+	 * The largest minus the smallest value of the range, found in one pass, which must
+	 * not be empty. Follows the same rule for <code>NaN</code> as {@link #min} and
+	 * {@link #max}.
+	 */
+	static double range(double[] values, int from, int to) {
+		double minimum = values[from], maximum = minimum;
+		for (int i = from + 1; i < to; i++) {
+			double value = values[i];
+			if (value < minimum)
+				minimum = value;
+			else if (value > maximum)
+				maximum = value;
+		}
+		return maximum - minimum;
+	}
+
+	/**
+	 * The sum of the squared deviations of the range from its mean, kept with Welford's
+	 * method like {@link StatsAccumulator}, which avoids the cancellation of summing
+	 * the squares and subtracting the squared mean.
+	 */
+	static double squaredDeviations(double[] values, int from, int to) {
+		double mean = 0.0, squaredDeviations = 0.0;
+		for (int i = from; i < to; i++) {
+			double delta = values[i] - mean;
+			mean += delta / (i - from + 1);
+			squaredDeviations += delta * (values[i] - mean);
+		}
+		return squaredDeviations;
+	}
+
+	/*
+	 * The same loops for the other primitive arrays. Integers are summed in a long so the
+	 * sum of an int array cannot overflow, floats are summed in a double, and every
+	 * product is taken in a double since integer products overflow almost at once.
+	 */
+
+	static long sum(int[] values, int from, int to) {
+		long s0 = 0L, s1 = 0L, s2 = 0L, s3 = 0L;
+		int i = from;
+		for (; i + 3 < to; i += 4) {
+			s0 += values[i];
+			s1 += values[i + 1];
+			s2 += values[i + 2];
+			s3 += values[i + 3];
+		}
+		for (; i < to; i++)
+			s0 += values[i];
+		return (s0 + s1) + (s2 + s3);
+	}
+
+	static double product(int[] values, int from, int to) {
+		double p0 = 1.0, p1 = 1.0, p2 = 1.0, p3 = 1.0;
+		int i = from;
+		for (; i + 3 < to; i += 4) {
+			p0 *= values[i];
+			p1 *= values[i + 1];
+			p2 *= values[i + 2];
+			p3 *= values[i + 3];
+		}
+		for (; i < to; i++)
+			p0 *= values[i];
+		double product = (p0 * p1) * (p2 * p3);
+		if (Double.isFinite(product) && product != 0.0)
+			return product;
+		// A partial product may have overflowed or underflowed where the sequential one did not
+		product = 1.0;
+		for (i = from; i < to; i++)
+			product *= values[i];
+		return product;
+	}
+
+	static int max(int[] values, int from, int to) {
+		int maximum = values[from];
+		for (int i = from + 1; i < to; i++)
+			if (values[i] > maximum)
+				maximum = values[i];
+		return maximum;
+	}
+
+	static int min(int[] values, int from, int to) {
+		int minimum = values[from];
+		for (int i = from + 1; i < to; i++)
+			if (values[i] < minimum)
+				minimum = values[i];
+		return minimum;
+	}
+
+	static long sum(long[] values, int from, int to) {
+		long s0 = 0L, s1 = 0L, s2 = 0L, s3 = 0L;
+		int i = from;
+		for (; i + 3 < to; i += 4) {
+			s0 += values[i];
+			s1 += values[i + 1];
+			s2 += values[i + 2];
+			s3 += values[i + 3];
+		}
+		for (; i < to; i++)
+			s0 += values[i];
+		return (s0 + s1) + (s2 + s3);
+	}
+
+	static double product(long[] values, int from, int to) {
+		double p0 = 1.0, p1 = 1.0, p2 = 1.0, p3 = 1.0;
+		int i = from;
+		for (; i + 3 < to; i += 4) {
+			p0 *= values[i];
+			p1 *= values[i + 1];
+			p2 *= values[i + 2];
+			p3 *= values[i + 3];
+		}
+		for (; i < to; i++)
+			p0 *= values[i];
+		double product = (p0 * p1) * (p2 * p3);
+		if (Double.isFinite(product) && product != 0.0)
+			return product;
+		// A partial product may have overflowed or underflowed where the sequential one did not
+		product = 1.0;
+		for (i = from; i < to; i++)
+			product *= values[i];
+		return product;
+	}
+
+	static long max(long[] values, int from, int to) {
+		long maximum = values[from];
+		for (int i = from + 1; i < to; i++)
+			if (values[i] > maximum)
+				maximum = values[i];
+		return maximum;
+	}
+
+	static long min(long[] values, int from, int to) {
+		long minimum = values[from];
+		for (int i = from + 1; i < to; i++)
+			if (values[i] < minimum)
+				minimum = values[i];
+		return minimum;
+	}
+
+	static double sum(float[] values, int from, int to) {
+		double s0 = 0.0, s1 = 0.0, s2 = 0.0, s3 = 0.0;
+		int i = from;
+		for (; i + 3 < to; i += 4) {
+			s0 += values[i];
+			s1 += values[i + 1];
+			s2 += values[i + 2];
+			s3 += values[i + 3];
+		}
+		for (; i < to; i++)
+			s0 += values[i];
+		return (s0 + s1) + (s2 + s3);
+	}
+
+	static double product(float[] values, int from, int to) {
+		double p0 = 1.0, p1 = 1.0, p2 = 1.0, p3 = 1.0;
+		int i = from;
+		for (; i + 3 < to; i += 4) {
+			p0 *= values[i];
+			p1 *= values[i + 1];
+			p2 *= values[i + 2];
+			p3 *= values[i + 3];
+		}
+		for (; i < to; i++)
+			p0 *= values[i];
+		double product = (p0 * p1) * (p2 * p3);
+		if (Double.isFinite(product) && product != 0.0)
+			return product;
+		// A partial product may have overflowed or underflowed where the sequential one did not
+		product = 1.0;
+		for (i = from; i < to; i++)
+			product *= values[i];
+		return product;
+	}
+
+	static float max(float[] values, int from, int to) {
+		float maximum = values[from];
+		for (int i = from + 1; i < to; i++)
+			if (values[i] > maximum)
+				maximum = values[i];
+		return maximum;
+	}
+
+	static float min(float[] values, int from, int to) {
+		float minimum = values[from];
+		for (int i = from + 1; i < to; i++)
+			if (values[i] < minimum)
+				minimum = values[i];
+		return minimum;
+	}
+
+}
@@ -2,7 +2,8 @@
 
 import java.awt.Point;
 import java.awt.geom.Point2D;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
 
 /**
  * The class {@code MathPlus} contains methods for performing more complex
@@ -77,6 +78,111 @@ public final class MathPlus {
 		return (a - b) * Math.sqrt(1 - c * c) + b;
 	}
 
+	/**
+	 * Stores a value <code>c</code> of the way between <code>a[i]</code> and
+	 * <code>b[i]</code> in <code>out[i]</code>, for every index. The output array may be
+	 * one of the input arrays.
+	 * 
+	 * @param a   first values to be used
+	 * @param b   second values to be used
+	 * @param c   number to find position of returned values
+	 * @param out array to store the values in
+	 * @return <code>out</code>
+	 */
+	public static double[] linearInterpolation(double[] a, double[] b, double c, double[] out) {
+		MathPlus.checkInterpolationLengths(a.length, b.length, out.length);
+		double d = 1 - c;
+		for (int i = 0; i < out.length; i++)
+			out[i] = a[i] * d + b[i] * c;
+		return out;
+	}
+
+	/**
+	 * Stores a value <code>c</code> of the way between <code>a[i]</code> and
+	 * <code>b[i]</code> in <code>out[i]</code>, for every index. The output array may be
+	 * one of the input arrays.
+	 * 
+	 * @param a   first values to be used
+	 * @param b   second values to be used
+	 * @param c   number to find position of returned values
+	 * @param out array to store the values in
+	 * @return <code>out</code>
+	 */
+	public static float[] linearInterpolation(float[] a, float[] b, float c, float[] out) {
+		MathPlus.checkInterpolationLengths(a.length, b.length, out.length);
+		float d = 1 - c;
+		for (int i = 0; i < out.length; i++)
+			out[i] = a[i] * d + b[i] * c;
+		return out;
+	}
+
+	/**
+	 * Stores a value <code>c</code> of the way between <code>a[i]</code> and
+	 * <code>b[i]</code>, following a circle-like curve, in <code>out[i]</code>, for
+	 * every index. The square root of the curve is only computed once for the whole
+	 * array. The output array may be one of the input arrays.
+	 * 
+	 * @param a   first values to be used
+	 * @param b   second values to be used
+	 * @param c   number to find position of returned values
+	 * @param out array to store the values in
+	 * @return <code>out</code>
+	 */
+	public static double[] circularInterpolation(double[] a, double[] b, double c, double[] out) {
+		MathPlus.checkInterpolationLengths(a.length, b.length, out.length);
+		double root = Math.sqrt(1 - c * c);
+		for (int i = 0; i < out.length; i++)
+			out[i] = (a[i] - b[i]) * root + b[i];
+		return out;
+	}
+
+	/**
+	 * Resamples the series <code>values</code> at <code>points</code> evenly spaced
+	 * positions, from the first value to the last, linearly interpolating between the
+	 * two nearest values of the series. Does not modify the input array.
+	 * 
+	 * @param values the series to resample
+	 * @param points amount of values in the resampled series
+	 * @return the resampled series
+	 */
+	public static double[] resample(double[] values, int points) {
+		if (points < 0)
+			throw new IllegalArgumentException("Amount of points cannot be less than zero!");
+		return MathPlus.resample(values, new double[points]);
+	}
+
+	/**
+	 * Resamples the series <code>values</code> at <code>out.length</code> evenly spaced
+	 * positions, from the first value to the last, linearly interpolating between the
+	 * two nearest values of the series, and stores them in <code>out</code>.
+	 * 
+	 * @param values the series to resample
+	 * @param out    array to store the resampled series in
+	 * @return <code>out</code>
+	 */
+	public static double[] resample(double[] values, double[] out) {
+		if (values.length == 0)
+			throw new IllegalArgumentException("Cannot resample an empty series!");
+		int last = values.length - 1;
+		if (out.length == 1 || last == 0) {
+			Arrays.fill(out, values[0]);
+			return out;
+		}
+		double step = (double) last / (out.length - 1);
+		for (int i = 0; i < out.length; i++) {
+			double position = i * step;
+			int j = Math.min((int) position, last - 1);
+			double c = position - j;
+			out[i] = values[j] * (1 - c) + values[j + 1] * c;
+		}
+		return out;
+	}
+
+	private static void checkInterpolationLengths(int a, int b, int out) {
+		if (a != b || a != out)
+			throw new IllegalArgumentException("The arrays are not the same length!");
+	}
+
 	/**
 	 * Produces a random integer value in the range <code>[0, max]</code>.
 	 * 
@@ -124,15 +230,19 @@ public final class MathPlus {
 	public static double random(double min, double max) {
 		if (min > max)
 			return MathPlus.random(max, min);
-		return (Math.random() * (max - min)) + min;
+		return (RandomEngine.nextDouble() * (max - min)) + min;
 	}
 
 	/**
 	 * Produces a random value from the given {@code values} where each value has a
 	 * weight found in the corresponding given {@code weights}.<br>
 	 * Higher weights result in a higher chance to produce a certain value and vice
-	 * versa.
+	 * versa.<br>
+	 * <br>
 	 * 
+	 * When drawing many times from the same values and weights, use a
+	 * {@link WeightedSampler} instead, which only has to look at the weights once.
+	 *
 	 * @param values  values that can be produced
 	 * @param weights weights of each values
 	 * @return random value, each weighted with {@code weights}
@@ -140,25 +250,47 @@ public final class MathPlus {
 	public static double weightedRandom(double[] values, double[] weights) {
 		if (values.length != weights.length)
 			throw new IllegalArgumentException("The amount of values and weights are not equal!");
+		int index = MathPlus.weightedIndex(weights);
+		return index < 0 ? 0.0 : values[index];
+	}
+
+	/**
+	 * Produces a random value from the given integer {@code values} where each value
+	 * has a weight found in the corresponding given {@code weights}.<br>
+	 * Higher weights result in a higher chance to produce a certain value and vice
+	 * versa.
+	 *
+	 * @param values  values that can be produced
+	 * @param weights weights of each values
+	 * @return random value, each weighted with {@code weights}
+	 */
+	public static int weightedRandom(int[] values, double[] weights) {
+		if (values.length != weights.length)
+			throw new IllegalArgumentException("The amount of values and weights are not equal!");
+		int index = MathPlus.weightedIndex(weights);
+		return index < 0 ? 0 : values[index];
+	}
+
+	/**
+	 * Picks a random index into {@code weights}, each weighted by its value. Returns -1
+	 * if no index could be picked, which only happens when every weight is zero.
+	 */
+	private static int weightedIndex(double[] weights) {
 		double sum = 0.0;
 		double rand = MathPlus.random(MathPlus.sum(weights));
-		for (int i = 0; i < values.length; i++) {
+		for (int i = 0; i < weights.length; i++) {
 			if (weights[i] < 0)
 				throw new IllegalArgumentException("Weights cannot be less than zero!");
 			sum += weights[i];
 			if (rand <= sum)
-				return values[i];
+				return i;
 		}
-		return 0.0;
-	}
-
-	public static int weightedRandom(int[] values, double[] weights) {
-		return (int) MathPlus.weightedRandom(ArraysPlus.toDoubleArray(values), weights);
+		return -1;
 	}
 
 	/**
 	 * Produces a random decimal value using a "power distribution"<br>
-	 * Equivalent to <code>Math.random()^power</code> <br>
+	 * Equivalent to <code>RandomEngine.nextDouble()^power</code> <br>
 	 * <br>
 	 * 
 	 * Distribution:
@@ -173,7 +305,7 @@ public final class MathPlus {
 	public static double powerRandom(double power) {
 		if (power < 0)
 			throw new IllegalArgumentException("Power cannot be less than 0!");
-		return Math.pow(Math.random(), power);
+		return Math.pow(RandomEngine.nextDouble(), power);
 	}
 
 	/**
@@ -217,13 +349,7 @@ public final class MathPlus {
 	public static double betaDistributionRandom(double val) {
 		if (val <= 1)
 			throw new IllegalArgumentException("Input for beta function cannot be less than 1!");
-		double rand = Math.random();
-		double ret = Math.pow(rand, val - 1) * Math.pow(1 - rand, val - 1);
-		double factor = 1 / (2 * Math.pow(0.5, val - 1) * Math.pow(0.5, val - 1));
-		if (rand < 0.5)
-			return factor * ret;
-		else
-			return 1 - factor * ret;
+		return MathPlus.betaSample(RandomEngine.nextDouble(), val - 1, MathPlus.betaFactor(val));
 	}
 
 	/**
@@ -244,6 +370,260 @@ public final class MathPlus {
 		return (MathPlus.betaDistributionRandom(val) * (max - min)) + min;
 	}
 
+	/**
+	 * Returns the normalisation factor of the beta distribution for <code>val</code>,
+	 * which makes the density meet at 0.5 in the center of the range.
+	 */
+	private static double betaFactor(double val) {
+		return 0.5 * Math.pow(4.0, val - 1);
+	}
+
+	/**
+	 * Maps a uniform value <code>rand</code> onto the beta distribution, given the
+	 * hoisted exponent <code>val - 1</code> and {@link #betaFactor(double)}.
+	 */
+	private static double betaSample(double rand, double exponent, double factor) {
+		double ret = factor * Math.pow(rand * (1 - rand), exponent);
+		return rand < 0.5 ? ret : 1 - ret;
+	}
+
+	/**
+	 * Fills the array <code>out</code> with random decimal values in the range
+	 * <code>[min, max)</code>. Equivalent to calling
+	 * {@link #random(double, double)} once for every index, but faster.
+	 * 
+	 * @param out the array to fill
+	 * @param min the minimum value for the return range
+	 * @param max the maximum value for the return range
+	 * @return the filled array
+	 */
+	public static double[] fillUniform(double[] out, double min, double max) {
+		if (min > max)
+			return MathPlus.fillUniform(out, max, min);
+		MathPlus.fillUniform(RandomEngine.current(), out, 0, out.length, min, max);
+		return out;
+	}
+
+	/**
+	 * Fills the array <code>out</code> with random integer values in the range
+	 * <code>[min, max]</code>, each value in the range being equally likely.
+	 * 
+	 * @param out the array to fill
+	 * @param min the minimum value to be produced
+	 * @param max the maximum value to be produced
+	 * @return the filled array
+	 */
+	public static int[] fillUniform(int[] out, int min, int max) {
+		if (min > max)
+			throw new IllegalArgumentException("Minimum value cannot be greater than maximum value!");
+		MathPlus.fillUniform(RandomEngine.current(), out, 0, out.length, min, max);
+		return out;
+	}
+
+	/**
+	 * Fills the array <code>out</code> with random decimal values using a "power
+	 * distribution". Equivalent to calling {@link #powerRandom(double)} once for every
+	 * index, but faster.
+	 * 
+	 * @param out   the array to fill
+	 * @param power power to raise generated numbers to
+	 * @return the filled array
+	 */
+	public static double[] fillPower(double[] out, double power) {
+		return MathPlus.fillPower(out, power, 0.0, 1.0);
+	}
+
+	/**
+	 * Fills the array <code>out</code> with random decimal values in the range
+	 * <code>[min, max)</code> using a "power distribution". Equivalent to calling
+	 * {@link #powerRandom(double, double, double)} once for every index, but faster.
+	 * 
+	 * @param out   the array to fill
+	 * @param power power to raise generated numbers to
+	 * @param min   the minimum value for the return range
+	 * @param max   the maximum value for the return range
+	 * @return the filled array
+	 */
+	public static double[] fillPower(double[] out, double power, double min, double max) {
+		MathPlus.checkPower(power, min, max);
+		MathPlus.fillPower(RandomEngine.current(), out, 0, out.length, power, min, max);
+		return out;
+	}
+
+	/**
+	 * Fills the array <code>out</code> with random decimal values using the beta
+	 * distribution. Equivalent to calling {@link #betaDistributionRandom(double)} once
+	 * for every index, but the normalisation of the distribution is only computed once.
+	 * 
+	 * @param out the array to fill
+	 * @param val shape of the distribution
+	 * @return the filled array
+	 */
+	public static double[] fillBeta(double[] out, double val) {
+		return MathPlus.fillBeta(out, val, 0.0, 1.0);
+	}
+
+	/**
+	 * Fills the array <code>out</code> with random decimal values in the range
+	 * <code>[min, max)</code> using the beta distribution. Equivalent to calling
+	 * {@link #betaDistributionRandom(double, double, double)} once for every index, but
+	 * the normalisation of the distribution is only computed once.
+	 * 
+	 * @param out the array to fill
+	 * @param val shape of the distribution
+	 * @param min the minimum value for the return range
+	 * @param max the maximum value for the return range
+	 * @return the filled array
+	 */
+	public static double[] fillBeta(double[] out, double val, double min, double max) {
+		MathPlus.checkBeta(val, min, max);
+		MathPlus.fillBeta(RandomEngine.current(), out, 0, out.length, val, min, max);
+		return out;
+	}
+
+	/**
+	 * Fills the array <code>out</code> in parallel with random decimal values in the
+	 * range <code>[min, max)</code>. The array is split into fixed chunks which each get
+	 * their own generator derived from <code>seed</code>, so the same seed always fills
+	 * the array with the same values, however many threads are used.
+	 * 
+	 * @param out  the array to fill
+	 * @param min  the minimum value for the return range
+	 * @param max  the maximum value for the return range
+	 * @param seed the seed to derive every generator from
+	 * @return the filled array
+	 */
+	public static double[] parallelFillUniform(double[] out, double min, double max, long seed) {
+		if (min > max)
+			return MathPlus.parallelFillUniform(out, max, min, seed);
+		RandomGenerator[] streams = MathPlus.chunkStreams(out.length, seed);
+		ParallelChunks.forEach(out.length, ParallelChunks.DEFAULT_CHUNK_SIZE,
+				(chunk, from, to) -> MathPlus.fillUniform(streams[chunk], out, from, to, min, max));
+		return out;
+	}
+
+	/**
+	 * Fills the array <code>out</code> in parallel with random integer values in the
+	 * range <code>[min, max]</code>. The same seed always fills the array with the same
+	 * values, however many threads are used.
+	 * 
+	 * @param out  the array to fill
+	 * @param min  the minimum value to be produced
+	 * @param max  the maximum value to be produced
+	 * @param seed the seed to derive every generator from
+	 * @return the filled array
+	 */
+	public static int[] parallelFillUniform(int[] out, int min, int max, long seed) {
+		if (min > max)
+			throw new IllegalArgumentException("Minimum value cannot be greater than maximum value!");
+		RandomGenerator[] streams = MathPlus.chunkStreams(out.length, seed);
+		ParallelChunks.forEach(out.length, ParallelChunks.DEFAULT_CHUNK_SIZE,
+				(chunk, from, to) -> MathPlus.fillUniform(streams[chunk], out, from, to, min, max));
+		return out;
+	}
+
+	/**
+	 * Fills the array <code>out</code> in parallel with random decimal values in the
+	 * range <code>[min, max)</code> using a "power distribution". The same seed always
+	 * fills the array with the same values, however many threads are used.
+	 * 
+	 * @param out   the array to fill
+	 * @param power power to raise generated numbers to
+	 * @param min   the minimum value for the return range
+	 * @param max   the maximum value for the return range
+	 * @param seed  the seed to derive every generator from
+	 * @return the filled array
+	 */
+	public static double[] parallelFillPower(double[] out, double power, double min, double max, long seed) {
+		MathPlus.checkPower(power, min, max);
+		RandomGenerator[] streams = MathPlus.chunkStreams(out.length, seed);
+		ParallelChunks.forEach(out.length, ParallelChunks.DEFAULT_CHUNK_SIZE,
+				(chunk, from, to) -> MathPlus.fillPower(streams[chunk], out, from, to, power, min, max));
+		return out;
+	}
+
+	/**
+	 * Fills the array <code>out</code> in parallel with random decimal values in the
+	 * range <code>[min, max)</code> using the beta distribution. The same seed always
+	 * fills the array with the same values, however many threads are used.
+	 * 
+	 * @param out  the array to fill
+	 * @param val  shape of the distribution
+	 * @param min  the minimum value for the return range
+	 * @param max  the maximum value for the return range
+	 * @param seed the seed to derive every generator from
+	 * @return the filled array
+	 */
+	public static double[] parallelFillBeta(double[] out, double val, double min, double max, long seed) {
+		MathPlus.checkBeta(val, min, max);
+		RandomGenerator[] streams = MathPlus.chunkStreams(out.length, seed);
+		ParallelChunks.forEach(out.length, ParallelChunks.DEFAULT_CHUNK_SIZE,
+				(chunk, from, to) -> MathPlus.fillBeta(streams[chunk], out, from, to, val, min, max));
+		return out;
+	}
+
+	private static void checkPower(double power, double min, double max) {
+		if (power < 0)
+			throw new IllegalArgumentException("Power cannot be less than 0!");
+		if (min > max)
+			throw new IllegalArgumentException("Minimum value cannot be greater than maximum value!");
+	}
+
+	private static void checkBeta(double val, double min, double max) {
+		if (val <= 1)
+			throw new IllegalArgumentException("Input for beta function cannot be less than 1!");
+		if (min > max)
+			throw new IllegalArgumentException("Minimum value cannot be greater than maximum value!");
+	}
+
+	/**
+	 * One generator per {@link ParallelChunks#DEFAULT_CHUNK_SIZE} chunk of an array of
+	 * <code>length</code> values, all derived from <code>seed</code>.
+	 */
+	private static RandomGenerator[] chunkStreams(int length, long seed) {
+		return RandomEngine.streams(seed, ParallelChunks.chunkCount(length, ParallelChunks.DEFAULT_CHUNK_SIZE));
+	}
+
+	private static void fillUniform(RandomGenerator rng, double[] out, int from, int to, double min, double max) {
+		double span = max - min;
+		for (int i = from; i < to; i++)
+			out[i] = rng.nextDouble() * span + min;
+	}
+
+	private static void fillUniform(RandomGenerator rng, int[] out, int from, int to, int min, int max) {
+		long span = (long) max - min + 1;
+		for (int i = from; i < to; i++)
+			out[i] = (int) (min + rng.nextLong(span));
+	}
+
+	private static void fillPower(RandomGenerator rng, double[] out, int from, int to, double power, double min,
+			double max) {
+		double span = max - min;
+		if (power == 1.0)
+			for (int i = from; i < to; i++)
+				out[i] = rng.nextDouble() * span + min;
+		else if (power == 0.5)
+			for (int i = from; i < to; i++)
+				out[i] = Math.sqrt(rng.nextDouble()) * span + min;
+		else if (power == 2.0)
+			for (int i = from; i < to; i++) {
+				double rand = rng.nextDouble();
+				out[i] = rand * rand * span + min;
+			}
+		else
+			for (int i = from; i < to; i++)
+				out[i] = Math.pow(rng.nextDouble(), power) * span + min;
+	}
+
+	private static void fillBeta(RandomGenerator rng, double[] out, int from, int to, double val, double min,
+			double max) {
+		double span = max - min;
+		double exponent = val - 1;
+		double factor = MathPlus.betaFactor(val);
+		for (int i = from; i < to; i++)
+			out[i] = MathPlus.betaSample(rng.nextDouble(), exponent, factor) * span + min;
+	}
+
 	/**
 	 * Returns the correctly rounded positive square root of a {@code double} value.
 	 * Special cases:
@@ -263,94 +643,754 @@ public final class MathPlus {
 	 * @return the positive square root of {@code a}. If the argument is NaN or less
 	 *         than zero, the result is NaN.
 	 */
-	public static ComplexNumber sqrt(double a) {
-		if (a < 0)
-			return new ComplexNumber(0.0, Math.sqrt(-a));
-		else
-			return new ComplexNumber(Math.sqrt(a), 0.0);
+	public static ComplexNumber sqrt(double a) {
+		if (a < 0)
+			return new ComplexNumber(0.0, Math.sqrt(-a));
+		else
+			return new ComplexNumber(Math.sqrt(a), 0.0);
+	}
+
+	/**
+	 * Returns the greatest of all {@code double} values. That is, the result is the
+	 * argument closer to the value of {@link Double#MAX_VALUE}. If all the
+	 * arguments have the same value, the result is that same value.
+	 *
+	 * @param value the input values
+	 * @return the largest value in the input
+	 */
+	public static double max(double... values) {
+		return MathKernels.max(values, 0, values.length);
+	}
+
+	/**
+	 * Returns the least of all {@code double} values. That is, the result is the
+	 * argument closer to the value of {@link Double#MIN_VALUE}. If all the
+	 * arguments have the same value, the result is that same value.
+	 *
+	 * @param value the input values
+	 * @return the smallest value in the input
+	 */
+	public static double min(double... values) {
+		return MathKernels.min(values, 0, values.length);
+	}
+
+	/**
+	 * Returns the range of the set {@code values}.<br>
+	 * <br>
+	 * 
+	 * This method is equivalent to calling: <br>
+	 * <br>
+	 * 
+	 * &nbsp&nbsp&nbsp&nbsp<code>MathPlus.max(values) - MathPlus.min(values)</code>
+	 * <br>
+	 * <br>
+	 * 
+	 * but only goes through the values once.
+	 * 
+	 * @param values the input values
+	 * @return the range of the set of the argument
+	 */
+	public static double range(double... values) {
+		if (values.length == 0)
+			throw new ArrayIndexOutOfBoundsException("Cannot find the range of no values!");
+		return MathKernels.range(values, 0, values.length);
+	}
+
+	/**
+	 * Returns the sum of all {@code double} values.
+	 * 
+	 * @param ds values to be summed
+	 * @return sum of all values
+	 */
+	public static double sum(double... values) {
+		return MathKernels.sum(values, 0, values.length);
+	}
+
+	public static double harmonicSum(double... values) {
+		return MathKernels.harmonicSum(values, 0, values.length);
+	}
+
+	/**
+	 * Returns the sum of all {@code double} values, using Neumaier's compensated
+	 * summation. The rounding error of every addition is tracked and added back at the
+	 * end, so the result is accurate even for long arrays or values of very different
+	 * sizes, where {@link #sum(double...)} loses precision.
+	 * 
+	 * @param values values to be summed
+	 * @return sum of all values
+	 */
+	public static double compensatedSum(double... values) {
+		return MathKernels.compensatedSum(values, 0, values.length);
+	}
+
+	/**
+	 * Returns the product of all {@code double} values.
+	 * 
+	 * @param values values to be multiplied
+	 * @return product of all values
+	 */
+	public static double product(double... values) {
+		return MathKernels.product(values, 0, values.length);
+	}
+
+	/**
+	 * Returns the greatest of two {@code double} values, without allocating an
+	 * array. Gives the same result as {@link #max(double...)}.
+	 * 
+	 * @param a first value
+	 * @param b second value
+	 * @return the largest value in the input
+	 */
+	public static double max(double a, double b) {
+		return b > a ? b : a;
+	}
+
+	/**
+	 * Returns the greatest of three {@code double} values, without allocating an
+	 * array. Gives the same result as {@link #max(double...)}.
+	 * 
+	 * @param a first value
+	 * @param b second value
+	 * @param c third value
+	 * @return the largest value in the input
+	 */
+	public static double max(double a, double b, double c) {
+		return MathPlus.max(MathPlus.max(a, b), c);
+	}
+
+	/**
+	 * Returns the greatest of four {@code double} values, without allocating an
+	 * array. Gives the same result as {@link #max(double...)}.
+	 * 
+	 * @param a first value
+	 * @param b second value
+	 * @param c third value
+	 * @param d fourth value
+	 * @return the largest value in the input
+	 */
+	public static double max(double a, double b, double c, double d) {
+		return MathPlus.max(MathPlus.max(MathPlus.max(a, b), c), d);
+	}
+
+	/**
+	 * Returns the least of two {@code double} values, without allocating an
+	 * array. Gives the same result as {@link #min(double...)}.
+	 * 
+	 * @param a first value
+	 * @param b second value
+	 * @return the smallest value in the input
+	 */
+	public static double min(double a, double b) {
+		return b < a ? b : a;
+	}
+
+	/**
+	 * Returns the least of three {@code double} values, without allocating an
+	 * array. Gives the same result as {@link #min(double...)}.
+	 * 
+	 * @param a first value
+	 * @param b second value
+	 * @param c third value
+	 * @return the smallest value in the input
+	 */
+	public static double min(double a, double b, double c) {
+		return MathPlus.min(MathPlus.min(a, b), c);
+	}
+
+	/**
+	 * Returns the least of four {@code double} values, without allocating an
+	 * array. Gives the same result as {@link #min(double...)}.
+	 * 
+	 * @param a first value
+	 * @param b second value
+	 * @param c third value
+	 * @param d fourth value
+	 * @return the smallest value in the input
+	 */
+	public static double min(double a, double b, double c, double d) {
+		return MathPlus.min(MathPlus.min(MathPlus.min(a, b), c), d);
+	}
+
+	/**
+	 * Returns the sum of two {@code double} values, without allocating an array.
+	 * 
+	 * @param a first value
+	 * @param b second value
+	 * @return sum of all values
+	 */
+	public static double sum(double a, double b) {
+		return a + b;
+	}
+
+	/**
+	 * Returns the sum of three {@code double} values, without allocating an array.
+	 * 
+	 * @param a first value
+	 * @param b second value
+	 * @param c third value
+	 * @return sum of all values
+	 */
+	public static double sum(double a, double b, double c) {
+		return a + b + c;
+	}
+
+	/**
+	 * Returns the sum of four {@code double} values, without allocating an array.
+	 * 
+	 * @param a first value
+	 * @param b second value
+	 * @param c third value
+	 * @param d fourth value
+	 * @return sum of all values
+	 */
+	public static double sum(double a, double b, double c, double d) {
+		return a + b + c + d;
+	}
+
+	/**
+	 * Returns the product of two {@code double} values, without allocating an
+	 * array.
+	 * 
+	 * @param a first value
+	 * @param b second value
+	 * @return product of all values
+	 */
+	public static double product(double a, double b) {
+		return a * b;
+	}
+
+	/**
+	 * Returns the product of three {@code double} values, without allocating an
+	 * array.
+	 * 
+	 * @param a first value
+	 * @param b second value
+	 * @param c third value
+	 * @return product of all values
+	 */
+	public static double product(double a, double b, double c) {
+		return a * b * c;
+	}
+
+	/**
+	 * Returns the product of four {@code double} values, without allocating an
+	 * array.
+	 * 
+	 * @param a first value
+	 * @param b second value
+	 * @param c third value
+	 * @param d fourth value
+	 * @return product of all values
+	 */
+	public static double product(double a, double b, double c, double d) {
+		return a * b * c * d;
+	}
+
+	/**
+	 * Returns the greatest of all {@code double} values from the index <code>from</code>,
+	 * inclusive, to the index <code>to</code>, exclusive.
+	 * 
+	 * @param values the input values
+	 * @param from   first index to use
+	 * @param to     index after the last index to use
+	 * @return the largest value in the range
+	 */
+	public static double max(double[] values, int from, int to) {
+		MathPlus.checkNonEmptyRange(values.length, from, to);
+		return MathKernels.max(values, from, to);
+	}
+
+	/**
+	 * Returns the greatest of all {@code int} values.
+	 * 
+	 * @param values the input values
+	 * @return the largest value in the input
+	 */
+	public static int max(int[] values) {
+		return MathKernels.max(values, 0, values.length);
+	}
+
+	/**
+	 * Returns the greatest of all {@code int} values from the index <code>from</code>,
+	 * inclusive, to the index <code>to</code>, exclusive.
+	 * 
+	 * @param values the input values
+	 * @param from   first index to use
+	 * @param to     index after the last index to use
+	 * @return the largest value in the range
+	 */
+	public static int max(int[] values, int from, int to) {
+		MathPlus.checkNonEmptyRange(values.length, from, to);
+		return MathKernels.max(values, from, to);
+	}
+
+	/**
+	 * Returns the greatest of all {@code long} values.
+	 * 
+	 * @param values the input values
+	 * @return the largest value in the input
+	 */
+	public static long max(long[] values) {
+		return MathKernels.max(values, 0, values.length);
+	}
+
+	/**
+	 * Returns the greatest of all {@code long} values from the index <code>from</code>,
+	 * inclusive, to the index <code>to</code>, exclusive.
+	 * 
+	 * @param values the input values
+	 * @param from   first index to use
+	 * @param to     index after the last index to use
+	 * @return the largest value in the range
+	 */
+	public static long max(long[] values, int from, int to) {
+		MathPlus.checkNonEmptyRange(values.length, from, to);
+		return MathKernels.max(values, from, to);
+	}
+
+	/**
+	 * Returns the greatest of all {@code float} values.
+	 * 
+	 * @param values the input values
+	 * @return the largest value in the input
+	 */
+	public static float max(float[] values) {
+		return MathKernels.max(values, 0, values.length);
+	}
+
+	/**
+	 * Returns the greatest of all {@code float} values from the index <code>from</code>,
+	 * inclusive, to the index <code>to</code>, exclusive.
+	 * 
+	 * @param values the input values
+	 * @param from   first index to use
+	 * @param to     index after the last index to use
+	 * @return the largest value in the range
+	 */
+	public static float max(float[] values, int from, int to) {
+		MathPlus.checkNonEmptyRange(values.length, from, to);
+		return MathKernels.max(values, from, to);
+	}
+
+	/**
+	 * Returns the least of all {@code double} values from the index <code>from</code>,
+	 * inclusive, to the index <code>to</code>, exclusive.
+	 * 
+	 * @param values the input values
+	 * @param from   first index to use
+	 * @param to     index after the last index to use
+	 * @return the smallest value in the range
+	 */
+	public static double min(double[] values, int from, int to) {
+		MathPlus.checkNonEmptyRange(values.length, from, to);
+		return MathKernels.min(values, from, to);
+	}
+
+	/**
+	 * Returns the least of all {@code int} values.
+	 * 
+	 * @param values the input values
+	 * @return the smallest value in the input
+	 */
+	public static int min(int[] values) {
+		return MathKernels.min(values, 0, values.length);
+	}
+
+	/**
+	 * Returns the least of all {@code int} values from the index <code>from</code>,
+	 * inclusive, to the index <code>to</code>, exclusive.
+	 * 
+	 * @param values the input values
+	 * @param from   first index to use
+	 * @param to     index after the last index to use
+	 * @return the smallest value in the range
+	 */
+	public static int min(int[] values, int from, int to) {
+		MathPlus.checkNonEmptyRange(values.length, from, to);
+		return MathKernels.min(values, from, to);
+	}
+
+	/**
+	 * Returns the least of all {@code long} values.
+	 * 
+	 * @param values the input values
+	 * @return the smallest value in the input
+	 */
+	public static long min(long[] values) {
+		return MathKernels.min(values, 0, values.length);
+	}
+
+	/**
+	 * Returns the least of all {@code long} values from the index <code>from</code>,
+	 * inclusive, to the index <code>to</code>, exclusive.
+	 * 
+	 * @param values the input values
+	 * @param from   first index to use
+	 * @param to     index after the last index to use
+	 * @return the smallest value in the range
+	 */
+	public static long min(long[] values, int from, int to) {
+		MathPlus.checkNonEmptyRange(values.length, from, to);
+		return MathKernels.min(values, from, to);
+	}
+
+	/**
+	 * Returns the least of all {@code float} values.
+	 * 
+	 * @param values the input values
+	 * @return the smallest value in the input
+	 */
+	public static float min(float[] values) {
+		return MathKernels.min(values, 0, values.length);
+	}
+
+	/**
+	 * Returns the least of all {@code float} values from the index <code>from</code>,
+	 * inclusive, to the index <code>to</code>, exclusive.
+	 * 
+	 * @param values the input values
+	 * @param from   first index to use
+	 * @param to     index after the last index to use
+	 * @return the smallest value in the range
+	 */
+	public static float min(float[] values, int from, int to) {
+		MathPlus.checkNonEmptyRange(values.length, from, to);
+		return MathKernels.min(values, from, to);
+	}
+
+	/**
+	 * Returns the sum of all {@code double} values from the index <code>from</code>,
+	 * inclusive, to the index <code>to</code>, exclusive.
+	 * 
+	 * @param values the input values
+	 * @param from   first index to use
+	 * @param to     index after the last index to use
+	 * @return sum of the values
+	 */
+	public static double sum(double[] values, int from, int to) {
+		MathPlus.checkRange(values.length, from, to);
+		return MathKernels.sum(values, from, to);
+	}
+
+	/**
+	 * Returns the sum of all {@code int} values, added up in a {@code long} so
+	 * the sum cannot overflow.
+	 * 
+	 * @param values the input values
+	 * @return sum of the values
+	 */
+	public static long sum(int[] values) {
+		return MathKernels.sum(values, 0, values.length);
+	}
+
+	/**
+	 * Returns the sum of all {@code int} values from the index <code>from</code>,
+	 * inclusive, to the index <code>to</code>, exclusive, added up in a {@code long} so
+	 * the sum cannot overflow.
+	 * 
+	 * @param values the input values
+	 * @param from   first index to use
+	 * @param to     index after the last index to use
+	 * @return sum of the values
+	 */
+	public static long sum(int[] values, int from, int to) {
+		MathPlus.checkRange(values.length, from, to);
+		return MathKernels.sum(values, from, to);
+	}
+
+	/**
+	 * Returns the sum of all {@code long} values.
+	 * 
+	 * @param values the input values
+	 * @return sum of the values
+	 */
+	public static long sum(long[] values) {
+		return MathKernels.sum(values, 0, values.length);
+	}
+
+	/**
+	 * Returns the sum of all {@code long} values from the index <code>from</code>,
+	 * inclusive, to the index <code>to</code>, exclusive.
+	 * 
+	 * @param values the input values
+	 * @param from   first index to use
+	 * @param to     index after the last index to use
+	 * @return sum of the values
+	 */
+	public static long sum(long[] values, int from, int to) {
+		MathPlus.checkRange(values.length, from, to);
+		return MathKernels.sum(values, from, to);
+	}
+
+	/**
+	 * Returns the sum of all {@code float} values, added up in a {@code double}.
+	 * 
+	 * @param values the input values
+	 * @return sum of the values
+	 */
+	public static double sum(float[] values) {
+		return MathKernels.sum(values, 0, values.length);
+	}
+
+	/**
+	 * Returns the sum of all {@code float} values from the index <code>from</code>,
+	 * inclusive, to the index <code>to</code>, exclusive, added up in a {@code double}.
+	 * 
+	 * @param values the input values
+	 * @param from   first index to use
+	 * @param to     index after the last index to use
+	 * @return sum of the values
+	 */
+	public static double sum(float[] values, int from, int to) {
+		MathPlus.checkRange(values.length, from, to);
+		return MathKernels.sum(values, from, to);
+	}
+
+	/**
+	 * Returns the product of all {@code double} values from the index <code>from</code>,
+	 * inclusive, to the index <code>to</code>, exclusive.
+	 * 
+	 * @param values the input values
+	 * @param from   first index to use
+	 * @param to     index after the last index to use
+	 * @return product of the values
+	 */
+	public static double product(double[] values, int from, int to) {
+		MathPlus.checkRange(values.length, from, to);
+		return MathKernels.product(values, from, to);
+	}
+
+	/**
+	 * Returns the product of all {@code int} values, multiplied in a {@code double}.
+	 * 
+	 * @param values the input values
+	 * @return product of the values
+	 */
+	public static double product(int[] values) {
+		return MathKernels.product(values, 0, values.length);
+	}
+
+	/**
+	 * Returns the product of all {@code int} values from the index <code>from</code>,
+	 * inclusive, to the index <code>to</code>, exclusive, multiplied in a {@code double}.
+	 * 
+	 * @param values the input values
+	 * @param from   first index to use
+	 * @param to     index after the last index to use
+	 * @return product of the values
+	 */
+	public static double product(int[] values, int from, int to) {
+		MathPlus.checkRange(values.length, from, to);
+		return MathKernels.product(values, from, to);
+	}
+
+	/**
+	 * Returns the product of all {@code long} values, multiplied in a {@code double}.
+	 * 
+	 * @param values the input values
+	 * @return product of the values
+	 */
+	public static double product(long[] values) {
+		return MathKernels.product(values, 0, values.length);
+	}
+
+	/**
+	 * Returns the product of all {@code long} values from the index <code>from</code>,
+	 * inclusive, to the index <code>to</code>, exclusive, multiplied in a {@code double}.
+	 * 
+	 * @param values the input values
+	 * @param from   first index to use
+	 * @param to     index after the last index to use
+	 * @return product of the values
+	 */
+	public static double product(long[] values, int from, int to) {
+		MathPlus.checkRange(values.length, from, to);
+		return MathKernels.product(values, from, to);
+	}
+
+	/**
+	 * Returns the product of all {@code float} values, multiplied in a {@code double}.
+	 * 
+	 * @param values the input values
+	 * @return product of the values
+	 */
+	public static double product(float[] values) {
+		return MathKernels.product(values, 0, values.length);
 	}
 
 	/**
-	 * Returns the greatest of all {@code double} values. That is, the result is the
-	 * argument closer to the value of {@link Double#MAX_VALUE}. If all the
-	 * arguments have the same value, the result is that same value.
-	 *
-	 * @param value the input values
-	 * @return the largest value in the input
+	 * Returns the product of all {@code float} values from the index <code>from</code>,
+	 * inclusive, to the index <code>to</code>, exclusive, multiplied in a {@code double}.
+	 * 
+	 * @param values the input values
+	 * @param from   first index to use
+	 * @param to     index after the last index to use
+	 * @return product of the values
 	 */
-	public static double max(double... values) {
-		double maximum = values[0];
-		for (int i = 1; i < values.length; i++) {
-			if (values[i] > maximum)
-				maximum = values[i];
-		}
-		return maximum;
+	public static double product(float[] values, int from, int to) {
+		MathPlus.checkRange(values.length, from, to);
+		return MathKernels.product(values, from, to);
 	}
 
 	/**
-	 * Returns the least of all {@code double} values. That is, the result is the
-	 * argument closer to the value of {@link Double#MIN_VALUE}. If all the
-	 * arguments have the same value, the result is that same value.
-	 *
-	 * @param value the input values
-	 * @return the smallest value in the input
+	 * Checks that <code>[from, to)</code> is a range of an array of the length
+	 * <code>length</code>. Empty ranges are allowed, except by the functions with no
+	 * result for no values, which check with {@link #checkNonEmptyRange(int, int, int)}.
 	 */
-	public static double min(double... values) {
-		double minimum = values[0];
-		for (int i = 1; i < values.length; i++) {
-			if (values[i] < minimum)
-				minimum = values[i];
-		}
-		return minimum;
+	private static void checkRange(int length, int from, int to) {
+		if (from < 0 || to > length || from > to)
+			throw new ArrayIndexOutOfBoundsException("Range [" + from + ", " + to + ") is out of bounds!");
+	}
+
+	private static void checkNonEmptyRange(int length, int from, int to) {
+		MathPlus.checkRange(length, from, to);
+		if (from == to)
+			throw new ArrayIndexOutOfBoundsException("Range [" + from + ", " + to + ") is empty!");
 	}
 
 	/**
-	 * Returns the range of the set {@code values}.<br>
-	 * <br>
-	 * 
-	 * This method is equivalent to calling: <br>
-	 * <br>
+	 * Returns the natural logarithm of the product of all {@code double} values,
+	 * computed as the sum of their logarithms. Unlike {@link #product(double...)}, this
+	 * never overflows to infinity or underflows to zero, however many values there
+	 * are. The values should be positive; a zero gives negative infinity and a negative
+	 * value gives <code>NaN</code>.
 	 * 
-	 * &nbsp&nbsp&nbsp&nbsp<code>MathPlus.max(values) - MathPlus.min(values)</code>
-	 * 
-	 * @param values the input values
-	 * @return the range of the set of the argument
+	 * @param values values to be multiplied
+	 * @return natural logarithm of the product of all values
 	 */
-	public static double range(double... values) {
-		return MathPlus.max(values) - MathPlus.min(values);
+	public static double logProduct(double... values) {
+		return MathKernels.logSum(values, 0, values.length);
 	}
 
 	/**
-	 * Returns the sum of all {@code double} values.
+	 * Returns the sum of all {@code double} values, adding fixed-size chunks of the
+	 * array in parallel. Every chunk is summed with Neumaier's compensated summation and
+	 * the chunks are combined in order, so the result is the same however many threads
+	 * are used, and usually more accurate than {@link #sum(double...)}.
 	 * 
-	 * @param ds values to be summed
+	 * @param values values to be summed
 	 * @return sum of all values
 	 */
-	public static double sum(double... values) {
-		double sum = 0.0;
-		for (int i = 0; i < values.length; i++)
-			sum += values[i];
-		return sum;
+	public static double parallelSum(double[] values) {
+		return MathPlus.parallelCompensatedSum(values, false);
 	}
 
-	public static double harmonicSum(double... values) {
-		double harmSum = 0.0;
-		for (int i = 0; i < values.length; i++)
-			harmSum += 1.0 / values[i];
-		return harmSum;
+	/**
+	 * Returns the sum of the reciprocals of all {@code double} values, adding
+	 * fixed-size chunks of the array in parallel. The result is the same however many
+	 * threads are used.
+	 * 
+	 * @param values values whose reciprocals are summed
+	 * @return harmonic sum of all values
+	 */
+	public static double parallelHarmonicSum(double[] values) {
+		return MathPlus.parallelCompensatedSum(values, true);
 	}
 
 	/**
-	 * Returns the product of all {@code double} values.
+	 * Returns the product of all {@code double} values, multiplying fixed-size chunks
+	 * of the array in parallel. The chunks are combined in order, so the result is the
+	 * same however many threads are used.
 	 * 
 	 * @param values values to be multiplied
 	 * @return product of all values
 	 */
-	public static double product(double... values) {
+	public static double parallelProduct(double[] values) {
+		double[] partials = new double[ParallelChunks.chunkCount(values.length, ParallelChunks.DEFAULT_CHUNK_SIZE)];
+		ParallelChunks.forEach(values.length, ParallelChunks.DEFAULT_CHUNK_SIZE,
+				(chunk, from, to) -> partials[chunk] = MathKernels.product(values, from, to));
 		double prod = 1.0;
-		for (int i = 0; i < values.length; i++)
-			prod *= values[i];
-		return prod;
+		for (int i = 0; i < partials.length; i++)
+			prod *= partials[i];
+		// Chunks that overflow and underflow on their own can give NaN, so redo it in order
+		return Double.isFinite(prod) && prod != 0.0 ? prod : MathKernels.product(values, 0, values.length);
+	}
+
+	/**
+	 * Returns the natural logarithm of the product of all {@code double} values,
+	 * summing the logarithms of fixed-size chunks of the array in parallel. The chunks
+	 * are combined in order, so the result is the same however many threads are used.
+	 * 
+	 * @param values values to be multiplied
+	 * @return natural logarithm of the product of all values
+	 * @see #logProduct(double...)
+	 */
+	public static double parallelLogProduct(double[] values) {
+		double[] partials = new double[ParallelChunks.chunkCount(values.length, ParallelChunks.DEFAULT_CHUNK_SIZE)];
+		ParallelChunks.forEach(values.length, ParallelChunks.DEFAULT_CHUNK_SIZE,
+				(chunk, from, to) -> partials[chunk] = MathKernels.logSum(values, from, to));
+		return MathPlus.sum(partials);
+	}
+
+	/**
+	 * Returns the greatest of all {@code double} values, searching fixed-size chunks of
+	 * the array in parallel. Gives the same result as {@link #max(double...)}.
+	 * 
+	 * @param values the input values
+	 * @return the largest value in the input
+	 */
+	public static double parallelMax(double[] values) {
+		if (Double.isNaN(values[0]))
+			return values[0];
+		double[] partials = new double[ParallelChunks.chunkCount(values.length, ParallelChunks.DEFAULT_CHUNK_SIZE)];
+		ParallelChunks.forEach(values.length, ParallelChunks.DEFAULT_CHUNK_SIZE, (chunk, from, to) -> {
+			double maximum = Double.NEGATIVE_INFINITY;
+			for (int i = from; i < to; i++)
+				if (values[i] > maximum)
+					maximum = values[i];
+			partials[chunk] = maximum;
+		});
+		return MathPlus.max(partials);
+	}
+
+	/**
+	 * Returns the least of all {@code double} values, searching fixed-size chunks of
+	 * the array in parallel. Gives the same result as {@link #min(double...)}.
+	 * 
+	 * @param values the input values
+	 * @return the smallest value in the input
+	 */
+	public static double parallelMin(double[] values) {
+		if (Double.isNaN(values[0]))
+			return values[0];
+		double[] partials = new double[ParallelChunks.chunkCount(values.length, ParallelChunks.DEFAULT_CHUNK_SIZE)];
+		ParallelChunks.forEach(values.length, ParallelChunks.DEFAULT_CHUNK_SIZE, (chunk, from, to) -> {
+			double minimum = Double.POSITIVE_INFINITY;
+			for (int i = from; i < to; i++)
+				if (values[i] < minimum)
+					minimum = values[i];
+			partials[chunk] = minimum;
+		});
+		return MathPlus.min(partials);
+	}
+
+	/**
+	 * Sums fixed-size chunks of <code>values</code> (or of their reciprocals) in
+	 * parallel with Neumaier's compensated summation, then combines the chunk sums and
+	 * their compensations in chunk order.
+	 */
+	private static double parallelCompensatedSum(double[] values, boolean reciprocal) {
+		int chunks = ParallelChunks.chunkCount(values.length, ParallelChunks.DEFAULT_CHUNK_SIZE);
+		double[] sums = new double[chunks];
+		double[] compensations = new double[chunks];
+		ParallelChunks.forEach(values.length, ParallelChunks.DEFAULT_CHUNK_SIZE, (chunk, from, to) -> {
+			double sum = 0.0, compensation = 0.0;
+			for (int i = from; i < to; i++) {
+				double value = reciprocal ? 1.0 / values[i] : values[i];
+				double t = sum + value;
+				compensation += MathKernels.sumError(sum, value, t);
+				sum = t;
+			}
+			sums[chunk] = sum;
+			compensations[chunk] = compensation;
+		});
+		double sum = 0.0, compensation = 0.0;
+		for (int i = 0; i < chunks; i++) {
+			double t = sum + sums[i];
+			compensation += MathKernels.sumError(sum, sums[i], t) + compensations[i];
+			sum = t;
+		}
+		return sum + compensation;
 	}
 
 	/**
@@ -424,21 +1464,46 @@ public final class MathPlus {
 	public static double weightedArithmeticMean(double[] values, double[] weights) {
 		if (values.length != weights.length)
 			throw new IllegalArgumentException("The amount of values and weights are not equal!");
-		double sum = 0.0;
-		for (int i = 0; i < values.length; i++)
-			sum += values[i] * weights[i];
-		sum /= MathPlus.sum(weights);
-		return sum;
+		return MathKernels.weightedMean(values, weights, 0, values.length);
+	}
+
+	/**
+	 * Returns the arithmetic mean of all {@code double} values, summing them with
+	 * {@link #compensatedSum(double...)}.
+	 * 
+	 * @param ds values to be averaged
+	 * @return arithmetic mean of all values
+	 */
+	public static double compensatedArithmeticMean(double... ds) {
+		return MathPlus.compensatedSum(ds) / ds.length;
+	}
+
+	/**
+	 * Returns the weighted mean of all {@code double} values with their respective
+	 * {@code double} weights, accumulating the weighted values and the weights with
+	 * compensated summation in a single pass.
+	 * 
+	 * @param values  values to be averaged
+	 * @param weights weights to use
+	 * @return weighted mean of all values
+	 */
+	public static double compensatedWeightedArithmeticMean(double[] values, double[] weights) {
+		if (values.length != weights.length)
+			throw new IllegalArgumentException("The amount of values and weights are not equal!");
+		return MathKernels.compensatedWeightedMean(values, weights, 0, values.length);
 	}
 
 	/**
-	 * Returns the geometric mean of all {@code double} values.
+	 * Returns the geometric mean of all {@code double} values. The mean is found by
+	 * averaging the logarithms of the values, so it works for any amount of values
+	 * without the product overflowing or underflowing.
 	 * 
 	 * @param ds values to be averaged
 	 * @return geometric mean of all values
+	 * @see #logProduct(double...)
 	 */
 	public static double geometricMean(double... ds) {
-		return Math.pow(MathPlus.product(ds), 1 / ds.length);
+		return Math.exp(MathPlus.logProduct(ds) / ds.length);
 	}
 
 	/**
@@ -451,62 +1516,388 @@ public final class MathPlus {
 		return ds.length / MathPlus.harmonicSum(ds);
 	}
 
+	/**
+	 * Returns the arithmetic mean of all {@code double} values, summing the array in
+	 * parallel with {@link #parallelSum(double[])}.
+	 * 
+	 * @param ds values to be averaged
+	 * @return arithmetic mean of all values
+	 */
+	public static double parallelArithmeticMean(double[] ds) {
+		return MathPlus.parallelSum(ds) / ds.length;
+	}
+
+	/**
+	 * Returns the geometric mean of all {@code double} values, summing their
+	 * logarithms in parallel with {@link #parallelLogProduct(double[])}.
+	 * 
+	 * @param ds values to be averaged
+	 * @return geometric mean of all values
+	 */
+	public static double parallelGeometricMean(double[] ds) {
+		return Math.exp(MathPlus.parallelLogProduct(ds) / ds.length);
+	}
+
+	/**
+	 * Returns the harmonic mean of all {@code double} values, summing the reciprocals
+	 * in parallel with {@link #parallelHarmonicSum(double[])}.
+	 * 
+	 * @param ds values to be averaged
+	 * @return harmonic mean of all values
+	 */
+	public static double parallelHarmonicMean(double[] ds) {
+		return ds.length / MathPlus.parallelHarmonicSum(ds);
+	}
+
+	/**
+	 * Returns the population variance of all {@code double} values, the mean of the
+	 * squared deviations from the arithmetic mean.
+	 * 
+	 * @param ds values to find the variance of
+	 * @return population variance of all values
+	 */
+	public static double variance(double... ds) {
+		return ds.length == 0 ? Double.NaN : MathKernels.squaredDeviations(ds, 0, ds.length) / ds.length;
+	}
+
+	/**
+	 * Returns the population standard deviation of all {@code double} values.
+	 * 
+	 * @param ds values to find the standard deviation of
+	 * @return population standard deviation of all values
+	 */
+	public static double standardDeviation(double... ds) {
+		return Math.sqrt(MathPlus.variance(ds));
+	}
+
+	/**
+	 * Returns a {@link StatsAccumulator} holding the sum, minimum, maximum, range,
+	 * means and variance of all {@code double} values, computed in a single pass. More
+	 * values can be added to the returned accumulator afterwards.
+	 * 
+	 * @param ds values to collect statistics of
+	 * @return statistics of all values
+	 */
+	public static StatsAccumulator statistics(double... ds) {
+		return StatsAccumulator.of(ds);
+	}
+
 	/**
 	 * Returns the mathematical mode or most common value(s) of all {@code double}
 	 * values. Returns an empty array if there is no mode, and multiple numbers if
-	 * they are all equally common.
+	 * they are all equally common. Use a {@link FrequencyCounter} to find the mode
+	 * of values which arrive in chunks.
 	 * 
 	 * @param ds values to find the mode of
 	 * @return the mode(s) of all values
 	 */
 	public static double[] mode(double... ds) {
-		ArrayList<Double> commonValues = new ArrayList<Double>();
-		ArrayList<Integer> valueOccurence = new ArrayList<Integer>();
+		FrequencyCounter counter = new FrequencyCounter();
+		counter.addAll(ds);
+		return counter.modes();
+	}
+
+	/**
+	 * Returns the median of all {@code double} values, the value in the middle once
+	 * they are sorted, or the average of the two middle values if there is an even
+	 * amount. Finds it by selection instead of sorting, in linear time on average.
+	 * Does not modify the input array.
+	 * 
+	 * @param ds values to find the median of
+	 * @return median of all values
+	 */
+	public static double median(double... ds) {
+		return MathPlus.quantiles(ds, 0.5)[0];
+	}
+
+	/**
+	 * Returns the <code>p</code>th percentile of all {@code double} values, the value
+	 * below which <code>p</code> percent of the values fall. Between two values, the
+	 * result is linearly interpolated. Finds it by selection instead of sorting, in
+	 * linear time on average. Does not modify the input array.
+	 * 
+	 * @param ds values to find the percentile of
+	 * @param p  the percentile to find, between 0 and 100
+	 * @return <code>p</code>th percentile of all values
+	 */
+	public static double percentile(double[] ds, double p) {
+		if (!MathPlus.inRangeEqual(p, 0, 100))
+			throw new IllegalArgumentException("Percentile must be between 0 and 100!");
+		return MathPlus.quantiles(ds, p / 100)[0];
+	}
+
+	/**
+	 * Returns the quantile of all {@code double} values for every fraction in
+	 * <code>qs</code>, in the same order; the quantile for <code>q</code> is the value
+	 * below which a fraction <code>q</code> of the values fall. Between two values, the
+	 * result is linearly interpolated. Every quantile is found by selection on the part
+	 * of the array not yet narrowed down by the previous ones, which is much faster than
+	 * sorting. Does not modify the input array.
+	 * 
+	 * @param ds values to find the quantiles of
+	 * @param qs the quantiles to find, each between 0 and 1
+	 * @return quantiles of all values
+	 */
+	public static double[] quantiles(double[] ds, double... qs) {
+		if (ds.length == 0)
+			throw new IllegalArgumentException("Cannot find quantiles of no values!");
+		double[] work = new double[ds.length];
 		for (int i = 0; i < ds.length; i++) {
-			if (commonValues.contains(ds[i])) {
-				valueOccurence.set(commonValues.indexOf(ds[i]), valueOccurence.get(commonValues.indexOf(ds[i])) + 1);
-			} else {
-				commonValues.add(ds[i]);
-				valueOccurence.add(1);
-			}
+			if (Double.isNaN(ds[i]))
+				throw new IllegalArgumentException("Values cannot be NaN!");
+			work[i] = ds[i];
+		}
+		// Visit the quantiles from smallest to largest so each selection can start
+		// where the previous one stopped
+		Integer[] order = new Integer[qs.length];
+		for (int i = 0; i < qs.length; i++) {
+			if (!MathPlus.inRangeEqual(qs[i], 0, 1))
+				throw new IllegalArgumentException("Quantiles must be between 0 and 1!");
+			order[i] = i;
 		}
-		double[] occurences = new double[valueOccurence.size()];
-		for (int i = 0; i < occurences.length; i++) {
-			occurences[i] = valueOccurence.get(i);
+		Arrays.sort(order, (a, b) -> Double.compare(qs[a], qs[b]));
+		double[] result = new double[qs.length];
+		int from = 0;
+		for (int i : order) {
+			double position = (work.length - 1) * qs[i];
+			int rank = (int) position;
+			MathPlus.select(work, from, work.length, rank);
+			from = rank;
+			double lower = work[rank];
+			double fraction = position - rank;
+			if (fraction == 0)
+				result[i] = lower;
+			else {
+				double upper = MathKernels.min(work, rank + 1, work.length);
+				result[i] = lower + (upper - lower) * fraction;
+			}
 		}
-		int minNeeded = (int) MathPlus.max(occurences);
-		for (int i = 0; i < commonValues.size(); i++) {
-			if (valueOccurence.get(i) < minNeeded) {
-				valueOccurence.remove(i);
-				commonValues.remove(i);
-				i--;
+		return result;
+	}
+
+	/**
+	 * Rearranges <code>values[from, to)</code> so the value at <code>rank</code> is the
+	 * one that would be there if the range were sorted, with no larger value before it
+	 * and no smaller value after it. Uses quickselect with a median-of-three pivot, and
+	 * falls back to sorting the remaining range if it goes too deep, so the worst case
+	 * stays <code>O(n log n)</code>.
+	 */
+	private static void select(double[] values, int from, int to, int rank) {
+		int depth = 2 * (32 - Integer.numberOfLeadingZeros(to - from));
+		while (to - from > 16) {
+			if (depth-- == 0) {
+				Arrays.sort(values, from, to);
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			double pivot = MathPlus.medianOfThree(values[from], values[middle], values[to - 1]);
+			// Hoare partition of the range around the pivot
+			int i = from, j = to - 1;
+			while (i <= j) {
+				while (values[i] < pivot)
+					i++;
+				while (values[j] > pivot)
+					j--;
+				if (i <= j) {
+					double swap = values[i];
+					values[i++] = values[j];
+					values[j--] = swap;
+				}
 			}
+			if (rank <= j)
+				to = j + 1;
+			else if (rank >= i)
+				from = i;
+			else
+				return;
 		}
-		double[] mode = new double[commonValues.size()];
-		for (int i = 0; i < mode.length; i++) {
-			mode[i] = commonValues.get(i);
+		Arrays.sort(values, from, to);
+	}
+
+	private static double medianOfThree(double a, double b, double c) {
+		if (a < b)
+			return b < c ? b : (a < c ? c : a);
+		else
+			return a < c ? a : (b < c ? c : b);
+	}
+
+	/**
+	 * The largest <code>n</code> for which <code>n!</code> fits in a {@code double}.
+	 */
+	private static final int MAX_FACTORIAL = 170;
+
+	/**
+	 * <code>FACTORIALS[n]</code> is <code>n!</code>, for every <code>n</code> whose
+	 * factorial fits in a {@code double}.
+	 */
+	private static final double[] FACTORIALS = new double[MAX_FACTORIAL + 1];
+
+	/**
+	 * <code>LOG_FACTORIALS[n]</code> is <code>ln(n!)</code>, for the same
+	 * <code>n</code> as {@link #FACTORIALS}.
+	 */
+	private static final double[] LOG_FACTORIALS = new double[MAX_FACTORIAL + 1];
+
+	/**
+	 * Coefficients of the Lanczos approximation of the gamma function, with
+	 * <code>g = 7</code>.
+	 */
+	private static final double[] LANCZOS = { 0.99999999999980993, 676.5203681218851, -1259.1392167224028,
+			771.32342877765313, -176.61502916214059, 12.507343278686905, -0.13857109526572012, 9.9843695780195716e-6,
+			1.5056327351493116e-7 };
+
+	private static final double HALF_LOG_TAU = 0.5 * Math.log(TAU);
+
+	static {
+		FACTORIALS[0] = 1.0;
+		for (int i = 1; i <= MAX_FACTORIAL; i++) {
+			FACTORIALS[i] = FACTORIALS[i - 1] * i;
+			LOG_FACTORIALS[i] = Math.log(FACTORIALS[i]);
 		}
-		return mode;
 	}
 
 	/**
 	 * Returns the value of the factorial of n, or n!, <br>
-	 * where n! = n * (n-1) * (n-2) * ... * 2 * 1
+	 * where n! = n * (n-1) * (n-2) * ... * 2 * 1<br>
+	 * <br>
+	 * 
+	 * Every factorial that fits in a {@code double} is looked up from a table, so this
+	 * takes constant time. Larger values give positive infinity; use
+	 * {@link #logFactorial(double)} to work with them.
 	 * 
 	 * @param n value to find the factorial of
 	 * @return factorial of n, or n!
 	 */
 	public static double factorial(double n) {
+		MathPlus.checkFactorial(n);
+		if (n <= MAX_FACTORIAL)
+			return FACTORIALS[(int) n];
+		else if (n - 1 == n) // Occurse at n ~ 1E16
+			return Double.MAX_VALUE;
+		else
+			return Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Returns the natural logarithm of the factorial of n, or ln(n!). Unlike
+	 * {@link #factorial(double)}, this gives a finite answer for every finite
+	 * <code>n</code>.
+	 * 
+	 * @param n value to find the factorial of
+	 * @return natural logarithm of n!
+	 */
+	public static double logFactorial(double n) {
+		MathPlus.checkFactorial(n);
+		if (n <= MAX_FACTORIAL)
+			return LOG_FACTORIALS[(int) n];
+		return MathPlus.logGamma(n + 1);
+	}
+
+	/**
+	 * Returns the natural logarithm of the absolute value of the gamma function at
+	 * <code>x</code>. For positive integers, <code>Γ(n) = (n-1)!</code>. Uses the
+	 * Lanczos approximation, and the reflection formula for <code>x</code> below 0.5.
+	 * <br>
+	 * <br>
+	 * 
+	 * Special cases:
+	 * <ul>
+	 * <li>If the argument is NaN, then the result is NaN.
+	 * <li>If the argument is zero or a negative integer, then the result is positive
+	 * infinity.
+	 * </ul>
+	 * 
+	 * @param x value to evaluate the gamma function at
+	 * @return natural logarithm of <code>|Γ(x)|</code>
+	 */
+	public static double logGamma(double x) {
+		if (Double.isNaN(x))
+			return x;
+		if (x <= 0 && x % 1 == 0)
+			return Double.POSITIVE_INFINITY;
+		if (x < 0.5)
+			return Math.log(Math.PI / Math.abs(Math.sin(Math.PI * x))) - MathPlus.logGamma(1 - x);
+		x -= 1;
+		double a = LANCZOS[0];
+		double t = x + 7.5;
+		for (int i = 1; i < LANCZOS.length; i++)
+			a += LANCZOS[i] / (x + i);
+		return HALF_LOG_TAU + (x + 0.5) * Math.log(t) - t + Math.log(a);
+	}
+
+	/**
+	 * Returns the binomial coefficient "<code>n</code> choose <code>k</code>", the
+	 * amount of ways to pick <code>k</code> items out of <code>n</code>. Returns 0 if
+	 * <code>k</code> is negative or greater than <code>n</code>. Takes constant time.
+	 * While the coefficient fits in a <code>long</code> it is computed exactly and
+	 * rounded once to the nearest <code>double</code>, so it is exact below
+	 * 2<sup>53</sup>; larger coefficients are accurate to about 12 significant digits.
+	 * 
+	 * @param n amount of items to pick from
+	 * @param k amount of items to pick
+	 * @return <code>n</code> choose <code>k</code>
+	 */
+	public static double binomial(int n, int k) {
+		if (n < 0)
+			throw new IllegalArgumentException("Value cannot be negative!");
+		if (k < 0 || k > n)
+			return 0.0;
+		long exact = MathPlus.exactBinomial(n, Math.min(k, n - k));
+		if (exact >= 0)
+			return exact;
+		if (n <= MAX_FACTORIAL)
+			return FACTORIALS[n] / (FACTORIALS[k] * FACTORIALS[n - k]);
+		return Math.exp(MathPlus.logBinomial(n, k));
+	}
+
+	/**
+	 * Returns <code>n</code> choose <code>k</code> as a <code>long</code>, or -1 if
+	 * it does not fit. Step <code>i</code> holds <code>(n - k + i)</code> choose
+	 * <code>i</code>, so every division is exact. Since <code>k</code> is at most
+	 * <code>n / 2</code>, each step at least doubles the result and the loop overflows
+	 * within 63 steps.
+	 */
+	private static long exactBinomial(int n, int k) {
+		long result = 1;
+		for (int i = 1; i <= k; i++) {
+			// Dividing out the common factor first keeps the product from overflowing early
+			long a = result, b = i;
+			while (b != 0) {
+				long r = a % b;
+				a = b;
+				b = r;
+			}
+			long factor = (n - k + i) / (i / a);
+			result /= a;
+			if (result > Long.MAX_VALUE / factor)
+				return -1;
+			result *= factor;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the natural logarithm of the binomial coefficient "<code>n</code>
+	 * choose <code>k</code>". Returns negative infinity if <code>k</code> is negative
+	 * or greater than <code>n</code>. Takes constant time.
+	 * 
+	 * @param n amount of items to pick from
+	 * @param k amount of items to pick
+	 * @return natural logarithm of <code>n</code> choose <code>k</code>
+	 */
+	public static double logBinomial(int n, int k) {
+		if (n < 0)
+			throw new IllegalArgumentException("Value cannot be negative!");
+		if (k < 0 || k > n)
+			return Double.NEGATIVE_INFINITY;
+		return MathPlus.logFactorial(n) - MathPlus.logFactorial(k) - MathPlus.logFactorial(n - k);
+	}
+
+	private static void checkFactorial(double n) {
 		if (n < 0)
 			throw new IllegalArgumentException("Value cannot be negative!");
 		else if (n % 1 != 0)
 			throw new IllegalArgumentException("Value must be an integer!");
-		else if (n == 0 || n == 1)
-			return 1.0;
-		else if (n - 1 == n) // Occurse at n ~ 1E16
-			return Double.MAX_VALUE;
-		else
-			return n * factorial(n - 1);
 	}
 
 	/**
@@ -602,18 +1993,132 @@ public final class MathPlus {
 		return angleBetween(p1.getX(), p1.getY(), p2.getX(), p2.getY());
 	}
 
+	/**
+	 * Reflects every point <code>(xs[i], ys[i])</code> across a line designated where
+	 * p1 = (x0, y0) and p2 = (x1, y1), storing the result in
+	 * <code>(outXs[i], outYs[i])</code>. The output arrays may be the input arrays.
+	 * To reflect across the same line many times, create a {@link Reflection} once
+	 * instead.
+	 * 
+	 * @param xs    x coordinates of the points to be reflected
+	 * @param ys    y coordinates of the points to be reflected
+	 * @param x0    x coordinate of first point
+	 * @param y0    y coordinate of first point
+	 * @param x1    x coordinate of second point
+	 * @param y1    y coordinate of second point
+	 * @param outXs array to store the reflected x coordinates in
+	 * @param outYs array to store the reflected y coordinates in
+	 */
+	public static void mirror(double[] xs, double[] ys, double x0, double y0, double x1, double y1, double[] outXs,
+			double[] outYs) {
+		new Reflection(x0, y0, x1, y1).apply(xs, ys, outXs, outYs);
+	}
+
+	/**
+	 * Reflects every point <code>(xs[i], ys[i])</code> across a line designated where
+	 * p1 = (x0, y0) and p2 = (x1, y1), storing the result in
+	 * <code>(outXs[i], outYs[i])</code>, splitting large arrays into chunks which are
+	 * reflected in parallel.
+	 * 
+	 * @param xs    x coordinates of the points to be reflected
+	 * @param ys    y coordinates of the points to be reflected
+	 * @param x0    x coordinate of first point
+	 * @param y0    y coordinate of first point
+	 * @param x1    x coordinate of second point
+	 * @param y1    y coordinate of second point
+	 * @param outXs array to store the reflected x coordinates in
+	 * @param outYs array to store the reflected y coordinates in
+	 */
+	public static void parallelMirror(double[] xs, double[] ys, double x0, double y0, double x1, double y1,
+			double[] outXs, double[] outYs) {
+		new Reflection(x0, y0, x1, y1).parallelApply(xs, ys, outXs, outYs);
+	}
+
+	/**
+	 * Stores the angle "between" every pair of points <code>(x1s[i], y1s[i])</code>
+	 * and <code>(x2s[i], y2s[i])</code> in <code>out[i]</code>, in radians. Equivalent
+	 * to calling {@link #angleBetween(double, double, double, double)} for every index.
+	 * 
+	 * @param x1s x coordinates of the first points
+	 * @param y1s y coordinates of the first points
+	 * @param x2s x coordinates of the second points
+	 * @param y2s y coordinates of the second points
+	 * @param out array to store the angles in
+	 * @return <code>out</code>
+	 */
+	public static double[] angleBetween(double[] x1s, double[] y1s, double[] x2s, double[] y2s, double[] out) {
+		MathPlus.checkAngleLengths(x1s, y1s, x2s, y2s, out);
+		MathPlus.angleBetween(x1s, y1s, x2s, y2s, out, 0, out.length);
+		return out;
+	}
+
+	/**
+	 * Stores the angle "between" every pair of points <code>(x1s[i], y1s[i])</code>
+	 * and <code>(x2s[i], y2s[i])</code> in <code>out[i]</code>, in radians, splitting
+	 * large arrays into chunks which are computed in parallel.
+	 * 
+	 * @param x1s x coordinates of the first points
+	 * @param y1s y coordinates of the first points
+	 * @param x2s x coordinates of the second points
+	 * @param y2s y coordinates of the second points
+	 * @param out array to store the angles in
+	 * @return <code>out</code>
+	 */
+	public static double[] parallelAngleBetween(double[] x1s, double[] y1s, double[] x2s, double[] y2s,
+			double[] out) {
+		MathPlus.checkAngleLengths(x1s, y1s, x2s, y2s, out);
+		ParallelChunks.forEach(out.length, ParallelChunks.DEFAULT_CHUNK_SIZE,
+				(chunk, from, to) -> MathPlus.angleBetween(x1s, y1s, x2s, y2s, out, from, to));
+		return out;
+	}
+
+	/**
+	 * Stores the angle "between" the point <code>(x1, y1)</code> and every point
+	 * <code>(x2s[i], y2s[i])</code> in <code>out[i]</code>, in radians.
+	 * 
+	 * @param x1  x coordinate of the first point
+	 * @param y1  y coordinate of the first point
+	 * @param x2s x coordinates of the second points
+	 * @param y2s y coordinates of the second points
+	 * @param out array to store the angles in
+	 * @return <code>out</code>
+	 */
+	public static double[] angleBetween(double x1, double y1, double[] x2s, double[] y2s, double[] out) {
+		if (x2s.length != y2s.length || x2s.length != out.length)
+			throw new IllegalArgumentException("The amount of x and y coordinates are not equal!");
+		for (int i = 0; i < out.length; i++)
+			out[i] = Math.atan2(y2s[i] - y1, x2s[i] - x1);
+		return out;
+	}
+
+	private static void angleBetween(double[] x1s, double[] y1s, double[] x2s, double[] y2s, double[] out, int from,
+			int to) {
+		for (int i = from; i < to; i++)
+			out[i] = Math.atan2(y2s[i] - y1s[i], x2s[i] - x1s[i]);
+	}
+
+	private static void checkAngleLengths(double[] x1s, double[] y1s, double[] x2s, double[] y2s, double[] out) {
+		int n = out.length;
+		if (x1s.length != n || y1s.length != n || x2s.length != n || y2s.length != n)
+			throw new IllegalArgumentException("The amount of x and y coordinates are not equal!");
+	}
+
 	/**
 	 * An immutable representation of complex numbers in the form <code>a+bi</code>,
 	 * where <code>a</code> and <code>b</code> are real numbers<br>
 	 * <br>
 	 * 
 	 * Supports the four basic algebraic operators (+, -, *, /), power,
-	 * exponentiation, logarithm, conjugation, and magnitude/theta calculation
+	 * exponentiation, logarithm, conjugation, and magnitude/theta calculation<br>
+	 * <br>
+	 * 
+	 * Every operation creates a new number. To work on many numbers at once without
+	 * creating any, use a {@link ComplexBuffer}.
 	 * 
 	 * @author jonatanfontanez
 	 *
 	 */
-	static final class ComplexNumber {
+	public static final class ComplexNumber {
 		private final double realNumber;
 		private final double imaginaryNumber;
 
@@ -681,11 +2186,11 @@ public final class MathPlus {
 		 * @return the division of this by {@code c2}
 		 */
 		public ComplexNumber divide(final ComplexNumber c2) {
-			ComplexNumber c1 = this.clone(), c3 = c2.clone();
-			c1 = c1.multiply(c2.conjugate());
-			c3 = c2.multiply(c2.conjugate());
-			return new ComplexNumber(c1.getRealComponent() / c3.getRealComponent(),
-					c1.getImaginaryComponent() / c3.getRealComponent());
+			// this * conjugate(c2) / |c2|^2, without building the intermediate numbers
+			double a = this.getRealComponent(), b = this.getImaginaryComponent();
+			double c = c2.getRealComponent(), d = c2.getImaginaryComponent();
+			double denominator = c * c + d * d;
+			return new ComplexNumber((a * c + b * d) / denominator, (b * c - a * d) / denominator);
 		}
 
 		/**
@@ -809,6 +2314,17 @@ public final class MathPlus {
 			return false;
 		}
 
+		/**
+		 * Returns a hash code for the complex number, equal for equal numbers
+		 * 
+		 * @return hash code of the complex number
+		 */
+		@Override
+		public int hashCode() {
+			// +0.0 folds -0.0 into 0.0, which equals() also treats as the same
+			return 31 * Double.hashCode(realNumber + 0.0) + Double.hashCode(imaginaryNumber + 0.0);
+		}
+
 	}
 
 }
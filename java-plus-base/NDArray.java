@@ -0,0 +1,767 @@
+//package setup.javaPlus;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+/**
+ * The <code>NDArray</code> class is an N-dimensional array of {@code double} values
+ * kept in one flat, contiguous array, instead of the jagged arrays of arrays such as
+ * {@code double[][][]} that {@link ArraysPlus} works with. Every row of a jagged
+ * array is a separate object somewhere on the heap, so walking one jumps around
+ * memory; an <code>NDArray</code> walks its values in order, which keeps the
+ * processor's caches full and lets reductions run the tight loops of
+ * {@link MathPlus}.<br>
+ * <br>
+ *
+ * The values are laid out in row-major order and found through a shape, the length
+ * of every axis, and strides, how far apart neighbouring values along every axis
+ * are. {@link #slice(int, int, int)}, {@link #select(int, int)},
+ * {@link #transpose()} and {@link #reshape(int...)} only change the shape and
+ * strides, so they return views which share the values with the original array
+ * without copying them; changing a value through a view changes it in the original
+ * as well. {@link #copy()} gives an array of its own.<br>
+ * <br>
+ *
+ * Jagged arrays of any amount of dimensions can be converted with
+ * {@link #fromArray(Object)} and back with {@link #toArray()}. An array of rank 0
+ * holds a single value and has an empty shape. An array is not safe to change from
+ * several threads at once.
+ *
+ * @author jonatanfontanez
+ * @see ArraysPlus
+ *
+ */
+public final class NDArray {
+	private static final int SUM = 0;
+	private static final int PRODUCT = 1;
+	private static final int MIN = 2;
+	private static final int MAX = 3;
+
+	private final double[] data;
+	private final int[] shape;
+	private final int[] strides;
+	private final int offset;
+	private final int size;
+
+	private NDArray(double[] data, int[] shape, int[] strides, int offset) {
+		this.data = data;
+		this.shape = shape;
+		this.strides = strides;
+		this.offset = offset;
+		this.size = NDArray.sizeOf(shape);
+	}
+
+	private NDArray(double[] data, int[] shape) {
+		this(data, shape, NDArray.rowMajorStrides(shape), 0);
+	}
+
+	/**
+	 * Creates an array of the shape <code>shape</code> filled with zeros.
+	 *
+	 * @param shape the length of every axis
+	 * @return array of zeros
+	 */
+	public static NDArray zeros(int... shape) {
+		int[] copy = NDArray.checkShape(shape);
+		return new NDArray(new double[NDArray.sizeOf(copy)], copy);
+	}
+
+	/**
+	 * Creates an array of the shape <code>shape</code> holding a copy of the values in
+	 * <code>values</code>, in row-major order.
+	 *
+	 * @param values the values, as long as the shape holds
+	 * @param shape  the length of every axis
+	 * @return array of the values
+	 */
+	public static NDArray of(double[] values, int... shape) {
+		return NDArray.wrap(values.clone(), shape);
+	}
+
+	/**
+	 * Creates an array of the shape <code>shape</code> over the values in
+	 * <code>values</code>, in row-major order, without copying them. Changes to the
+	 * values show up in the array, and the other way around.
+	 *
+	 * @param values the values, as long as the shape holds
+	 * @param shape  the length of every axis
+	 * @return array over the values
+	 */
+	public static NDArray wrap(double[] values, int... shape) {
+		int[] copy = NDArray.checkShape(shape);
+		if (NDArray.sizeOf(copy) != values.length)
+			throw new IllegalArgumentException("Shape " + Arrays.toString(shape) + " does not hold "
+					+ values.length + " values!");
+		return new NDArray(values, copy);
+	}
+
+	/**
+	 * Converts the jagged array <code>arr</code> into an <code>NDArray</code> of the same
+	 * shape. The innermost arrays can be of any numeric primitive type or arrays of
+	 * {@link Number}. Every row along an axis must be as long as the others, and empty
+	 * rows are allowed as long as all of them are empty.
+	 *
+	 * @param arr the jagged array to convert, such as a {@code double[][]}
+	 * @return array of the same values
+	 */
+	public static NDArray fromArray(Object arr) {
+		if (arr == null || !arr.getClass().isArray())
+			throw new IllegalArgumentException("Not an array!");
+		int[] shape = NDArray.shapeOf(arr);
+		double[] data = new double[NDArray.sizeOf(shape)];
+		NDArray.copyIn(arr, shape, 0, data, 0);
+		return new NDArray(data, shape);
+	}
+
+	/**
+	 * Returns the amount of axes.
+	 *
+	 * @return the rank of the array
+	 */
+	public int rank() {
+		return shape.length;
+	}
+
+	/**
+	 * Returns the length of every axis.
+	 *
+	 * @return copy of the shape
+	 */
+	public int[] shape() {
+		return shape.clone();
+	}
+
+	/**
+	 * Returns the length of the axis <code>axis</code>.
+	 *
+	 * @param axis the axis to measure
+	 * @return length of the axis
+	 */
+	public int shape(int axis) {
+		checkAxis(axis);
+		return shape[axis];
+	}
+
+	/**
+	 * Returns the amount of values, the product of the length of every axis.
+	 *
+	 * @return amount of values
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns if the values of this array lie next to each other in row-major order,
+	 * as they do in a newly created array. Slices with a step and transposed views
+	 * are usually not contiguous.
+	 *
+	 * @return if the values are contiguous
+	 */
+	public boolean isContiguous() {
+		int expected = 1;
+		for (int d = shape.length - 1; d >= 0; d--) {
+			if (shape[d] == 0)
+				return true;
+			if (shape[d] != 1 && strides[d] != expected)
+				return false;
+			expected *= shape[d];
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the value at the position <code>indices</code>, one index per axis.
+	 *
+	 * @param indices the index along every axis
+	 * @return the value at the position
+	 */
+	public double get(int... indices) {
+		return data[position(indices)];
+	}
+
+	/**
+	 * Sets the value at the position <code>indices</code>, one index per axis, to
+	 * <code>value</code>.
+	 *
+	 * @param value   the value to store
+	 * @param indices the index along every axis
+	 */
+	public void set(double value, int... indices) {
+		data[position(indices)] = value;
+	}
+
+	/**
+	 * Sets every value of this array to <code>value</code>.
+	 *
+	 * @param value the value to store
+	 */
+	public void fill(double value) {
+		if (size == 0)
+			return;
+		if (isContiguous()) {
+			Arrays.fill(data, offset, offset + size, value);
+			return;
+		}
+		int last = shape.length - 1;
+		int[] counter = new int[last];
+		for (int r = size / shape[last], start = offset; r > 0; r--, start = nextRun(counter, start))
+			for (int i = 0, p = start; i < shape[last]; i++, p += strides[last])
+				data[p] = value;
+	}
+
+	/**
+	 * Returns a view of the indices from <code>from</code>, inclusive, to
+	 * <code>to</code>, exclusive, along the axis <code>axis</code>. The view shares its
+	 * values with this array.
+	 *
+	 * @param axis the axis to slice
+	 * @param from first index to keep
+	 * @param to   index after the last index to keep
+	 * @return view of the slice
+	 */
+	public NDArray slice(int axis, int from, int to) {
+		return slice(axis, from, to, 1);
+	}
+
+	/**
+	 * Returns a view of every <code>step</code>th index from <code>from</code>,
+	 * inclusive, to <code>to</code>, exclusive, along the axis <code>axis</code>. The
+	 * view shares its values with this array.
+	 *
+	 * @param axis the axis to slice
+	 * @param from first index to keep
+	 * @param to   index after the last index to keep
+	 * @param step distance between kept indices, at least 1
+	 * @return view of the slice
+	 */
+	public NDArray slice(int axis, int from, int to, int step) {
+		checkAxis(axis);
+		if (from < 0 || to > shape[axis] || from > to)
+			throw new ArrayIndexOutOfBoundsException("Range [" + from + ", " + to + ") is out of bounds!");
+		if (step < 1)
+			throw new IllegalArgumentException("Step must be at least 1!");
+		int[] newShape = shape.clone();
+		int[] newStrides = strides.clone();
+		newShape[axis] = (to - from + step - 1) / step;
+		newStrides[axis] *= step;
+		return new NDArray(data, newShape, newStrides, offset + from * strides[axis]);
+	}
+
+	/**
+	 * Returns a view of the index <code>index</code> along the axis <code>axis</code>,
+	 * with that axis removed; selecting along axis 0 of a matrix gives one of its rows.
+	 * The view shares its values with this array.
+	 *
+	 * @param axis  the axis to select along
+	 * @param index the index to select
+	 * @return view of one less rank
+	 */
+	public NDArray select(int axis, int index) {
+		checkAxis(axis);
+		checkIndex(axis, index);
+		return new NDArray(data, NDArray.without(shape, axis), NDArray.without(strides, axis),
+				offset + index * strides[axis]);
+	}
+
+	/**
+	 * Returns a view with the order of the axes reversed; the transpose of a matrix.
+	 * The view shares its values with this array.
+	 *
+	 * @return transposed view
+	 */
+	public NDArray transpose() {
+		int[] axes = new int[shape.length];
+		for (int d = 0; d < axes.length; d++)
+			axes[d] = axes.length - 1 - d;
+		return transpose(axes);
+	}
+
+	/**
+	 * Returns a view with the axes in the order <code>axes</code>, so axis
+	 * <code>d</code> of the view is the axis <code>axes[d]</code> of this array. The
+	 * view shares its values with this array.
+	 *
+	 * @param axes every axis of this array once, in the new order
+	 * @return view with the axes reordered
+	 */
+	public NDArray transpose(int... axes) {
+		if (axes.length != shape.length)
+			throw new IllegalArgumentException("Expected " + shape.length + " axes but got " + axes.length + "!");
+		int[] newShape = new int[axes.length];
+		int[] newStrides = new int[axes.length];
+		boolean[] seen = new boolean[axes.length];
+		for (int d = 0; d < axes.length; d++) {
+			checkAxis(axes[d]);
+			if (seen[axes[d]])
+				throw new IllegalArgumentException("Axis " + axes[d] + " appears more than once!");
+			seen[axes[d]] = true;
+			newShape[d] = shape[axes[d]];
+			newStrides[d] = strides[axes[d]];
+		}
+		return new NDArray(data, newShape, newStrides, offset);
+	}
+
+	/**
+	 * Returns an array of the shape <code>shape</code> holding the same values in
+	 * row-major order. At most one length may be -1, in which case it is worked out
+	 * from the others. When this array is contiguous the result is a view sharing its
+	 * values; otherwise the values are copied first.
+	 *
+	 * @param shape the new length of every axis
+	 * @return reshaped array
+	 */
+	public NDArray reshape(int... shape) {
+		int[] newShape = shape.clone();
+		int unknown = -1, known = 1;
+		for (int d = 0; d < newShape.length; d++) {
+			if (newShape[d] == -1) {
+				if (unknown >= 0)
+					throw new IllegalArgumentException("Only one length can be -1!");
+				unknown = d;
+			} else {
+				if (newShape[d] < 0)
+					throw new IllegalArgumentException("Lengths cannot be negative!");
+				known *= newShape[d];
+			}
+		}
+		if (unknown >= 0 && known != 0 && size % known == 0)
+			newShape[unknown] = size / known;
+		if (unknown >= 0 && newShape[unknown] == -1 || NDArray.sizeOf(newShape) != size)
+			throw new IllegalArgumentException("Cannot reshape " + Arrays.toString(this.shape) + " into "
+					+ Arrays.toString(shape) + "!");
+		if (!isContiguous())
+			return copy().reshape(newShape);
+		return new NDArray(data, newShape, NDArray.rowMajorStrides(newShape), offset);
+	}
+
+	/**
+	 * Returns a contiguous copy of this array, which shares no values with it.
+	 *
+	 * @return copy of the array
+	 */
+	public NDArray copy() {
+		return new NDArray(toFlatArray(), shape.clone());
+	}
+
+	/**
+	 * Returns a copy of every value in row-major order.
+	 *
+	 * @return the values of the array
+	 */
+	public double[] toFlatArray() {
+		double[] values = new double[size];
+		if (size == 0)
+			return values;
+		if (isContiguous()) {
+			System.arraycopy(data, offset, values, 0, size);
+			return values;
+		}
+		int last = shape.length - 1;
+		int[] counter = new int[last];
+		int j = 0;
+		for (int r = size / shape[last], start = offset; r > 0; r--, start = nextRun(counter, start))
+			for (int i = 0, p = start; i < shape[last]; i++, p += strides[last])
+				values[j++] = data[p];
+		return values;
+	}
+
+	/**
+	 * Converts this array into a jagged array of the same shape, such as a
+	 * {@code double[][]} for a matrix, which {@link ArraysPlus} can work with. An array
+	 * of rank 0 is converted into its single value as a {@link Double}.
+	 *
+	 * @return jagged copy of the array
+	 */
+	public Object toArray() {
+		if (shape.length == 0)
+			return data[offset];
+		Object arr = Array.newInstance(double.class, shape);
+		copyOut(arr, 0, offset);
+		return arr;
+	}
+
+	/**
+	 * Returns the sum of every value.
+	 *
+	 * @return sum of the array
+	 */
+	public double sum() {
+		return reduce(SUM);
+	}
+
+	/**
+	 * Returns the product of every value.
+	 *
+	 * @return product of the array
+	 */
+	public double product() {
+		return reduce(PRODUCT);
+	}
+
+	/**
+	 * Returns the arithmetic mean of every value.
+	 *
+	 * @return arithmetic mean of the array
+	 */
+	public double mean() {
+		return size == 0 ? Double.NaN : reduce(SUM) / size;
+	}
+
+	/**
+	 * Returns the smallest value, following the same rules as
+	 * {@link MathPlus#min(double...)}. The array cannot be empty.
+	 *
+	 * @return the smallest value
+	 */
+	public double min() {
+		return reduce(MIN);
+	}
+
+	/**
+	 * Returns the largest value, following the same rules as
+	 * {@link MathPlus#max(double...)}. The array cannot be empty.
+	 *
+	 * @return the largest value
+	 */
+	public double max() {
+		return reduce(MAX);
+	}
+
+	/**
+	 * Returns the sum along the axis <code>axis</code>, an array with that axis
+	 * removed; summing a matrix along axis 0 gives the sum of every column.
+	 *
+	 * @param axis the axis to sum along
+	 * @return sums along the axis
+	 */
+	public NDArray sum(int axis) {
+		return reduce(SUM, axis);
+	}
+
+	/**
+	 * Returns the product along the axis <code>axis</code>, an array with that axis
+	 * removed.
+	 *
+	 * @param axis the axis to multiply along
+	 * @return products along the axis
+	 */
+	public NDArray product(int axis) {
+		return reduce(PRODUCT, axis);
+	}
+
+	/**
+	 * Returns the arithmetic mean along the axis <code>axis</code>, an array with that
+	 * axis removed.
+	 *
+	 * @param axis the axis to average along
+	 * @return means along the axis
+	 */
+	public NDArray mean(int axis) {
+		NDArray sums = reduce(SUM, axis);
+		double length = shape[axis];
+		for (int i = 0; i < sums.size; i++)
+			sums.data[i] /= length;
+		return sums;
+	}
+
+	/**
+	 * Returns the smallest value along the axis <code>axis</code>, an array with that
+	 * axis removed. The axis cannot be empty.
+	 *
+	 * @param axis the axis to search along
+	 * @return minimums along the axis
+	 */
+	public NDArray min(int axis) {
+		return reduce(MIN, axis);
+	}
+
+	/**
+	 * Returns the largest value along the axis <code>axis</code>, an array with that
+	 * axis removed. The axis cannot be empty.
+	 *
+	 * @param axis the axis to search along
+	 * @return maximums along the axis
+	 */
+	public NDArray max(int axis) {
+		return reduce(MAX, axis);
+	}
+
+	/**
+	 * Reduces every value into one. The values are walked as runs along the last axis,
+	 * each of which is handed to the kernels of {@link MathKernels} when its values are
+	 * next to each other; a contiguous array is a single run. A minimum or maximum
+	 * instead carries one running value through every run: the kernel of a run which
+	 * starts with <code>NaN</code> gives <code>NaN</code>, which would either hide the
+	 * rest of that run or be thrown away, while {@link MathPlus#min(double...)} only
+	 * gives <code>NaN</code> when it is the very first value.
+	 */
+	private double reduce(int op) {
+		if (size == 0) {
+			if (op == MIN || op == MAX)
+				throw new ArrayIndexOutOfBoundsException("Array is empty!");
+			return op == SUM ? 0.0 : 1.0;
+		}
+		if (isContiguous())
+			return reduceRun(op, offset, 1, size);
+		int last = shape.length - 1;
+		int[] counter = new int[last];
+		int start = offset;
+		if (op == MIN || op == MAX) {
+			double result = data[start];
+			for (int r = size / shape[last]; r > 0; r--, start = nextRun(counter, start))
+				for (int i = 0, p = start; i < shape[last]; i++, p += strides[last])
+					result = NDArray.combine(op, result, data[p]);
+			return result;
+		}
+		double result = reduceRun(op, start, strides[last], shape[last]);
+		for (int r = size / shape[last] - 1; r > 0; r--) {
+			start = nextRun(counter, start);
+			result = NDArray.combine(op, result, reduceRun(op, start, strides[last], shape[last]));
+		}
+		return result;
+	}
+
+	/**
+	 * Reduces along one axis. Along the last axis every result is one run. Along any
+	 * other axis the rows of the axis are walked one after the other, each combined
+	 * into the results in row-major order, so the values are still read in the order
+	 * they are stored instead of striding across whole rows for every result.
+	 */
+	private NDArray reduce(int op, int axis) {
+		checkAxis(axis);
+		int[] newShape = NDArray.without(shape, axis);
+		NDArray result = new NDArray(new double[NDArray.sizeOf(newShape)], newShape);
+		double[] out = result.data;
+		if (out.length == 0)
+			return result;
+		int length = shape[axis];
+		if (length == 0) {
+			if (op == MIN || op == MAX)
+				throw new ArrayIndexOutOfBoundsException("Axis " + axis + " is empty!");
+			Arrays.fill(out, op == SUM ? 0.0 : 1.0);
+			return result;
+		}
+		if (axis == shape.length - 1) {
+			int[] counter = new int[axis];
+			for (int j = 0, start = offset; j < out.length; j++, start = nextRun(counter, start))
+				out[j] = reduceRun(op, start, strides[axis], length);
+			return result;
+		}
+		for (int k = 0; k < length; k++) {
+			NDArray row = select(axis, k);
+			int last = row.shape.length - 1;
+			int[] counter = new int[last];
+			int j = 0;
+			for (int r = row.size / row.shape[last], start = row.offset; r > 0; r--, start = row.nextRun(counter,
+					start))
+				for (int i = 0, p = start; i < row.shape[last]; i++, p += row.strides[last], j++)
+					out[j] = k == 0 ? data[p] : NDArray.combine(op, out[j], data[p]);
+		}
+		return result;
+	}
+
+	private double reduceRun(int op, int start, int stride, int length) {
+		if (stride == 1) {
+			switch (op) {
+			case SUM:
+				return MathKernels.sum(data, start, start + length);
+			case PRODUCT:
+				return MathKernels.product(data, start, start + length);
+			case MIN:
+				return MathKernels.min(data, start, start + length);
+			default:
+				return MathKernels.max(data, start, start + length);
+			}
+		}
+		double result = data[start];
+		for (int i = 1, p = start + stride; i < length; i++, p += stride)
+			result = NDArray.combine(op, result, data[p]);
+		return result;
+	}
+
+	/**
+	 * Combines two partial results the same way the kernels do, so a <code>NaN</code>
+	 * only wins a minimum or maximum when it comes first.
+	 */
+	private static double combine(int op, double a, double b) {
+		switch (op) {
+		case SUM:
+			return a + b;
+		case PRODUCT:
+			return a * b;
+		case MIN:
+			return b < a ? b : a;
+		default:
+			return b > a ? b : a;
+		}
+	}
+
+	/**
+	 * Moves the position of a run along the last axis to the start of the next run, in
+	 * row-major order, counting the index along every other axis in
+	 * <code>counter</code>.
+	 */
+	private int nextRun(int[] counter, int start) {
+		for (int d = counter.length - 1; d >= 0; d--) {
+			start += strides[d];
+			if (++counter[d] < shape[d])
+				return start;
+			start -= strides[d] * shape[d];
+			counter[d] = 0;
+		}
+		return start;
+	}
+
+	private void copyOut(Object arr, int depth, int start) {
+		if (depth == shape.length - 1) {
+			double[] row = (double[]) arr;
+			for (int i = 0, p = start; i < row.length; i++, p += strides[depth])
+				row[i] = data[p];
+			return;
+		}
+		Object[] rows = (Object[]) arr;
+		for (int i = 0; i < rows.length; i++)
+			copyOut(rows[i], depth + 1, start + i * strides[depth]);
+	}
+
+	private int position(int[] indices) {
+		if (indices.length != shape.length)
+			throw new IllegalArgumentException("Expected " + shape.length + " indices but got " + indices.length + "!");
+		int p = offset;
+		for (int d = 0; d < indices.length; d++) {
+			checkIndex(d, indices[d]);
+			p += indices[d] * strides[d];
+		}
+		return p;
+	}
+
+	private void checkAxis(int axis) {
+		if (axis < 0 || axis >= shape.length)
+			throw new IllegalArgumentException("Axis " + axis + " does not exist in an array of rank " + shape.length
+					+ "!");
+	}
+
+	private void checkIndex(int axis, int index) {
+		if (index < 0 || index >= shape[axis])
+			throw new ArrayIndexOutOfBoundsException("Index " + index + " is out of bounds for axis " + axis + "!");
+	}
+
+	/**
+	 * Finds the shape of a jagged array from its first row along every axis. An empty
+	 * array has no rows to look at, so the rest of its shape is taken from its type.
+	 */
+	private static int[] shapeOf(Object arr) {
+		IntArrayBuilder shape = new IntArrayBuilder();
+		Object current = arr;
+		while (current != null && current.getClass().isArray()) {
+			int length = Array.getLength(current);
+			shape.add(length);
+			if (!(current instanceof Object[]))
+				break;
+			if (length == 0) {
+				for (Class<?> type = current.getClass().getComponentType(); type.isArray(); type = type
+						.getComponentType())
+					shape.add(0);
+				break;
+			}
+			current = ((Object[]) current)[0];
+		}
+		return shape.toArray();
+	}
+
+	/**
+	 * Copies a jagged array into <code>data</code> from the index <code>position</code>,
+	 * checking that every row has the length of the shape, and returns the index after
+	 * the last value copied.
+	 */
+	private static int copyIn(Object arr, int[] shape, int depth, double[] data, int position) {
+		if (arr == null || !arr.getClass().isArray() || Array.getLength(arr) != shape[depth])
+			throw new IllegalArgumentException("Array is not rectangular!");
+		int length = shape[depth];
+		if (depth < shape.length - 1) {
+			if (!(arr instanceof Object[]))
+				throw new IllegalArgumentException("Array is not rectangular!");
+			for (Object row : (Object[]) arr)
+				position = NDArray.copyIn(row, shape, depth + 1, data, position);
+			return position;
+		}
+		if (arr instanceof double[])
+			System.arraycopy(arr, 0, data, position, length);
+		else if (arr instanceof int[])
+			for (int i = 0; i < length; i++)
+				data[position + i] = ((int[]) arr)[i];
+		else if (arr instanceof long[])
+			for (int i = 0; i < length; i++)
+				data[position + i] = ((long[]) arr)[i];
+		else if (arr instanceof float[])
+			for (int i = 0; i < length; i++)
+				data[position + i] = ((float[]) arr)[i];
+		else if (arr instanceof short[])
+			for (int i = 0; i < length; i++)
+				data[position + i] = ((short[]) arr)[i];
+		else if (arr instanceof byte[])
+			for (int i = 0; i < length; i++)
+				data[position + i] = ((byte[]) arr)[i];
+		else if (arr instanceof Object[])
+			for (int i = 0; i < length; i++) {
+				Object value = ((Object[]) arr)[i];
+				if (!(value instanceof Number))
+					throw new IllegalArgumentException("Array is not rectangular or holds values which are not numbers!");
+				data[position + i] = ((Number) value).doubleValue();
+			}
+		else
+			throw new IllegalArgumentException("Array does not hold numbers!");
+		return position + length;
+	}
+
+	private static int[] checkShape(int[] shape) {
+		for (int length : shape)
+			if (length < 0)
+				throw new IllegalArgumentException("Lengths cannot be negative!");
+		int[] copy = shape.clone();
+		NDArray.sizeOf(copy);
+		return copy;
+	}
+
+	private static int sizeOf(int[] shape) {
+		long size = 1;
+		for (int length : shape) {
+			size *= length;
+			if (size > Integer.MAX_VALUE)
+				throw new IllegalArgumentException("Shape " + Arrays.toString(shape) + " holds too many values!");
+		}
+		return (int) size;
+	}
+
+	private static int[] rowMajorStrides(int[] shape) {
+		int[] strides = new int[shape.length];
+		int stride = 1;
+		for (int d = shape.length - 1; d >= 0; d--) {
+			strides[d] = stride;
+			stride *= Math.max(shape[d], 1);
+		}
+		return strides;
+	}
+
+	private static int[] without(int[] values, int index) {
+		int[] result = new int[values.length - 1];
+		System.arraycopy(values, 0, result, 0, index);
+		System.arraycopy(values, index + 1, result, index, result.length - index);
+		return result;
+	}
+
+	/**
+	 * Creates and returns a string representation of the values, in the form
+	 * {@code {{a, b}, {c, d}}}.
+	 *
+	 * @return string representation of the array
+	 */
+	@Override
+	public String toString() {
+		if (shape.length == 0)
+			return String.valueOf(data[offset]);
+		return "{" + ArraysPlus.multidimensionalArrayToString(toArray()) + "}";
+	}
+
+}
@@ -0,0 +1,543 @@
+//package setup.javaPlus;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The <code>OffHeapDoubleArray</code> class is an array of {@code double} values kept
+ * outside the Java heap, either in native memory or in a file mapped into memory.
+ * Its values are never scanned or moved by the garbage collector, no matter how many
+ * there are, and it is indexed with a {@code long}, so it can hold far more than the
+ * {@link Integer#MAX_VALUE} values a Java array can.<br>
+ * <br>
+ *
+ * The values are split over chunks of 2<sup>27</sup> values, one gigabyte each, since a
+ * single buffer can only be indexed with an {@code int}. An array mapped from a file
+ * with {@link #map(Path, long)} or {@link #open(Path)} reads and writes the file
+ * directly: the operating system only loads the parts that are used, and reopening
+ * the file gives back the same values at once, with nothing to deserialize. Values
+ * are stored little-endian, so a file can be opened on any machine.<br>
+ * <br>
+ *
+ * The reductions such as {@link #sum()} and {@link #max()} copy the values into a
+ * small scratch array a block at a time and run the same loops as {@link MathPlus}
+ * over each block. Minimums and maximums keep one running value across every block,
+ * so they and the searches give exactly the same results as on the equivalent Java
+ * array; sums and products are added up block by block, so they can differ from
+ * {@link MathPlus#sum(double...)} in the last bits. The memory
+ * of an array is released once it is garbage collected. An array is not safe to
+ * change from several threads at once.
+ *
+ * @author jonatanfontanez
+ * @see ArraysPlus
+ *
+ */
+public final class OffHeapDoubleArray {
+	private static final int CHUNK_SHIFT = 27;
+	private static final long CHUNK_SIZE = 1L << CHUNK_SHIFT;
+	private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+	private static final int SCRATCH_SIZE = 8192;
+	private static final long MAX_LENGTH = (long) Integer.MAX_VALUE << CHUNK_SHIFT;
+
+	private final long length;
+	private final DoubleBuffer[] chunks;
+	private final MappedByteBuffer[] mapped;
+
+	private OffHeapDoubleArray(long length, ByteBuffer[] buffers) {
+		this.length = length;
+		this.chunks = new DoubleBuffer[buffers.length];
+		for (int c = 0; c < buffers.length; c++)
+			chunks[c] = buffers[c].order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+		this.mapped = buffers instanceof MappedByteBuffer[] ? (MappedByteBuffer[]) buffers : null;
+	}
+
+	/**
+	 * Creates an array of <code>length</code> zeros in native memory.
+	 *
+	 * @param length amount of values
+	 * @return array of zeros
+	 */
+	public static OffHeapDoubleArray allocate(long length) {
+		OffHeapDoubleArray.checkLength(length);
+		ByteBuffer[] buffers = new ByteBuffer[OffHeapDoubleArray.chunkCount(length)];
+		for (int c = 0; c < buffers.length; c++)
+			buffers[c] = ByteBuffer.allocateDirect((int) OffHeapDoubleArray.chunkLength(length, c) * Double.BYTES);
+		return new OffHeapDoubleArray(length, buffers);
+	}
+
+	/**
+	 * Creates an array in native memory holding a copy of the values in
+	 * <code>values</code>.
+	 *
+	 * @param values the values to copy
+	 * @return array of the values
+	 */
+	public static OffHeapDoubleArray copyOf(double... values) {
+		OffHeapDoubleArray arr = OffHeapDoubleArray.allocate(values.length);
+		arr.set(0, values, 0, values.length);
+		return arr;
+	}
+
+	/**
+	 * Maps the first <code>length</code> values of the file <code>file</code> into
+	 * memory for reading and writing, creating the file or growing it with zeros if it
+	 * is too short.
+	 *
+	 * @param file   the file to map
+	 * @param length amount of values
+	 * @return array over the file
+	 * @throws IOException if the file cannot be opened or mapped
+	 */
+	public static OffHeapDoubleArray map(Path file, long length) throws IOException {
+		OffHeapDoubleArray.checkLength(length);
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE)) {
+			return OffHeapDoubleArray.map(channel, FileChannel.MapMode.READ_WRITE, length);
+		}
+	}
+
+	/**
+	 * Maps every value of the existing file <code>file</code> into memory for reading
+	 * and writing, such as a file written earlier through {@link #map(Path, long)}.
+	 *
+	 * @param file the file to map
+	 * @return array over the file
+	 * @throws IOException if the file cannot be opened or mapped
+	 */
+	public static OffHeapDoubleArray open(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			return OffHeapDoubleArray.map(channel, FileChannel.MapMode.READ_WRITE,
+					OffHeapDoubleArray.fileLength(channel));
+		}
+	}
+
+	/**
+	 * Maps every value of the existing file <code>file</code> into memory for reading
+	 * only. Setting a value of the array throws a
+	 * {@link java.nio.ReadOnlyBufferException}.
+	 *
+	 * @param file the file to map
+	 * @return read-only array over the file
+	 * @throws IOException if the file cannot be opened or mapped
+	 */
+	public static OffHeapDoubleArray openReadOnly(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return OffHeapDoubleArray.map(channel, FileChannel.MapMode.READ_ONLY,
+					OffHeapDoubleArray.fileLength(channel));
+		}
+	}
+
+	/**
+	 * Returns a new array in native memory holding every value of the arrays in
+	 * <code>arrs</code>, one after the other.
+	 *
+	 * @param arrs the arrays to join
+	 * @return joined array
+	 */
+	public static OffHeapDoubleArray concatenate(OffHeapDoubleArray... arrs) {
+		long fullLength = 0;
+		for (OffHeapDoubleArray arr : arrs)
+			fullLength += arr.length;
+		OffHeapDoubleArray joined = OffHeapDoubleArray.allocate(fullLength);
+		double[] scratch = new double[SCRATCH_SIZE];
+		long index = 0;
+		for (OffHeapDoubleArray arr : arrs)
+			for (long from = 0; from < arr.length; from += SCRATCH_SIZE) {
+				int n = (int) Math.min(SCRATCH_SIZE, arr.length - from);
+				arr.get(from, scratch, 0, n);
+				joined.set(index, scratch, 0, n);
+				index += n;
+			}
+		return joined;
+	}
+
+	/**
+	 * Returns the amount of values.
+	 *
+	 * @return length of the array
+	 */
+	public long length() {
+		return length;
+	}
+
+	/**
+	 * Returns if this array reads and writes a file mapped into memory.
+	 *
+	 * @return if the array is mapped from a file
+	 */
+	public boolean isMapped() {
+		return mapped != null;
+	}
+
+	/**
+	 * Returns the value at the index <code>index</code>.
+	 *
+	 * @param index the index to read
+	 * @return the value at the index
+	 */
+	public double get(long index) {
+		checkIndex(index);
+		return chunks[(int) (index >>> CHUNK_SHIFT)].get((int) (index & CHUNK_MASK));
+	}
+
+	/**
+	 * Sets the value at the index <code>index</code> to <code>value</code>.
+	 *
+	 * @param index the index to set
+	 * @param value the value to store
+	 */
+	public void set(long index, double value) {
+		checkIndex(index);
+		chunks[(int) (index >>> CHUNK_SHIFT)].put((int) (index & CHUNK_MASK), value);
+	}
+
+	/**
+	 * Copies <code>count</code> values starting at the index <code>index</code> into
+	 * <code>dst</code>, starting at the index <code>offset</code>.
+	 *
+	 * @param index  first index to read
+	 * @param dst    array to copy into
+	 * @param offset first index of <code>dst</code> to write
+	 * @param count  amount of values to copy
+	 */
+	public void get(long index, double[] dst, int offset, int count) {
+		checkRange(index, index + count);
+		while (count > 0) {
+			int chunk = (int) (index >>> CHUNK_SHIFT), position = (int) (index & CHUNK_MASK);
+			int n = (int) Math.min(count, CHUNK_SIZE - position);
+			chunks[chunk].get(position, dst, offset, n);
+			index += n;
+			offset += n;
+			count -= n;
+		}
+	}
+
+	/**
+	 * Copies <code>count</code> values from <code>src</code>, starting at the index
+	 * <code>offset</code>, into this array starting at the index <code>index</code>.
+	 *
+	 * @param index  first index to write
+	 * @param src    array to copy from
+	 * @param offset first index of <code>src</code> to read
+	 * @param count  amount of values to copy
+	 */
+	public void set(long index, double[] src, int offset, int count) {
+		checkRange(index, index + count);
+		while (count > 0) {
+			int chunk = (int) (index >>> CHUNK_SHIFT), position = (int) (index & CHUNK_MASK);
+			int n = (int) Math.min(count, CHUNK_SIZE - position);
+			chunks[chunk].put(position, src, offset, n);
+			index += n;
+			offset += n;
+			count -= n;
+		}
+	}
+
+	/**
+	 * Sets every value to <code>value</code>.
+	 *
+	 * @param value the value to store
+	 */
+	public void fill(double value) {
+		double[] scratch = new double[(int) Math.min(SCRATCH_SIZE, length)];
+		Arrays.fill(scratch, value);
+		for (long from = 0; from < length; from += SCRATCH_SIZE)
+			set(from, scratch, 0, (int) Math.min(SCRATCH_SIZE, length - from));
+	}
+
+	/**
+	 * Writes any changes to a mapped array back to its file. Does nothing for an array
+	 * in native memory.
+	 */
+	public void force() {
+		if (mapped != null)
+			for (MappedByteBuffer buffer : mapped)
+				buffer.force();
+	}
+
+	/**
+	 * Returns the values as a Java array, which only works if there are at most
+	 * {@link Integer#MAX_VALUE} of them.
+	 *
+	 * @return array of the values
+	 */
+	public double[] toArray() {
+		if (length > Integer.MAX_VALUE - 8)
+			throw new IllegalStateException("Array is too long to fit in a Java array!");
+		double[] values = new double[(int) length];
+		get(0, values, 0, values.length);
+		return values;
+	}
+
+	/**
+	 * Returns the first index of the value <code>value</code>, or -1 if it does not
+	 * appear. Values are compared bit for bit, the same as
+	 * {@link ArraysPlus#indexOf(double[], double)}.
+	 *
+	 * @param value the value to search for
+	 * @return first index of the value
+	 */
+	public long indexOf(double value) {
+		long bits = Double.doubleToLongBits(value);
+		double[] scratch = new double[SCRATCH_SIZE];
+		for (long from = 0; from < length; from += SCRATCH_SIZE) {
+			int n = (int) Math.min(SCRATCH_SIZE, length - from);
+			get(from, scratch, 0, n);
+			for (int i = 0; i < n; i++)
+				if (Double.doubleToLongBits(scratch[i]) == bits)
+					return from + i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the last index of the value <code>value</code>, or -1 if it does not
+	 * appear. Values are compared bit for bit.
+	 *
+	 * @param value the value to search for
+	 * @return last index of the value
+	 */
+	public long lastIndexOf(double value) {
+		long bits = Double.doubleToLongBits(value);
+		double[] scratch = new double[SCRATCH_SIZE];
+		for (long to = length; to > 0; to -= SCRATCH_SIZE) {
+			int n = (int) Math.min(SCRATCH_SIZE, to);
+			get(to - n, scratch, 0, n);
+			for (int i = n - 1; i >= 0; i--)
+				if (Double.doubleToLongBits(scratch[i]) == bits)
+					return to - n + i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns if the value <code>value</code> appears in the array. Values are compared
+	 * bit for bit.
+	 *
+	 * @param value the value to search for
+	 * @return if the array contains the value
+	 */
+	public boolean contains(double value) {
+		return indexOf(value) >= 0;
+	}
+
+	/**
+	 * Returns the amount of times the value <code>value</code> appears in the array.
+	 * Values are compared bit for bit.
+	 *
+	 * @param value the value to count
+	 * @return amount of times the value appears
+	 */
+	public long occurencesOf(double value) {
+		long bits = Double.doubleToLongBits(value);
+		double[] scratch = new double[SCRATCH_SIZE];
+		long count = 0;
+		for (long from = 0; from < length; from += SCRATCH_SIZE) {
+			int n = (int) Math.min(SCRATCH_SIZE, length - from);
+			get(from, scratch, 0, n);
+			for (int i = 0; i < n; i++)
+				if (Double.doubleToLongBits(scratch[i]) == bits)
+					count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns a new array in native memory with every value of this array in reverse
+	 * order. Does not modify this array.
+	 *
+	 * @return reversed array
+	 */
+	public OffHeapDoubleArray reverse() {
+		OffHeapDoubleArray reversed = OffHeapDoubleArray.allocate(length);
+		double[] scratch = new double[SCRATCH_SIZE];
+		for (long from = 0; from < length; from += SCRATCH_SIZE) {
+			int n = (int) Math.min(SCRATCH_SIZE, length - from);
+			get(from, scratch, 0, n);
+			for (int i = 0, j = n - 1; i < j; i++, j--) {
+				double t = scratch[i];
+				scratch[i] = scratch[j];
+				scratch[j] = t;
+			}
+			reversed.set(length - from - n, scratch, 0, n);
+		}
+		return reversed;
+	}
+
+	/**
+	 * Returns the sum of every value.
+	 *
+	 * @return sum of the array
+	 */
+	public double sum() {
+		double sum = 0.0;
+		double[] scratch = new double[SCRATCH_SIZE];
+		for (long from = 0; from < length; from += SCRATCH_SIZE) {
+			int n = (int) Math.min(SCRATCH_SIZE, length - from);
+			get(from, scratch, 0, n);
+			sum += MathKernels.sum(scratch, 0, n);
+		}
+		return sum;
+	}
+
+	/**
+	 * Returns the sum of every value using Neumaier's compensated summation, like
+	 * {@link MathPlus#compensatedSum(double...)}. Over hundreds of millions of values
+	 * this is far more accurate than {@link #sum()}.
+	 *
+	 * @return compensated sum of the array
+	 */
+	public double compensatedSum() {
+		double sum = 0.0, compensation = 0.0;
+		double[] scratch = new double[SCRATCH_SIZE];
+		for (long from = 0; from < length; from += SCRATCH_SIZE) {
+			int n = (int) Math.min(SCRATCH_SIZE, length - from);
+			get(from, scratch, 0, n);
+			for (int i = 0; i < n; i++) {
+				double t = sum + scratch[i];
+				compensation += MathKernels.sumError(sum, scratch[i], t);
+				sum = t;
+			}
+		}
+		return sum + compensation;
+	}
+
+	/**
+	 * Returns the arithmetic mean of every value.
+	 *
+	 * @return arithmetic mean of the array
+	 */
+	public double mean() {
+		return sum() / length;
+	}
+
+	/**
+	 * Returns the product of every value.
+	 *
+	 * @return product of the array
+	 */
+	public double product() {
+		double product = 1.0;
+		double[] scratch = new double[SCRATCH_SIZE];
+		for (long from = 0; from < length; from += SCRATCH_SIZE) {
+			int n = (int) Math.min(SCRATCH_SIZE, length - from);
+			get(from, scratch, 0, n);
+			product *= MathKernels.product(scratch, 0, n);
+		}
+		return product;
+	}
+
+	/**
+	 * Returns the largest value, following the same rules as
+	 * {@link MathPlus#max(double...)}. The array cannot be empty.
+	 *
+	 * @return the largest value
+	 */
+	public double max() {
+		checkNotEmpty();
+		double[] scratch = new double[SCRATCH_SIZE];
+		double maximum = get(0);
+		for (long from = 0; from < length; from += SCRATCH_SIZE) {
+			int n = (int) Math.min(SCRATCH_SIZE, length - from);
+			get(from, scratch, 0, n);
+			for (int i = 0; i < n; i++)
+				if (scratch[i] > maximum)
+					maximum = scratch[i];
+		}
+		return maximum;
+	}
+
+	/**
+	 * Returns the smallest value, following the same rules as
+	 * {@link MathPlus#min(double...)}. The array cannot be empty.
+	 *
+	 * @return the smallest value
+	 */
+	public double min() {
+		checkNotEmpty();
+		double[] scratch = new double[SCRATCH_SIZE];
+		double minimum = get(0);
+		for (long from = 0; from < length; from += SCRATCH_SIZE) {
+			int n = (int) Math.min(SCRATCH_SIZE, length - from);
+			get(from, scratch, 0, n);
+			for (int i = 0; i < n; i++)
+				if (scratch[i] < minimum)
+					minimum = scratch[i];
+		}
+		return minimum;
+	}
+
+	/**
+	 * Returns the range of the values, the largest value minus the smallest value. The
+	 * array cannot be empty.
+	 *
+	 * @return range of the array
+	 */
+	public double range() {
+		return max() - min();
+	}
+
+	private void checkIndex(long index) {
+		if (index < 0 || index >= length)
+			throw new ArrayIndexOutOfBoundsException("Index " + index + " is out of bounds!");
+	}
+
+	private void checkRange(long from, long to) {
+		if (from < 0 || to > length || from > to)
+			throw new ArrayIndexOutOfBoundsException("Range [" + from + ", " + to + ") is out of bounds!");
+	}
+
+	private void checkNotEmpty() {
+		if (length == 0)
+			throw new ArrayIndexOutOfBoundsException("Array is empty!");
+	}
+
+	private static OffHeapDoubleArray map(FileChannel channel, FileChannel.MapMode mode, long length)
+			throws IOException {
+		MappedByteBuffer[] buffers = new MappedByteBuffer[OffHeapDoubleArray.chunkCount(length)];
+		for (int c = 0; c < buffers.length; c++)
+			buffers[c] = channel.map(mode, (c * CHUNK_SIZE) * Double.BYTES,
+					OffHeapDoubleArray.chunkLength(length, c) * Double.BYTES);
+		return new OffHeapDoubleArray(length, buffers);
+	}
+
+	private static long fileLength(FileChannel channel) throws IOException {
+		long size = channel.size();
+		if (size % Double.BYTES != 0)
+			throw new IllegalArgumentException("File is not a whole amount of doubles!");
+		return size / Double.BYTES;
+	}
+
+	private static void checkLength(long length) {
+		if (length < 0)
+			throw new IllegalArgumentException("Length cannot be negative!");
+		if (length > MAX_LENGTH)
+			throw new IllegalArgumentException("Length " + length + " is too large!");
+	}
+
+	private static int chunkCount(long length) {
+		return (int) ((length + CHUNK_SIZE - 1) >>> CHUNK_SHIFT);
+	}
+
+	private static long chunkLength(long length, int chunk) {
+		return Math.min(CHUNK_SIZE, length - chunk * CHUNK_SIZE);
+	}
+
+	/**
+	 * Creates and returns a string representation of the array.
+	 *
+	 * @return string representation of the array
+	 */
+	@Override
+	public String toString() {
+		return "OffHeapDoubleArray{length=" + length + ", mapped=" + isMapped() + "}";
+	}
+
+}
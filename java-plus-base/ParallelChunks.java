@@ -0,0 +1,110 @@
+//package setup.javaPlus;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits an index range into fixed-size chunks and runs a task on each chunk in the
+ * common {@link ForkJoinPool}. Chunk boundaries only depend on the length and the
+ * chunk size, never on the amount of threads, so callers that combine per-chunk
+ * results in chunk order get the same answer on every machine.
+ *
+ * @author jonatanfontanez
+ *
+ */
+final class ParallelChunks {
+
+	/**
+	 * The chunk size used when the caller has no better choice; large enough that the
+	 * fork-join overhead disappears next to the work of a chunk.
+	 */
+	static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+
+	/**
+	 * Work done on the chunk numbered <code>chunk</code>, covering the indices
+	 * <code>[from, to)</code>.
+	 */
+	interface ChunkTask {
+		void run(int chunk, int from, int to);
+	}
+
+	/**
+	 * Don't let anyone instantiate this class
+	 */
+	private ParallelChunks() {
+
+	}
+
+	/**
+	 * Returns how many chunks of <code>chunkSize</code> indices are needed to cover
+	 * <code>length</code> indices.
+	 */
+	static int chunkCount(int length, int chunkSize) {
+		return (int) (((long) length + chunkSize - 1) / chunkSize);
+	}
+
+	/**
+	 * Runs <code>task</code> on every chunk of the range <code>[0, length)</code>,
+	 * returning once all chunks are done.
+	 */
+	static void forEach(int length, int chunkSize, ChunkTask task) {
+		if (chunkSize <= 0)
+			throw new IllegalArgumentException("Chunk size must be positive!");
+		int chunks = ParallelChunks.chunkCount(length, chunkSize);
+		if (chunks == 0)
+			return;
+		if (chunks == 1)
+			task.run(0, 0, length);
+		else
+			ForkJoinPool.commonPool().invoke(new ChunkAction(task, length, chunkSize, 0, chunks));
+	}
+
+	/**
+	 * Runs <code>task</code> on every chunk of the range <code>[0, length)</code>, in
+	 * parallel or one after the other in chunk order. Both split the range the same
+	 * way, so code that can run either way gets the same result from both.
+	 */
+	static void forEach(int length, int chunkSize, boolean parallel, ChunkTask task) {
+		if (parallel) {
+			ParallelChunks.forEach(length, chunkSize, task);
+			return;
+		}
+		if (chunkSize <= 0)
+			throw new IllegalArgumentException("Chunk size must be positive!");
+		int chunks = ParallelChunks.chunkCount(length, chunkSize);
+		for (int chunk = 0; chunk < chunks; chunk++) {
+			int from = chunk * chunkSize;
+			task.run(chunk, from, (int) Math.min((long) from + chunkSize, length));
+		}
+	}
+
+	private static final class ChunkAction extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final ChunkTask task;
+		private final int length;
+		private final int chunkSize;
+		private final int firstChunk;
+		private final int lastChunk;
+
+		ChunkAction(ChunkTask task, int length, int chunkSize, int firstChunk, int lastChunk) {
+			this.task = task;
+			this.length = length;
+			this.chunkSize = chunkSize;
+			this.firstChunk = firstChunk;
+			this.lastChunk = lastChunk;
+		}
+
+		@Override
+		protected void compute() {
+			if (lastChunk - firstChunk == 1) {
+				int from = firstChunk * chunkSize;
+				task.run(firstChunk, from, (int) Math.min((long) from + chunkSize, length));
+			} else {
+				int middle = (firstChunk + lastChunk) >>> 1;
+				RecursiveAction.invokeAll(new ChunkAction(task, length, chunkSize, firstChunk, middle),
+						new ChunkAction(task, length, chunkSize, middle, lastChunk));
+			}
+		}
+	}
+
+}
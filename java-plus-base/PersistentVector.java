@@ -0,0 +1,556 @@
+//package setup.javaPlus;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * The <code>PersistentVector</code> class is an immutable list of objects which can
+ * be changed cheaply by making a new version of it. Like
+ * {@link ArraysPlus#add(Object[], Object)} and {@link ArraysPlus#set(Object[], int, Object)},
+ * every change returns a new vector and leaves the old one as it was, so a vector can
+ * be handed to other threads as a snapshot without copying or locking. Unlike those
+ * methods, a change takes <code>O(log n)</code> time instead of copying every
+ * object.<br>
+ * <br>
+ *
+ * The objects are kept in the leaves of a tree where every node has at most 32
+ * children, so a vector of a million objects is only four levels deep. A change only
+ * copies the nodes on the path from the root to the leaf it touches, and shares every
+ * other node with the old vector. Every node knows how many objects lie below each
+ * of its children, which lets nodes hold fewer than 32 children; inserting or
+ * removing in the middle and joining two vectors with
+ * {@link #concatenate(PersistentVector)} then only rebuild one path as well, instead
+ * of shifting every later object.<br>
+ * <br>
+ *
+ * {@link #get(int)}, {@link #set(int, Object)}, {@link #add(Object)},
+ * {@link #add(int, Object)}, {@link #remove(int)} and
+ * {@link #concatenate(PersistentVector)} all take <code>O(log n)</code> time.
+ * {@link #toArray()} copies the objects out a leaf at a time.
+ *
+ * @author jonatanfontanez
+ * @param <T> the type of the objects
+ * @see ArraysPlus
+ * @see ArrayBuilder
+ *
+ */
+public final class PersistentVector<T> implements Iterable<T> {
+	private static final int SHIFT = 5;
+	private static final int BRANCH = 1 << SHIFT;
+	private static final int HALF = BRANCH / 2;
+	private static final PersistentVector<?> EMPTY = new PersistentVector<>(Node.leaf(new Object[0]), 0, 0);
+
+	private final Node root;
+	private final int height;
+	private final int size;
+
+	private PersistentVector(Node root, int height, int size) {
+		this.root = root;
+		this.height = height;
+		this.size = size;
+	}
+
+	/**
+	 * Returns the empty vector.
+	 *
+	 * @param <T> the type of the objects
+	 * @return the empty vector
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T>PersistentVector<T> empty() {
+		return (PersistentVector<T>) EMPTY;
+	}
+
+	/**
+	 * Creates a vector holding the objects in <code>values</code>, in order. Filling
+	 * the leaves directly takes <code>O(n)</code> time, less than adding the objects
+	 * one at a time.
+	 *
+	 * @param <T>    the type of the objects
+	 * @param values the objects to hold
+	 * @return vector of the objects
+	 */
+	@SafeVarargs
+	public static <T>PersistentVector<T> of(T... values) {
+		if (values.length == 0)
+			return PersistentVector.empty();
+		Object[] level = new Object[(values.length + BRANCH - 1) / BRANCH];
+		for (int i = 0; i < level.length; i++) {
+			Object[] leaf = new Object[Math.min(BRANCH, values.length - i * BRANCH)];
+			// Copying element by element keeps the varargs array from escaping this method
+			for (int j = 0; j < leaf.length; j++)
+				leaf[j] = values[i * BRANCH + j];
+			level[i] = Node.leaf(leaf);
+		}
+		int height = 0;
+		while (level.length > 1) {
+			Object[] parents = new Object[(level.length + BRANCH - 1) / BRANCH];
+			for (int i = 0; i < parents.length; i++)
+				parents[i] = Node.branch(Arrays.copyOfRange(level, i * BRANCH, Math.min((i + 1) * BRANCH, level.length)));
+			level = parents;
+			height++;
+		}
+		return new PersistentVector<>((Node) level[0], height, values.length);
+	}
+
+	/**
+	 * Returns the amount of objects.
+	 *
+	 * @return amount of objects
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns if the vector holds no objects.
+	 *
+	 * @return if the vector is empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the object at the index <code>index</code>.
+	 *
+	 * @param index the index to read
+	 * @return the object at the index
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(int index) {
+		checkIndex(index);
+		Node node = root;
+		for (int h = height; h > 0; h--) {
+			int c = node.childIndex(index, h);
+			index -= node.before(c);
+			node = (Node) node.items[c];
+		}
+		return (T) node.items[index];
+	}
+
+	/**
+	 * Returns a vector with the object at the index <code>index</code> replaced by
+	 * <code>value</code>. Does not modify this vector.
+	 *
+	 * @param index the index to set
+	 * @param value the object to store
+	 * @return the changed vector
+	 */
+	public PersistentVector<T> set(int index, T value) {
+		checkIndex(index);
+		return new PersistentVector<>(PersistentVector.set(root, height, index, value), height, size);
+	}
+
+	/**
+	 * Returns a vector with the object <code>value</code> added to the end. Does not
+	 * modify this vector.
+	 *
+	 * @param value the object to add
+	 * @return the changed vector
+	 */
+	public PersistentVector<T> add(T value) {
+		return add(size, value);
+	}
+
+	/**
+	 * Returns a vector with the object <code>value</code> inserted at the index
+	 * <code>index</code>, shifting every object from that index one index to the
+	 * right. Does not modify this vector.
+	 *
+	 * @param index the index to insert at
+	 * @param value the object to insert
+	 * @return the changed vector
+	 */
+	public PersistentVector<T> add(int index, T value) {
+		if (index < 0 || index > size)
+			throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+		return PersistentVector.fromNodes(PersistentVector.insert(root, height, index, value), height, size + 1);
+	}
+
+	/**
+	 * Returns a vector with the object at the index <code>index</code> removed,
+	 * shifting every later object one index to the left. Does not modify this vector.
+	 *
+	 * @param index the index to remove
+	 * @return the changed vector
+	 */
+	public PersistentVector<T> remove(int index) {
+		checkIndex(index);
+		Node node = PersistentVector.remove(root, height, index);
+		if (node == null)
+			return PersistentVector.empty();
+		int h = height;
+		// A root with a single child is one level more than needed
+		while (h > 0 && node.width() == 1) {
+			node = (Node) node.items[0];
+			h--;
+		}
+		return new PersistentVector<>(node, h, size - 1);
+	}
+
+	/**
+	 * Returns a vector holding every object of this vector followed by every object of
+	 * <code>other</code>. Neither vector is modified, and both share their nodes with
+	 * the result.
+	 *
+	 * @param other the vector to add to the end
+	 * @return the joined vector
+	 */
+	@SuppressWarnings("unchecked")
+	public PersistentVector<T> concatenate(PersistentVector<? extends T> other) {
+		if (other.size == 0)
+			return this;
+		if (size == 0)
+			return (PersistentVector<T>) other;
+		Node[] nodes;
+		int h;
+		if (height == other.height) {
+			nodes = root.width() + other.root.width() <= BRANCH ? new Node[] { Node.merge(root, other.root, height) }
+					: new Node[] { root, other.root };
+			h = height;
+		} else if (height > other.height) {
+			nodes = PersistentVector.appendNode(root, height, other.root, other.height);
+			h = height;
+		} else {
+			nodes = PersistentVector.prependNode(other.root, other.height, root, height);
+			h = other.height;
+		}
+		return PersistentVector.fromNodes(nodes, h, size + other.size);
+	}
+
+	/**
+	 * Returns the first index of the object <code>obj</code>, or -1 if it does not
+	 * appear. Objects are compared with {@link Object#equals(Object)}.
+	 *
+	 * @param obj the object to search for
+	 * @return first index of the object
+	 */
+	public int indexOf(Object obj) {
+		int index = 0;
+		for (T element : this) {
+			if (Objects.equals(element, obj))
+				return index;
+			index++;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns if the object <code>obj</code> appears in the vector.
+	 *
+	 * @param obj the object to search for
+	 * @return if the vector contains the object
+	 */
+	public boolean contains(Object obj) {
+		return indexOf(obj) >= 0;
+	}
+
+	/**
+	 * Returns a new array holding every object, in order.
+	 *
+	 * @return array of the objects
+	 */
+	public Object[] toArray() {
+		Object[] arr = new Object[size];
+		PersistentVector.copyInto(root, height, arr, 0);
+		return arr;
+	}
+
+	/**
+	 * Returns a new array of the component type <code>componentType</code> holding every
+	 * object, in order.
+	 *
+	 * @param componentType the component type of the array
+	 * @return array of the objects
+	 */
+	public T[] toArray(Class<T> componentType) {
+		@SuppressWarnings("unchecked")
+		T[] arr = (T[]) Array.newInstance(componentType, size);
+		PersistentVector.copyInto(root, height, arr, 0);
+		return arr;
+	}
+
+	/**
+	 * Returns an iterator over the objects, in order. The iterator reads a whole leaf
+	 * at a time, so going through the vector takes <code>O(n)</code> time.
+	 *
+	 * @return iterator over the objects
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+			private int index;
+			private int leafStart;
+			private Object[] leaf = new Object[0];
+
+			@Override
+			public boolean hasNext() {
+				return index < size;
+			}
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public T next() {
+				if (index >= size)
+					throw new NoSuchElementException();
+				if (index - leafStart == leaf.length) {
+					Node node = root;
+					int offset = index;
+					for (int h = height; h > 0; h--) {
+						int c = node.childIndex(offset, h);
+						offset -= node.before(c);
+						node = (Node) node.items[c];
+					}
+					leaf = node.items;
+					leafStart = index - offset;
+				}
+				return (T) leaf[index++ - leafStart];
+			}
+		};
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size)
+			throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+	}
+
+	private static <T>PersistentVector<T> fromNodes(Node[] nodes, int height, int size) {
+		if (nodes.length == 1)
+			return new PersistentVector<>(nodes[0], height, size);
+		return new PersistentVector<>(Node.branch(nodes), height + 1, size);
+	}
+
+	private static Node set(Node node, int height, int index, Object value) {
+		Object[] items = node.items.clone();
+		if (height == 0)
+			items[index] = value;
+		else {
+			int c = node.childIndex(index, height);
+			items[c] = PersistentVector.set((Node) items[c], height - 1, index - node.before(c), value);
+		}
+		return new Node(items, node.sizes);
+	}
+
+	/**
+	 * Inserts into the subtree, returning the new subtree, or two subtrees if the node
+	 * overflowed and had to be split.
+	 */
+	private static Node[] insert(Node node, int height, int index, Object value) {
+		if (height == 0)
+			return PersistentVector.split(PersistentVector.inserted(node.items, index, value), index, false);
+		int c = node.childIndex(index, height);
+		Node[] children = PersistentVector.insert((Node) node.items[c], height - 1, index - node.before(c), value);
+		return PersistentVector.split(PersistentVector.replaced(node.items, c, children),
+				c == 0 ? 0 : c + children.length - 1, true);
+	}
+
+	/**
+	 * Removes from the subtree, returning the new subtree or null if it became empty.
+	 * A child left less than half full is merged into a neighbour when they fit in one
+	 * node together, which keeps the tree from filling up with nearly empty nodes.
+	 */
+	private static Node remove(Node node, int height, int index) {
+		if (height == 0)
+			return node.width() == 1 ? null : Node.leaf(PersistentVector.removed(node.items, index));
+		int c = node.childIndex(index, height);
+		Node child = PersistentVector.remove((Node) node.items[c], height - 1, index - node.before(c));
+		Object[] items;
+		if (child == null) {
+			if (node.width() == 1)
+				return null;
+			items = PersistentVector.removed(node.items, c);
+		} else {
+			items = node.items.clone();
+			items[c] = child;
+			int neighbour = c > 0 ? c - 1 : c + 1;
+			if (child.width() < HALF && neighbour < items.length
+					&& child.width() + ((Node) items[neighbour]).width() <= BRANCH) {
+				int left = Math.min(c, neighbour);
+				Node merged = Node.merge((Node) items[left], (Node) items[left + 1], height - 1);
+				items = PersistentVector.replaced(items, left, new Node[] { merged });
+				items = PersistentVector.removed(items, left + 1);
+			}
+		}
+		return Node.branch(items);
+	}
+
+	/**
+	 * Adds the subtree <code>child</code> after the last object of the taller subtree
+	 * <code>node</code>, at the level where it keeps every leaf at the same depth.
+	 */
+	private static Node[] appendNode(Node node, int height, Node child, int childHeight) {
+		int last = node.width() - 1;
+		Object[] items;
+		if (height == childHeight + 1) {
+			Node lastChild = (Node) node.items[last];
+			if (lastChild.width() + child.width() <= BRANCH) {
+				items = node.items.clone();
+				items[last] = Node.merge(lastChild, child, childHeight);
+			} else
+				items = PersistentVector.inserted(node.items, last + 1, child);
+		} else
+			items = PersistentVector.replaced(node.items, last,
+					PersistentVector.appendNode((Node) node.items[last], height - 1, child, childHeight));
+		return PersistentVector.split(items, items.length - 1, true);
+	}
+
+	/**
+	 * Adds the subtree <code>child</code> before the first object of the taller subtree
+	 * <code>node</code>, at the level where it keeps every leaf at the same depth.
+	 */
+	private static Node[] prependNode(Node node, int height, Node child, int childHeight) {
+		Object[] items;
+		if (height == childHeight + 1) {
+			Node firstChild = (Node) node.items[0];
+			if (child.width() + firstChild.width() <= BRANCH) {
+				items = node.items.clone();
+				items[0] = Node.merge(child, firstChild, childHeight);
+			} else
+				items = PersistentVector.inserted(node.items, 0, child);
+		} else
+			items = PersistentVector.replaced(node.items, 0,
+					PersistentVector.prependNode((Node) node.items[0], height - 1, child, childHeight));
+		return PersistentVector.split(items, 0, true);
+	}
+
+	/**
+	 * Makes one node of <code>items</code>, or two if there are too many for one. When
+	 * the item at <code>position</code> was added at either end, the split leaves the
+	 * old node full and the new one nearly empty, so adding to the end over and over
+	 * fills every node; otherwise the items are split in half.
+	 */
+	private static Node[] split(Object[] items, int position, boolean branch) {
+		if (items.length <= BRANCH)
+			return new Node[] { Node.of(items, branch) };
+		int at = position == items.length - 1 ? BRANCH : position == 0 ? items.length - BRANCH : items.length / 2;
+		return new Node[] { Node.of(Arrays.copyOfRange(items, 0, at), branch),
+				Node.of(Arrays.copyOfRange(items, at, items.length), branch) };
+	}
+
+	private static Object[] inserted(Object[] items, int index, Object value) {
+		Object[] result = new Object[items.length + 1];
+		System.arraycopy(items, 0, result, 0, index);
+		result[index] = value;
+		System.arraycopy(items, index, result, index + 1, items.length - index);
+		return result;
+	}
+
+	private static Object[] removed(Object[] items, int index) {
+		Object[] result = new Object[items.length - 1];
+		System.arraycopy(items, 0, result, 0, index);
+		System.arraycopy(items, index + 1, result, index, result.length - index);
+		return result;
+	}
+
+	/**
+	 * Returns a copy of <code>items</code> with the item at <code>index</code> replaced
+	 * by every node in <code>nodes</code>.
+	 */
+	private static Object[] replaced(Object[] items, int index, Node[] nodes) {
+		Object[] result = new Object[items.length - 1 + nodes.length];
+		System.arraycopy(items, 0, result, 0, index);
+		System.arraycopy(nodes, 0, result, index, nodes.length);
+		System.arraycopy(items, index + 1, result, index + nodes.length, items.length - index - 1);
+		return result;
+	}
+
+	private static int copyInto(Node node, int height, Object[] arr, int offset) {
+		if (height == 0) {
+			System.arraycopy(node.items, 0, arr, offset, node.items.length);
+			return offset + node.items.length;
+		}
+		for (Object child : node.items)
+			offset = PersistentVector.copyInto((Node) child, height - 1, arr, offset);
+		return offset;
+	}
+
+	/**
+	 * A node of the tree. A leaf holds the objects themselves; any other node holds its
+	 * children together with the running total of the objects below them, so
+	 * <code>sizes[i]</code> is the amount of objects in the children <code>0</code> to
+	 * <code>i</code>. Every array is exactly as long as it needs to be, and a node is
+	 * never changed once it is made.
+	 */
+	private static final class Node {
+		final Object[] items;
+		final int[] sizes;
+
+		Node(Object[] items, int[] sizes) {
+			this.items = items;
+			this.sizes = sizes;
+		}
+
+		static Node leaf(Object[] items) {
+			return new Node(items, null);
+		}
+
+		static Node branch(Object[] children) {
+			int[] sizes = new int[children.length];
+			int total = 0;
+			for (int i = 0; i < children.length; i++) {
+				total += ((Node) children[i]).size();
+				sizes[i] = total;
+			}
+			return new Node(children, sizes);
+		}
+
+		static Node of(Object[] items, boolean branch) {
+			return branch ? Node.branch(items) : Node.leaf(items);
+		}
+
+		static Node merge(Node left, Node right, int height) {
+			Object[] items = Arrays.copyOf(left.items, left.items.length + right.items.length);
+			System.arraycopy(right.items, 0, items, left.items.length, right.items.length);
+			return Node.of(items, height > 0);
+		}
+
+		int size() {
+			return sizes == null ? items.length : sizes[sizes.length - 1];
+		}
+
+		int width() {
+			return items.length;
+		}
+
+		int before(int child) {
+			return child == 0 ? 0 : sizes[child - 1];
+		}
+
+		/**
+		 * Finds the child holding the index <code>index</code>, or the last child if the
+		 * index is just past the end. A child at height <code>h - 1</code> holds at most
+		 * <code>32^h</code> objects, so the child cannot come before
+		 * <code>index / 32^h</code>, and the search starts there.
+		 */
+		int childIndex(int index, int height) {
+			int last = items.length - 1;
+			int c = SHIFT * height < Integer.SIZE ? Math.min(index >>> (SHIFT * height), last) : 0;
+			while (c < last && sizes[c] <= index)
+				c++;
+			return c;
+		}
+	}
+
+	/**
+	 * Creates and returns a string representation of the objects, in the form
+	 * {@code {a, b, c}}.
+	 *
+	 * @return string representation of the objects
+	 */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder(size * 8 + 2).append('{');
+		int index = 0;
+		for (T element : this) {
+			if (index++ > 0)
+				builder.append(", ");
+			builder.append(element);
+		}
+		return builder.append('}').toString();
+	}
+
+}
@@ -0,0 +1,353 @@
+//package setup.javaPlus;
+
+import java.util.Arrays;
+
+/**
+ * The <code>QuantileSketch</code> class estimates quantiles of an unbounded stream of
+ * {@code double} values in a small, bounded amount of memory, following the KLL
+ * sketch of Karnin, Lang and Liberty. Values are kept in a stack of compactors: when a
+ * level holds too many values it is sorted and every other value is promoted to the
+ * next level, where each value stands for twice as many of the original values. The
+ * lower levels are kept smaller than the higher ones, which makes the sketch
+ * very compact for the accuracy it gives.<br>
+ * <br>
+ *
+ * The accuracy is set by <code>k</code>: the rank error of a quantile is roughly
+ * <code>1.7 / k</code>, about 1% with the default of 200, no matter how many values
+ * are added. The smallest and largest value are always exact. Sketches filled on
+ * different threads can be merged with {@link #merge(QuantileSketch)}, as long as
+ * they use the same <code>k</code>. Which values are promoted is chosen with
+ * {@link RandomEngine}, so seeding it makes a sketch reproducible. <code>NaN</code>
+ * values are ignored.
+ *
+ * @author jonatanfontanez
+ * @see Histogram
+ * @see MathPlus#quantiles(double[], double...)
+ *
+ */
+public final class QuantileSketch {
+	/**
+	 * The default accuracy parameter, which gives a rank error of about 1%.
+	 */
+	public static final int DEFAULT_K = 200;
+
+	private static final double CAPACITY_DECAY = 2.0 / 3.0;
+	private static final int MIN_CAPACITY = 2;
+
+	private final int k;
+	private double[][] levels;
+	private int[] sizes;
+	private int[] capacities;
+	private int levelCount;
+	private long count;
+	private double min = Double.NaN;
+	private double max = Double.NaN;
+	private double[] sortedValues;
+	private long[] sortedWeights;
+
+	/**
+	 * Creates an empty sketch with the default accuracy.
+	 */
+	public QuantileSketch() {
+		this(DEFAULT_K);
+	}
+
+	/**
+	 * Creates an empty sketch with the accuracy parameter <code>k</code>. Higher values
+	 * are more accurate but use more memory.
+	 *
+	 * @param k accuracy parameter, at least 8
+	 */
+	public QuantileSketch(int k) {
+		if (k < 8)
+			throw new IllegalArgumentException("k must be at least 8!");
+		this.k = k;
+		this.levels = new double[4][];
+		this.sizes = new int[4];
+		this.levels[0] = new double[k];
+		this.levelCount = 1;
+		this.capacities = new int[4];
+		updateCapacities();
+	}
+
+	/**
+	 * Adds the value <code>value</code> to the sketch.
+	 *
+	 * @param value the value to add
+	 */
+	public void update(double value) {
+		if (value != value)
+			return;
+		track(value);
+		append(0, value);
+		if (sizes[0] >= capacities[0])
+			compress();
+		sortedValues = null;
+	}
+
+	/**
+	 * Adds every value in <code>values</code> to the sketch. The values are copied into
+	 * the lowest level a block at a time, which is compacted once per block.
+	 *
+	 * @param values the values to add
+	 */
+	public void updateAll(double... values) {
+		int i = 0;
+		while (i < values.length) {
+			int capacity = capacities[0];
+			if (levels[0].length < capacity)
+				levels[0] = Arrays.copyOf(levels[0], capacity);
+			double[] level = levels[0];
+			int size = sizes[0];
+			for (; i < values.length && size < capacity; i++) {
+				double value = values[i];
+				if (value != value)
+					continue;
+				track(value);
+				level[size++] = value;
+			}
+			sizes[0] = size;
+			if (size >= capacity)
+				compress();
+		}
+		sortedValues = null;
+	}
+
+	/**
+	 * Merges <code>other</code> into this sketch, as if every value added to
+	 * <code>other</code> had been added to this sketch as well. Does not modify
+	 * <code>other</code>.
+	 *
+	 * @param other the sketch to merge
+	 * @return this sketch
+	 */
+	public QuantileSketch merge(QuantileSketch other) {
+		if (other.k != k)
+			throw new IllegalArgumentException("Sketches with different k cannot be merged!");
+		if (other.count == 0)
+			return this;
+		if (count == 0) {
+			min = other.min;
+			max = other.max;
+		} else {
+			if (other.min < min)
+				min = other.min;
+			if (other.max > max)
+				max = other.max;
+		}
+		count += other.count;
+		for (int h = 0; h < other.levelCount; h++) {
+			ensureLevel(h);
+			for (int i = 0; i < other.sizes[h]; i++)
+				append(h, other.levels[h][i]);
+		}
+		compress();
+		sortedValues = null;
+		return this;
+	}
+
+	/**
+	 * Returns the amount of values added to the sketch.
+	 *
+	 * @return amount of values
+	 */
+	public long count() {
+		return count;
+	}
+
+	/**
+	 * Returns the smallest value added to the sketch, exactly.
+	 *
+	 * @return the smallest value
+	 */
+	public double min() {
+		return min;
+	}
+
+	/**
+	 * Returns the largest value added to the sketch, exactly.
+	 *
+	 * @return the largest value
+	 */
+	public double max() {
+		return max;
+	}
+
+	/**
+	 * Returns an estimate of the quantile <code>q</code> of all values added, the value
+	 * below which a fraction <code>q</code> of the values fall.
+	 *
+	 * @param q the quantile to estimate, between 0 and 1
+	 * @return estimate of the quantile
+	 */
+	public double quantile(double q) {
+		if (!MathPlus.inRangeEqual(q, 0, 1))
+			throw new IllegalArgumentException("Quantile must be between 0 and 1!");
+		if (count == 0)
+			return Double.NaN;
+		if (q == 0)
+			return min;
+		if (q == 1)
+			return max;
+		if (sortedValues == null)
+			sortRetained();
+		double target = q * count;
+		long seen = 0;
+		for (int i = 0; i < sortedValues.length; i++) {
+			seen += sortedWeights[i];
+			if (seen >= target)
+				return sortedValues[i];
+		}
+		return max;
+	}
+
+	/**
+	 * Returns an estimate of the quantile for every fraction in <code>qs</code>, in the
+	 * same order.
+	 *
+	 * @param qs the quantiles to estimate, each between 0 and 1
+	 * @return estimates of the quantiles
+	 */
+	public double[] quantiles(double... qs) {
+		double[] result = new double[qs.length];
+		for (int i = 0; i < qs.length; i++)
+			result[i] = quantile(qs[i]);
+		return result;
+	}
+
+	/**
+	 * Returns an estimate of the fraction of values added which are at or below
+	 * <code>value</code>.
+	 *
+	 * @param value the value to find the rank of
+	 * @return estimate of the fraction of values at or below the value
+	 */
+	public double rank(double value) {
+		if (count == 0)
+			return Double.NaN;
+		long below = 0;
+		for (int h = 0; h < levelCount; h++)
+			for (int i = 0; i < sizes[h]; i++)
+				if (levels[h][i] <= value)
+					below += 1L << h;
+		return (double) below / count;
+	}
+
+	/**
+	 * Returns the amount of values the sketch currently holds, which stays bounded no
+	 * matter how many values are added.
+	 *
+	 * @return amount of values held
+	 */
+	public int retainedCount() {
+		int retained = 0;
+		for (int h = 0; h < levelCount; h++)
+			retained += sizes[h];
+		return retained;
+	}
+
+	private void track(double value) {
+		if (count == 0) {
+			min = value;
+			max = value;
+		} else if (value < min)
+			min = value;
+		else if (value > max)
+			max = value;
+		count++;
+	}
+
+	/**
+	 * Recomputes the capacity of every level, which only depends on how far the level
+	 * is below the top and so only changes when a level is added.
+	 */
+	private void updateCapacities() {
+		for (int h = 0; h < levelCount; h++) {
+			int depth = levelCount - 1 - h;
+			capacities[h] = Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+		}
+	}
+
+	/**
+	 * Compacts the lowest level over its capacity until every level fits, adding a new
+	 * level on top when the highest one overflows.
+	 */
+	private void compress() {
+		for (int h = 0; h < levelCount; h++) {
+			if (sizes[h] < capacities[h])
+				continue;
+			if (h + 1 == levelCount)
+				ensureLevel(h + 1);
+			double[] level = levels[h];
+			int size = sizes[h];
+			Arrays.sort(level, 0, size);
+			// An odd value out stays behind, so the total weight is kept exactly
+			int pairs = size / 2;
+			int offset = RandomEngine.current().nextBoolean() ? 1 : 0;
+			int kept = size - 2 * pairs;
+			double leftover = level[size - 1];
+			for (int i = 0; i < pairs; i++)
+				append(h + 1, level[2 * i + offset]);
+			if (kept == 1)
+				level[0] = leftover;
+			sizes[h] = kept;
+		}
+	}
+
+	private void ensureLevel(int level) {
+		if (level < levelCount)
+			return;
+		if (level >= levels.length) {
+			levels = Arrays.copyOf(levels, levels.length * 2);
+			sizes = Arrays.copyOf(sizes, sizes.length * 2);
+			capacities = Arrays.copyOf(capacities, capacities.length * 2);
+		}
+		levels[level] = new double[MIN_CAPACITY];
+		levelCount = level + 1;
+		updateCapacities();
+	}
+
+	private void append(int level, double value) {
+		double[] items = levels[level];
+		if (sizes[level] == items.length)
+			levels[level] = items = Arrays.copyOf(items, Math.max(MIN_CAPACITY, items.length * 2));
+		items[sizes[level]++] = value;
+	}
+
+	/**
+	 * Builds the sorted view of every value held with its weight, which is kept until
+	 * the sketch changes so that many quantiles can be read cheaply.
+	 */
+	private void sortRetained() {
+		int retained = retainedCount();
+		double[] values = new double[retained];
+		long[] weights = new long[retained];
+		Integer[] order = new Integer[retained];
+		int n = 0;
+		for (int h = 0; h < levelCount; h++)
+			for (int i = 0; i < sizes[h]; i++) {
+				values[n] = levels[h][i];
+				weights[n] = 1L << h;
+				order[n] = n++;
+			}
+		Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+		sortedValues = new double[retained];
+		sortedWeights = new long[retained];
+		for (int i = 0; i < retained; i++) {
+			sortedValues[i] = values[order[i]];
+			sortedWeights[i] = weights[order[i]];
+		}
+	}
+
+	/**
+	 * Creates and returns a string representation of the sketch.
+	 *
+	 * @return string representation of the sketch
+	 */
+	@Override
+	public String toString() {
+		return "QuantileSketch{k=" + k + ", count=" + count + ", retained=" + retainedCount() + ", min=" + min
+				+ ", max=" + max + "}";
+	}
+
+}
@@ -0,0 +1,111 @@
+//package setup.javaPlus;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * The <code>RandomEngine</code> class is the source of randomness behind every random
+ * method in {@link MathPlus}, {@link ColorPlus} and {@link WeightedSampler}.<br>
+ * <br>
+ *
+ * Each thread draws from its own generator, so threads never compete for a shared
+ * seed the way they do with {@link Math#random()}. By default every thread uses
+ * {@link ThreadLocalRandom}. A thread can instead install its own
+ * {@link RandomGenerator}, or seed itself with {@link #setSeed(long)}, which makes
+ * every random method called from that thread reproducible.<br>
+ * <br>
+ *
+ * For reproducible multithreaded runs, create one stream per task with
+ * {@link #streams(long, int)} and install each on the thread that runs the task.
+ *
+ * @author jonatanfontanez
+ * @see RandomGenerator
+ *
+ */
+public final class RandomEngine {
+	private static final ThreadLocal<RandomGenerator> INSTALLED = new ThreadLocal<RandomGenerator>();
+
+	/**
+	 * Don't let anyone instantiate this class
+	 */
+	private RandomEngine() {
+
+	}
+
+	/**
+	 * Returns the generator used by the current thread. This is the generator
+	 * installed through {@link #setGenerator(RandomGenerator)} or
+	 * {@link #setSeed(long)}, or {@link ThreadLocalRandom#current()} if none was
+	 * installed.
+	 *
+	 * @return the current thread's generator
+	 */
+	public static RandomGenerator current() {
+		RandomGenerator rng = INSTALLED.get();
+		return rng != null ? rng : ThreadLocalRandom.current();
+	}
+
+	/**
+	 * Installs the generator <code>rng</code> for the current thread. Every random
+	 * method called from this thread will draw from it until {@link #reset()} is
+	 * called. The generator should not be shared with other threads.
+	 *
+	 * @param rng the generator to install
+	 */
+	public static void setGenerator(RandomGenerator rng) {
+		if (rng == null)
+			throw new IllegalArgumentException("Generator cannot be null!");
+		INSTALLED.set(rng);
+	}
+
+	/**
+	 * Seeds the current thread's generator with <code>seed</code>. Calling the same
+	 * random methods in the same order after seeding with the same value always
+	 * produces the same results.
+	 *
+	 * @param seed the seed to use
+	 */
+	public static void setSeed(long seed) {
+		INSTALLED.set(new SplittableRandom(seed));
+	}
+
+	/**
+	 * Removes any generator installed for the current thread, going back to
+	 * {@link ThreadLocalRandom}.
+	 */
+	public static void reset() {
+		INSTALLED.remove();
+	}
+
+	/**
+	 * Creates <code>count</code> independent generators which are all derived from
+	 * <code>seed</code>. The same seed and count always give the same generators, so
+	 * handing generator <code>i</code> to task <code>i</code> keeps a multithreaded run
+	 * reproducible no matter which thread runs which task.
+	 *
+	 * @param seed  the seed to derive every generator from
+	 * @param count amount of generators to create
+	 * @return independent generators
+	 */
+	public static RandomGenerator[] streams(long seed, int count) {
+		if (count < 0)
+			throw new IllegalArgumentException("Count cannot be less than zero!");
+		SplittableRandom root = new SplittableRandom(seed);
+		RandomGenerator[] streams = new RandomGenerator[count];
+		for (int i = 0; i < count; i++)
+			streams[i] = root.split();
+		return streams;
+	}
+
+	/**
+	 * Produces a random decimal value in the range <code>[0, 1)</code> from the
+	 * current thread's generator. Can be used in place of {@link Math#random()}.
+	 *
+	 * @return random decimal in range <code>[0, 1)</code>
+	 */
+	public static double nextDouble() {
+		return RandomEngine.current().nextDouble();
+	}
+
+}
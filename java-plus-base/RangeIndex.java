@@ -0,0 +1,352 @@
+//package setup.javaPlus;
+
+/**
+ * The <code>RangeIndex</code> class answers sum, mean, minimum and maximum queries
+ * over any range <code>[from, to)</code> of a fixed array in constant time, after
+ * building an index of the array once. Use it instead of calling
+ * {@link MathPlus#sum(double[], int, int)} or {@link MathPlus#max(double[], int, int)}
+ * over and over on sub-ranges of the same large array, which each take linear
+ * time.<br>
+ * <br>
+ *
+ * Sums are answered from prefix sums kept with Neumaier's compensated summation, so
+ * the sum of a small range far into a large array stays accurate. Infinite and
+ * <code>NaN</code> values are left out of the prefix sums and counted on their own
+ * instead, so they only affect the ranges holding them; a prefix sum which
+ * overflows on finite values alone still gives <code>NaN</code>. Minimums and
+ * maximums are answered from a sparse table over blocks of 16 values, plus a scan of
+ * the at most two partial blocks at the ends of the range; this keeps the index at a
+ * small fraction of the size of a full sparse table. The index keeps its own copy of
+ * the values, so changing the array afterwards does not affect it. For data which
+ * changes, use {@link SegmentTree} instead.<br>
+ * <br>
+ *
+ * The index can be built in parallel with {@link #parallelOf(double[])}, which gives
+ * exactly the same index as {@link #of(double[])}. A <code>NaN</code> in a range
+ * makes its minimum, maximum and sum <code>NaN</code>. An index is immutable and can
+ * be shared between threads.
+ *
+ * @author jonatanfontanez
+ * @see SegmentTree
+ *
+ */
+public final class RangeIndex {
+	private static final int BLOCK_SHIFT = 4;
+	private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+	private final double[] values;
+	private final double[] prefix;
+	private final double[] compensation;
+	private final int[] nanCounts;
+	private final int[] positiveInfinityCounts;
+	private final int[] negativeInfinityCounts;
+	private final double[][] minTable;
+	private final double[][] maxTable;
+
+	private RangeIndex(double[] values, boolean parallel) {
+		this.values = values;
+		int n = values.length;
+		this.prefix = new double[n + 1];
+		this.compensation = new double[n + 1];
+		buildPrefix(parallel);
+		boolean nonFinite = false;
+		for (double value : values)
+			if (!Double.isFinite(value)) {
+				nonFinite = true;
+				break;
+			}
+		this.nanCounts = nonFinite ? new int[n + 1] : null;
+		this.positiveInfinityCounts = nonFinite ? new int[n + 1] : null;
+		this.negativeInfinityCounts = nonFinite ? new int[n + 1] : null;
+		if (nonFinite)
+			countNonFinite();
+		int blocks = (n + BLOCK_SIZE - 1) >> BLOCK_SHIFT;
+		int levels = blocks == 0 ? 0 : 32 - Integer.numberOfLeadingZeros(blocks);
+		this.minTable = new double[levels][];
+		this.maxTable = new double[levels][];
+		buildTables(blocks, parallel);
+	}
+
+	/**
+	 * Builds an index of the array <code>values</code>.
+	 *
+	 * @param values the values to index
+	 * @return index of the values
+	 */
+	public static RangeIndex of(double[] values) {
+		return new RangeIndex(values.clone(), false);
+	}
+
+	/**
+	 * Builds an index of the array <code>values</code>. Every {@code int} is exactly
+	 * representable as a {@code double}, so no precision is lost.
+	 *
+	 * @param values the values to index
+	 * @return index of the values
+	 */
+	public static RangeIndex of(int[] values) {
+		return new RangeIndex(ArraysPlus.toDoubleArray(values), false);
+	}
+
+	/**
+	 * Builds an index of the array <code>values</code>, working on fixed-size chunks of
+	 * the array in parallel.
+	 *
+	 * @param values the values to index
+	 * @return index of the values
+	 */
+	public static RangeIndex parallelOf(double[] values) {
+		return new RangeIndex(values.clone(), true);
+	}
+
+	/**
+	 * Builds an index of the array <code>values</code>, working on fixed-size chunks of
+	 * the array in parallel.
+	 *
+	 * @param values the values to index
+	 * @return index of the values
+	 */
+	public static RangeIndex parallelOf(int[] values) {
+		return new RangeIndex(ArraysPlus.toDoubleArray(values), true);
+	}
+
+	/**
+	 * Returns the length of the indexed array.
+	 *
+	 * @return length of the array
+	 */
+	public int length() {
+		return values.length;
+	}
+
+	/**
+	 * Returns the value at the index <code>index</code>.
+	 *
+	 * @param index the index to read
+	 * @return the value at the index
+	 */
+	public double get(int index) {
+		return values[index];
+	}
+
+	/**
+	 * Returns the sum of the values from the index <code>from</code>, inclusive, to the
+	 * index <code>to</code>, exclusive.
+	 *
+	 * @param from first index of the range
+	 * @param to   index after the last index of the range
+	 * @return sum of the range
+	 */
+	public double sum(int from, int to) {
+		checkRange(from, to);
+		if (nanCounts != null) {
+			boolean positive = positiveInfinityCounts[to] > positiveInfinityCounts[from];
+			boolean negative = negativeInfinityCounts[to] > negativeInfinityCounts[from];
+			if (nanCounts[to] > nanCounts[from] || positive && negative)
+				return Double.NaN;
+			if (positive)
+				return Double.POSITIVE_INFINITY;
+			if (negative)
+				return Double.NEGATIVE_INFINITY;
+		}
+		return (prefix[to] - prefix[from]) + (compensation[to] - compensation[from]);
+	}
+
+	/**
+	 * Returns the arithmetic mean of the values from the index <code>from</code>,
+	 * inclusive, to the index <code>to</code>, exclusive.
+	 *
+	 * @param from first index of the range
+	 * @param to   index after the last index of the range
+	 * @return arithmetic mean of the range
+	 */
+	public double mean(int from, int to) {
+		return sum(from, to) / (to - from);
+	}
+
+	/**
+	 * Returns the smallest value from the index <code>from</code>, inclusive, to the
+	 * index <code>to</code>, exclusive. The range cannot be empty.
+	 *
+	 * @param from first index of the range
+	 * @param to   index after the last index of the range
+	 * @return the smallest value in the range
+	 */
+	public double min(int from, int to) {
+		checkNonEmptyRange(from, to);
+		int last = to - 1;
+		int firstBlock = from >> BLOCK_SHIFT, lastBlock = last >> BLOCK_SHIFT;
+		if (firstBlock == lastBlock)
+			return scanMin(from, to);
+		double minimum = Math.min(scanMin(from, (firstBlock + 1) << BLOCK_SHIFT),
+				scanMin(lastBlock << BLOCK_SHIFT, to));
+		if (lastBlock - firstBlock > 1) {
+			int level = 31 - Integer.numberOfLeadingZeros(lastBlock - firstBlock - 1);
+			minimum = Math.min(minimum, Math.min(minTable[level][firstBlock + 1],
+					minTable[level][lastBlock - (1 << level)]));
+		}
+		return minimum;
+	}
+
+	/**
+	 * Returns the largest value from the index <code>from</code>, inclusive, to the
+	 * index <code>to</code>, exclusive. The range cannot be empty.
+	 *
+	 * @param from first index of the range
+	 * @param to   index after the last index of the range
+	 * @return the largest value in the range
+	 */
+	public double max(int from, int to) {
+		checkNonEmptyRange(from, to);
+		int last = to - 1;
+		int firstBlock = from >> BLOCK_SHIFT, lastBlock = last >> BLOCK_SHIFT;
+		if (firstBlock == lastBlock)
+			return scanMax(from, to);
+		double maximum = Math.max(scanMax(from, (firstBlock + 1) << BLOCK_SHIFT),
+				scanMax(lastBlock << BLOCK_SHIFT, to));
+		if (lastBlock - firstBlock > 1) {
+			int level = 31 - Integer.numberOfLeadingZeros(lastBlock - firstBlock - 1);
+			maximum = Math.max(maximum, Math.max(maxTable[level][firstBlock + 1],
+					maxTable[level][lastBlock - (1 << level)]));
+		}
+		return maximum;
+	}
+
+	/**
+	 * Returns the range of the values from the index <code>from</code>, inclusive, to
+	 * the index <code>to</code>, exclusive; the largest value minus the smallest value.
+	 * The range cannot be empty.
+	 *
+	 * @param from first index of the range
+	 * @param to   index after the last index of the range
+	 * @return the range of the values in the range
+	 */
+	public double range(int from, int to) {
+		return max(from, to) - min(from, to);
+	}
+
+	private double scanMin(int from, int to) {
+		double minimum = values[from];
+		for (int i = from + 1; i < to; i++)
+			minimum = Math.min(minimum, values[i]);
+		return minimum;
+	}
+
+	private double scanMax(int from, int to) {
+		double maximum = values[from];
+		for (int i = from + 1; i < to; i++)
+			maximum = Math.max(maximum, values[i]);
+		return maximum;
+	}
+
+	/**
+	 * Fills the compensated prefix sums. Every chunk is first summed on its own, the
+	 * chunk totals are added up in order to find where each chunk starts, and then
+	 * every chunk fills in its prefix sums from that start. The chunks are the same
+	 * whether or not they run in parallel, so both give the same index. Values which
+	 * are not finite count as zero here and are counted by {@link #countNonFinite()}.
+	 */
+	private void buildPrefix(boolean parallel) {
+		int n = values.length;
+		int chunkSize = ParallelChunks.DEFAULT_CHUNK_SIZE;
+		int chunks = ParallelChunks.chunkCount(n, chunkSize);
+		double[] sums = new double[chunks];
+		double[] sumCompensations = new double[chunks];
+		ParallelChunks.forEach(n, chunkSize, parallel, (chunk, from, to) -> {
+			double sum = 0.0, c = 0.0;
+			for (int i = from; i < to; i++) {
+				double value = RangeIndex.finite(values[i]);
+				double t = sum + value;
+				c += MathKernels.sumError(sum, value, t);
+				sum = t;
+			}
+			sums[chunk] = sum;
+			sumCompensations[chunk] = c;
+		});
+		double[] starts = new double[chunks];
+		double[] startCompensations = new double[chunks];
+		double sum = 0.0, c = 0.0;
+		for (int i = 0; i < chunks; i++) {
+			starts[i] = sum;
+			startCompensations[i] = c;
+			double t = sum + sums[i];
+			c += MathKernels.sumError(sum, sums[i], t) + sumCompensations[i];
+			sum = t;
+		}
+		ParallelChunks.forEach(n, chunkSize, parallel, (chunk, from, to) -> {
+			double s = starts[chunk], sc = startCompensations[chunk];
+			for (int i = from; i < to; i++) {
+				double value = RangeIndex.finite(values[i]);
+				double t = s + value;
+				sc += MathKernels.sumError(s, value, t);
+				s = t;
+				prefix[i + 1] = s;
+				compensation[i + 1] = sc;
+			}
+		});
+	}
+
+	/**
+	 * Fills the prefix counts of <code>NaN</code>, positive infinite and negative
+	 * infinite values, which are only kept when the array holds any of them.
+	 */
+	private void countNonFinite() {
+		for (int i = 0; i < values.length; i++) {
+			double value = values[i];
+			nanCounts[i + 1] = nanCounts[i] + (value != value ? 1 : 0);
+			positiveInfinityCounts[i + 1] = positiveInfinityCounts[i] + (value == Double.POSITIVE_INFINITY ? 1 : 0);
+			negativeInfinityCounts[i + 1] = negativeInfinityCounts[i] + (value == Double.NEGATIVE_INFINITY ? 1 : 0);
+		}
+	}
+
+	private static double finite(double value) {
+		return Double.isFinite(value) ? value : 0.0;
+	}
+
+	/**
+	 * Fills the sparse tables, where level <code>k</code> holds the minimum and maximum
+	 * of every run of <code>2^k</code> blocks. Level 0 is found from the values and
+	 * every higher level from the one below it.
+	 */
+	private void buildTables(int blocks, boolean parallel) {
+		if (blocks == 0)
+			return;
+		double[] mins = new double[blocks], maxs = new double[blocks];
+		ParallelChunks.forEach(blocks, ParallelChunks.DEFAULT_CHUNK_SIZE >> BLOCK_SHIFT, parallel,
+				(chunk, from, to) -> {
+					for (int b = from; b < to; b++) {
+						int start = b << BLOCK_SHIFT, end = Math.min(start + BLOCK_SIZE, values.length);
+						mins[b] = scanMin(start, end);
+						maxs[b] = scanMax(start, end);
+					}
+				});
+		minTable[0] = mins;
+		maxTable[0] = maxs;
+		for (int level = 1; level < minTable.length; level++) {
+			int half = 1 << (level - 1);
+			int count = blocks - (1 << level) + 1;
+			double[] lowerMins = minTable[level - 1], lowerMaxs = maxTable[level - 1];
+			double[] levelMins = new double[count], levelMaxs = new double[count];
+			ParallelChunks.forEach(count, ParallelChunks.DEFAULT_CHUNK_SIZE, parallel, (chunk, from, to) -> {
+				for (int j = from; j < to; j++) {
+					levelMins[j] = Math.min(lowerMins[j], lowerMins[j + half]);
+					levelMaxs[j] = Math.max(lowerMaxs[j], lowerMaxs[j + half]);
+				}
+			});
+			minTable[level] = levelMins;
+			maxTable[level] = levelMaxs;
+		}
+	}
+
+	private void checkRange(int from, int to) {
+		if (from < 0 || to > values.length || from > to)
+			throw new ArrayIndexOutOfBoundsException("Range [" + from + ", " + to + ") is out of bounds!");
+	}
+
+	private void checkNonEmptyRange(int from, int to) {
+		checkRange(from, to);
+		if (from == to)
+			throw new ArrayIndexOutOfBoundsException("Range [" + from + ", " + to + ") is empty!");
+	}
+
+}
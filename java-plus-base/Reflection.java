@@ -0,0 +1,112 @@
+//package setup.javaPlus;
+
+import java.awt.geom.Point2D;
+
+/**
+ * The <code>Reflection</code> class reflects points across a fixed line through two
+ * points. The coefficients of the reflection are computed once when the line is
+ * given, so reflecting many points across the same line only costs two
+ * multiply-adds per coordinate.<br>
+ * <br>
+ *
+ * Points can be reflected one at a time, or in bulk from arrays of coordinates into
+ * caller-provided output arrays, optionally in parallel. A reflection is immutable and
+ * can be shared between threads.
+ *
+ * @author jonatanfontanez
+ * @see MathPlus#mirror(Point2D, double, double, double, double)
+ *
+ */
+public final class Reflection {
+	private final double x0;
+	private final double y0;
+	private final double a;
+	private final double b;
+
+	/**
+	 * Creates a reflection across the line through p1 = (x0, y0) and p2 = (x1, y1).
+	 *
+	 * @param x0 x coordinate of first point
+	 * @param y0 y coordinate of first point
+	 * @param x1 x coordinate of second point
+	 * @param y1 y coordinate of second point
+	 */
+	public Reflection(double x0, double y0, double x1, double y1) {
+		double dx = x1 - x0;
+		double dy = y1 - y0;
+		double lengthSquared = dx * dx + dy * dy;
+		if (lengthSquared == 0)
+			throw new IllegalArgumentException("The two points of the line cannot be the same!");
+		this.x0 = x0;
+		this.y0 = y0;
+		this.a = (dx * dx - dy * dy) / lengthSquared;
+		this.b = 2 * dx * dy / lengthSquared;
+	}
+
+	/**
+	 * Creates a reflection across the line through <code>p1</code> and
+	 * <code>p2</code>.
+	 *
+	 * @param p1 first point of the line
+	 * @param p2 second point of the line
+	 */
+	public Reflection(Point2D p1, Point2D p2) {
+		this(p1.getX(), p1.getY(), p2.getX(), p2.getY());
+	}
+
+	/**
+	 * Returns the point <code>p</code> reflected across the line.
+	 *
+	 * @param p point to be reflected
+	 * @return point reflected across the line
+	 */
+	public Point2D apply(Point2D p) {
+		double x = p.getX() - x0, y = p.getY() - y0;
+		return new Point2D.Double(a * x + b * y + x0, b * x - a * y + y0);
+	}
+
+	/**
+	 * Reflects every point <code>(xs[i], ys[i])</code> across the line, storing the
+	 * result in <code>(outXs[i], outYs[i])</code>. The output arrays may be the input
+	 * arrays, to reflect the points in place.
+	 *
+	 * @param xs    x coordinates of the points
+	 * @param ys    y coordinates of the points
+	 * @param outXs array to store the reflected x coordinates in
+	 * @param outYs array to store the reflected y coordinates in
+	 */
+	public void apply(double[] xs, double[] ys, double[] outXs, double[] outYs) {
+		Reflection.checkLengths(xs, ys, outXs, outYs);
+		apply(xs, ys, outXs, outYs, 0, xs.length);
+	}
+
+	/**
+	 * Reflects every point <code>(xs[i], ys[i])</code> across the line, storing the
+	 * result in <code>(outXs[i], outYs[i])</code>, splitting large arrays into chunks
+	 * which are reflected in parallel.
+	 *
+	 * @param xs    x coordinates of the points
+	 * @param ys    y coordinates of the points
+	 * @param outXs array to store the reflected x coordinates in
+	 * @param outYs array to store the reflected y coordinates in
+	 */
+	public void parallelApply(double[] xs, double[] ys, double[] outXs, double[] outYs) {
+		Reflection.checkLengths(xs, ys, outXs, outYs);
+		ParallelChunks.forEach(xs.length, ParallelChunks.DEFAULT_CHUNK_SIZE,
+				(chunk, from, to) -> apply(xs, ys, outXs, outYs, from, to));
+	}
+
+	private void apply(double[] xs, double[] ys, double[] outXs, double[] outYs, int from, int to) {
+		for (int i = from; i < to; i++) {
+			double x = xs[i] - x0, y = ys[i] - y0;
+			outXs[i] = a * x + b * y + x0;
+			outYs[i] = b * x - a * y + y0;
+		}
+	}
+
+	static void checkLengths(double[] xs, double[] ys, double[] outXs, double[] outYs) {
+		if (xs.length != ys.length || xs.length != outXs.length || xs.length != outYs.length)
+			throw new IllegalArgumentException("The amount of x and y coordinates are not equal!");
+	}
+
+}
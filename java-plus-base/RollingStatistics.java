@@ -0,0 +1,513 @@
+//package setup.javaPlus;
+
+/**
+ * The <code>RollingStatistics</code> class keeps statistics of the last
+ * <code>window</code> values of a stream, such as a moving average or a moving
+ * maximum, in constant amortized time per value no matter how large the window is.
+ * Values are given one at a time with {@link #accept(double)}, and every statistic can
+ * be read after each one.<br>
+ * <br>
+ *
+ * The minimum and maximum are kept with monotonic deques: a value is dropped as soon
+ * as a newer value makes it impossible for it to be the minimum or maximum again, so
+ * each value is added and removed at most once. The sum is kept with Neumaier's
+ * compensated summation, so adding and removing values for a long time does not let
+ * rounding errors build up. The variance is updated with Welford's method, which
+ * cancels badly when a value far from the rest leaves the window: the squared
+ * deviation taken away dwarfs what is left, and the rounding error of the large value
+ * swamps the small one. Whenever that happens, and once per full turn of the window
+ * in any case, the mean and variance are recomputed exactly from the window.<br>
+ * <br>
+ *
+ * Infinite and <code>NaN</code> values are left out of the sum and counted on their
+ * own instead, so once they leave the window the statistics are exact again. While
+ * the window holds one, its sum and mean are infinite or <code>NaN</code> as they
+ * would be for a plain sum, and its variance is <code>NaN</code>.<br>
+ * <br>
+ *
+ * The static methods such as {@link #movingMean(double[], int, double[])} do the same
+ * for a whole array at once, storing the statistic of the window ending at every index
+ * in an output array, which may be the input array. Until a full window has been
+ * seen, the statistics cover every value so far. The minimum and maximum of a window
+ * holding <code>NaN</code> are meaningless.
+ *
+ * @author jonatanfontanez
+ * @see StatsAccumulator
+ * @see RangeIndex
+ *
+ */
+public final class RollingStatistics {
+	/**
+	 * How many times larger than the remaining squared deviations the squared
+	 * deviation of a removed value may be before the variance is recomputed; beyond
+	 * this, the cancellation would cost more than six of the sixteen digits.
+	 */
+	private static final double CANCELLATION_RATIO = 1e6;
+
+	private final int window;
+	private final double[] buffer;
+	private long total;
+	private int count;
+	private double sum;
+	private double compensation;
+	private double mean;
+	private double squaredDeviations;
+	private int nanCount;
+	private int positiveInfinityCount;
+	private int negativeInfinityCount;
+	private final Deque minimums;
+	private final Deque maximums;
+
+	/**
+	 * Creates empty statistics over a window of <code>window</code> values.
+	 *
+	 * @param window amount of most recent values to keep statistics of
+	 */
+	public RollingStatistics(int window) {
+		RollingStatistics.checkWindow(window);
+		this.window = window;
+		this.buffer = new double[window];
+		this.minimums = new Deque(window);
+		this.maximums = new Deque(window);
+	}
+
+	/**
+	 * Adds the value <code>value</code> to the window, dropping the oldest value if the
+	 * window is full.
+	 *
+	 * @param value the value to add
+	 */
+	public void accept(double value) {
+		long index = total++;
+		int slot = (int) (index % window);
+		double added = RollingStatistics.finite(value);
+		boolean recompute = false;
+		if (count == window) {
+			double removed = buffer[slot];
+			countNonFinite(removed, -1);
+			removed = RollingStatistics.finite(removed);
+			addToSum(-removed);
+			double previousMean = mean;
+			mean += (added - removed) / window;
+			squaredDeviations += (added - removed) * (added - mean + removed - previousMean);
+			double removedDeviation = (removed - previousMean) * (removed - previousMean);
+			recompute = slot == window - 1 || removedDeviation > squaredDeviations * CANCELLATION_RATIO;
+		} else {
+			count++;
+			double delta = added - mean;
+			mean += delta / count;
+			squaredDeviations += delta * (added - mean);
+		}
+		countNonFinite(value, 1);
+		addToSum(added);
+		buffer[slot] = value;
+		if (recompute)
+			resetDeviations();
+		long oldest = index - window + 1;
+		minimums.removeBefore(oldest);
+		maximums.removeBefore(oldest);
+		while (!minimums.isEmpty() && minimums.lastValue() >= value)
+			minimums.removeLast();
+		while (!maximums.isEmpty() && maximums.lastValue() <= value)
+			maximums.removeLast();
+		minimums.add(value, index);
+		maximums.add(value, index);
+	}
+
+	/**
+	 * Adds every value in <code>values</code> to the window, in order.
+	 *
+	 * @param values the values to add
+	 */
+	public void acceptAll(double... values) {
+		for (double value : values)
+			accept(value);
+	}
+
+	/**
+	 * Returns the size of the window.
+	 *
+	 * @return the size of the window
+	 */
+	public int window() {
+		return window;
+	}
+
+	/**
+	 * Returns the amount of values currently in the window, which is the size of the
+	 * window once enough values have been added.
+	 *
+	 * @return amount of values in the window
+	 */
+	public int count() {
+		return count;
+	}
+
+	/**
+	 * Returns the amount of values added since the statistics were created or cleared.
+	 *
+	 * @return amount of values added
+	 */
+	public long totalCount() {
+		return total;
+	}
+
+	/**
+	 * Returns if the window holds as many values as it can.
+	 *
+	 * @return if the window is full
+	 */
+	public boolean isFull() {
+		return count == window;
+	}
+
+	/**
+	 * Returns the sum of the values in the window.
+	 *
+	 * @return sum of the window
+	 */
+	public double sum() {
+		boolean positive = positiveInfinityCount > 0, negative = negativeInfinityCount > 0;
+		if (nanCount > 0 || positive && negative)
+			return Double.NaN;
+		if (positive)
+			return Double.POSITIVE_INFINITY;
+		if (negative)
+			return Double.NEGATIVE_INFINITY;
+		return sum + compensation;
+	}
+
+	/**
+	 * Returns the arithmetic mean of the values in the window.
+	 *
+	 * @return arithmetic mean of the window
+	 */
+	public double mean() {
+		return count == 0 ? Double.NaN : sum() / count;
+	}
+
+	/**
+	 * Returns the population variance of the values in the window.
+	 *
+	 * @return population variance of the window
+	 */
+	public double variance() {
+		if (count == 0 || nanCount + positiveInfinityCount + negativeInfinityCount > 0)
+			return Double.NaN;
+		// Removing values can leave a tiny negative remainder where the true value is zero
+		return Math.max(squaredDeviations, 0.0) / count;
+	}
+
+	/**
+	 * Returns the population standard deviation of the values in the window.
+	 *
+	 * @return population standard deviation of the window
+	 */
+	public double standardDeviation() {
+		return Math.sqrt(variance());
+	}
+
+	/**
+	 * Returns the smallest value in the window.
+	 *
+	 * @return the smallest value in the window
+	 */
+	public double min() {
+		return count == 0 ? Double.NaN : minimums.firstValue();
+	}
+
+	/**
+	 * Returns the largest value in the window.
+	 *
+	 * @return the largest value in the window
+	 */
+	public double max() {
+		return count == 0 ? Double.NaN : maximums.firstValue();
+	}
+
+	/**
+	 * Returns the range of the values in the window, the largest value minus the
+	 * smallest value.
+	 *
+	 * @return range of the window
+	 */
+	public double range() {
+		return max() - min();
+	}
+
+	/**
+	 * Removes every value from the window.
+	 */
+	public void clear() {
+		total = 0;
+		count = 0;
+		sum = 0.0;
+		compensation = 0.0;
+		mean = 0.0;
+		squaredDeviations = 0.0;
+		nanCount = 0;
+		positiveInfinityCount = 0;
+		negativeInfinityCount = 0;
+		minimums.clear();
+		maximums.clear();
+	}
+
+	/**
+	 * Recomputes the mean and squared deviations of the full window with two passes
+	 * over it. Each recompute costs one pass over the window, and it only happens once
+	 * per full turn or when a value far from the rest leaves, so the cost per value
+	 * stays constant on any ordinary stream.
+	 */
+	private void resetDeviations() {
+		double newMean = 0.0;
+		for (double v : buffer)
+			newMean += RollingStatistics.finite(v);
+		newMean /= window;
+		double deviations = 0.0;
+		for (double v : buffer) {
+			double deviation = RollingStatistics.finite(v) - newMean;
+			deviations += deviation * deviation;
+		}
+		mean = newMean;
+		squaredDeviations = deviations;
+	}
+
+	private void addToSum(double value) {
+		double t = sum + value;
+		compensation += MathKernels.sumError(sum, value, t);
+		sum = t;
+	}
+
+	private void countNonFinite(double value, int change) {
+		if (value != value)
+			nanCount += change;
+		else if (value == Double.POSITIVE_INFINITY)
+			positiveInfinityCount += change;
+		else if (value == Double.NEGATIVE_INFINITY)
+			negativeInfinityCount += change;
+	}
+
+	private static double finite(double value) {
+		return Double.isFinite(value) ? value : 0.0;
+	}
+
+	/**
+	 * Stores the sum of the window of <code>window</code> values ending at every index
+	 * of <code>values</code> in <code>out</code>. The output array may be the input
+	 * array.
+	 *
+	 * @param values the values to go through
+	 * @param window size of the window
+	 * @param out    array to store the sums in
+	 * @return <code>out</code>
+	 */
+	public static double[] movingSum(double[] values, int window, double[] out) {
+		RollingStatistics.check(values, window, out);
+		// When working in place the values leaving the window are overwritten before they
+		// leave, so they are kept in a ring of their own
+		double[] recent = values == out ? new double[Math.min(window, values.length)] : null;
+		double sum = 0.0, compensation = 0.0;
+		// Infinite and NaN values are counted instead of summed, the same as in accept
+		int nans = 0, positives = 0, negatives = 0;
+		for (int i = 0; i < values.length; i++) {
+			double value = values[i];
+			double removed = 0.0;
+			if (recent != null) {
+				if (i >= window)
+					removed = recent[i % window];
+				recent[i % window] = value;
+			} else if (i >= window)
+				removed = values[i - window];
+			nans += (value != value ? 1 : 0) - (removed != removed ? 1 : 0);
+			positives += (value == Double.POSITIVE_INFINITY ? 1 : 0) - (removed == Double.POSITIVE_INFINITY ? 1 : 0);
+			negatives += (value == Double.NEGATIVE_INFINITY ? 1 : 0) - (removed == Double.NEGATIVE_INFINITY ? 1 : 0);
+			value = RollingStatistics.finite(value);
+			removed = -RollingStatistics.finite(removed);
+			double t = sum + value;
+			compensation += MathKernels.sumError(sum, value, t);
+			sum = t;
+			t = sum + removed;
+			compensation += MathKernels.sumError(sum, removed, t);
+			sum = t;
+			if (nans > 0 || positives > 0 && negatives > 0)
+				out[i] = Double.NaN;
+			else if (positives > 0)
+				out[i] = Double.POSITIVE_INFINITY;
+			else if (negatives > 0)
+				out[i] = Double.NEGATIVE_INFINITY;
+			else
+				out[i] = sum + compensation;
+		}
+		return out;
+	}
+
+	/**
+	 * Stores the arithmetic mean of the window of <code>window</code> values ending at
+	 * every index of <code>values</code> in <code>out</code>. The output array may be
+	 * the input array.
+	 *
+	 * @param values the values to go through
+	 * @param window size of the window
+	 * @param out    array to store the means in
+	 * @return <code>out</code>
+	 */
+	public static double[] movingMean(double[] values, int window, double[] out) {
+		RollingStatistics.movingSum(values, window, out);
+		for (int i = 0; i < out.length; i++)
+			out[i] /= Math.min(i + 1, window);
+		return out;
+	}
+
+	/**
+	 * Stores the population variance of the window of <code>window</code> values
+	 * ending at every index of <code>values</code> in <code>out</code>. The output
+	 * array may be the input array.
+	 *
+	 * @param values the values to go through
+	 * @param window size of the window
+	 * @param out    array to store the variances in
+	 * @return <code>out</code>
+	 */
+	public static double[] movingVariance(double[] values, int window, double[] out) {
+		RollingStatistics.check(values, window, out);
+		RollingStatistics stats = new RollingStatistics(window);
+		for (int i = 0; i < values.length; i++) {
+			stats.accept(values[i]);
+			out[i] = stats.variance();
+		}
+		return out;
+	}
+
+	/**
+	 * Stores the smallest value of the window of <code>window</code> values ending at
+	 * every index of <code>values</code> in <code>out</code>. The output array may be
+	 * the input array.
+	 *
+	 * @param values the values to go through
+	 * @param window size of the window
+	 * @param out    array to store the minimums in
+	 * @return <code>out</code>
+	 */
+	public static double[] movingMin(double[] values, int window, double[] out) {
+		return RollingStatistics.movingExtreme(values, window, out, false);
+	}
+
+	/**
+	 * Stores the largest value of the window of <code>window</code> values ending at
+	 * every index of <code>values</code> in <code>out</code>. The output array may be
+	 * the input array.
+	 *
+	 * @param values the values to go through
+	 * @param window size of the window
+	 * @param out    array to store the maximums in
+	 * @return <code>out</code>
+	 */
+	public static double[] movingMax(double[] values, int window, double[] out) {
+		return RollingStatistics.movingExtreme(values, window, out, true);
+	}
+
+	/**
+	 * Stores the range of the window of <code>window</code> values ending at every
+	 * index of <code>values</code>, its largest value minus its smallest value, in
+	 * <code>out</code>. The output array may be the input array.
+	 *
+	 * @param values the values to go through
+	 * @param window size of the window
+	 * @param out    array to store the ranges in
+	 * @return <code>out</code>
+	 */
+	public static double[] movingRange(double[] values, int window, double[] out) {
+		RollingStatistics.check(values, window, out);
+		RollingStatistics stats = new RollingStatistics(window);
+		for (int i = 0; i < values.length; i++) {
+			stats.accept(values[i]);
+			out[i] = stats.range();
+		}
+		return out;
+	}
+
+	/**
+	 * Runs a monotonic deque over the array, keeping the values which could still
+	 * become the extreme of a later window.
+	 */
+	private static double[] movingExtreme(double[] values, int window, double[] out, boolean maximum) {
+		RollingStatistics.check(values, window, out);
+		Deque deque = new Deque(Math.max(Math.min(window, values.length), 1));
+		for (int i = 0; i < values.length; i++) {
+			double value = values[i];
+			deque.removeBefore(i - window + 1);
+			while (!deque.isEmpty() && (maximum ? deque.lastValue() <= value : deque.lastValue() >= value))
+				deque.removeLast();
+			deque.add(value, i);
+			out[i] = deque.firstValue();
+		}
+		return out;
+	}
+
+	private static void check(double[] values, int window, double[] out) {
+		RollingStatistics.checkWindow(window);
+		if (values.length != out.length)
+			throw new IllegalArgumentException("The output array is not the same length as the input!");
+	}
+
+	private static void checkWindow(int window) {
+		if (window < 1)
+			throw new IllegalArgumentException("Window must be at least 1!");
+	}
+
+	/**
+	 * A fixed-capacity ring of values with the position in the stream each was added
+	 * at, which can be pushed at the back and popped at either end.
+	 */
+	private static final class Deque {
+		private final double[] values;
+		private final long[] indices;
+		private int head;
+		private int size;
+
+		Deque(int capacity) {
+			values = new double[capacity];
+			indices = new long[capacity];
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+
+		double firstValue() {
+			return values[head];
+		}
+
+		double lastValue() {
+			return values[slot(size - 1)];
+		}
+
+		void add(double value, long index) {
+			int slot = slot(size++);
+			values[slot] = value;
+			indices[slot] = index;
+		}
+
+		void removeLast() {
+			size--;
+		}
+
+		void removeBefore(long index) {
+			while (size > 0 && indices[head] < index) {
+				head = head + 1 == values.length ? 0 : head + 1;
+				size--;
+			}
+		}
+
+		void clear() {
+			head = 0;
+			size = 0;
+		}
+
+		private int slot(int offset) {
+			int slot = head + offset;
+			return slot >= values.length ? slot - values.length : slot;
+		}
+	}
+
+}
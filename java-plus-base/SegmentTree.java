@@ -0,0 +1,255 @@
+//package setup.javaPlus;
+
+/**
+ * The <code>SegmentTree</code> class answers sum, mean, minimum and maximum queries
+ * over any range <code>[from, to)</code> of an array of values which can change, in
+ * <code>O(log n)</code> time for both queries and updates. For an array which never
+ * changes, {@link RangeIndex} answers the same queries in constant time.<br>
+ * <br>
+ *
+ * The tree is stored bottom-up in flat arrays twice the length of the values, with
+ * the values as leaves and every other node holding the sum, minimum and maximum of
+ * its two children. It can be built in parallel with
+ * {@link #parallelOf(double[])}, one level of the tree at a time. A <code>NaN</code>
+ * in a range makes its minimum, maximum and sum <code>NaN</code>. A tree is not
+ * safe to update from several threads at once.
+ *
+ * @author jonatanfontanez
+ * @see RangeIndex
+ *
+ */
+public final class SegmentTree {
+	private final int n;
+	private final double[] sums;
+	private final double[] mins;
+	private final double[] maxs;
+
+	private SegmentTree(double[] values, boolean parallel) {
+		this.n = values.length;
+		this.sums = new double[2 * n];
+		this.mins = new double[2 * n];
+		this.maxs = new double[2 * n];
+		System.arraycopy(values, 0, sums, n, n);
+		System.arraycopy(values, 0, mins, n, n);
+		System.arraycopy(values, 0, maxs, n, n);
+		// The children of every node in [2^k, 2^(k+1)) are in the level above it, so a
+		// whole level can be filled at once
+		for (int level = 31 - Integer.numberOfLeadingZeros(Math.max(n - 1, 1)); level >= 0; level--) {
+			int first = 1 << level, last = Math.min(first << 1, n);
+			ParallelChunks.forEach(Math.max(last - first, 0), ParallelChunks.DEFAULT_CHUNK_SIZE, parallel,
+					(chunk, from, to) -> {
+						for (int i = first + from; i < first + to; i++)
+							pull(i);
+					});
+		}
+	}
+
+	/**
+	 * Builds a tree over the array <code>values</code>. The array is copied.
+	 *
+	 * @param values the values to hold
+	 * @return tree of the values
+	 */
+	public static SegmentTree of(double[] values) {
+		return new SegmentTree(values, false);
+	}
+
+	/**
+	 * Builds a tree over the array <code>values</code>.
+	 *
+	 * @param values the values to hold
+	 * @return tree of the values
+	 */
+	public static SegmentTree of(int[] values) {
+		return new SegmentTree(ArraysPlus.toDoubleArray(values), false);
+	}
+
+	/**
+	 * Builds a tree over the array <code>values</code>, filling each level of the tree
+	 * in parallel. The array is copied.
+	 *
+	 * @param values the values to hold
+	 * @return tree of the values
+	 */
+	public static SegmentTree parallelOf(double[] values) {
+		return new SegmentTree(values, true);
+	}
+
+	/**
+	 * Builds a tree over the array <code>values</code>, filling each level of the tree
+	 * in parallel.
+	 *
+	 * @param values the values to hold
+	 * @return tree of the values
+	 */
+	public static SegmentTree parallelOf(int[] values) {
+		return new SegmentTree(ArraysPlus.toDoubleArray(values), true);
+	}
+
+	/**
+	 * Returns the amount of values in the tree.
+	 *
+	 * @return amount of values
+	 */
+	public int length() {
+		return n;
+	}
+
+	/**
+	 * Returns the value at the index <code>index</code>.
+	 *
+	 * @param index the index to read
+	 * @return the value at the index
+	 */
+	public double get(int index) {
+		checkIndex(index);
+		return sums[index + n];
+	}
+
+	/**
+	 * Sets the value at the index <code>index</code> to <code>value</code>, updating
+	 * every node above it.
+	 *
+	 * @param index the index to set
+	 * @param value the new value
+	 */
+	public void set(int index, double value) {
+		checkIndex(index);
+		int i = index + n;
+		sums[i] = value;
+		mins[i] = value;
+		maxs[i] = value;
+		for (i >>= 1; i > 0; i >>= 1)
+			pull(i);
+	}
+
+	/**
+	 * Adds <code>delta</code> to the value at the index <code>index</code>.
+	 *
+	 * @param index the index to change
+	 * @param delta the amount to add
+	 */
+	public void add(int index, double delta) {
+		set(index, get(index) + delta);
+	}
+
+	/**
+	 * Returns the sum of the values from the index <code>from</code>, inclusive, to the
+	 * index <code>to</code>, exclusive.
+	 *
+	 * @param from first index of the range
+	 * @param to   index after the last index of the range
+	 * @return sum of the range
+	 */
+	public double sum(int from, int to) {
+		checkRange(from, to);
+		double left = 0.0, right = 0.0;
+		for (int l = from + n, r = to + n; l < r; l >>= 1, r >>= 1) {
+			if ((l & 1) == 1)
+				left += sums[l++];
+			if ((r & 1) == 1)
+				right = sums[--r] + right;
+		}
+		return left + right;
+	}
+
+	/**
+	 * Returns the arithmetic mean of the values from the index <code>from</code>,
+	 * inclusive, to the index <code>to</code>, exclusive.
+	 *
+	 * @param from first index of the range
+	 * @param to   index after the last index of the range
+	 * @return arithmetic mean of the range
+	 */
+	public double mean(int from, int to) {
+		return sum(from, to) / (to - from);
+	}
+
+	/**
+	 * Returns the smallest value from the index <code>from</code>, inclusive, to the
+	 * index <code>to</code>, exclusive. The range cannot be empty.
+	 *
+	 * @param from first index of the range
+	 * @param to   index after the last index of the range
+	 * @return the smallest value in the range
+	 */
+	public double min(int from, int to) {
+		checkNonEmptyRange(from, to);
+		double minimum = Double.POSITIVE_INFINITY;
+		for (int l = from + n, r = to + n; l < r; l >>= 1, r >>= 1) {
+			if ((l & 1) == 1)
+				minimum = Math.min(minimum, mins[l++]);
+			if ((r & 1) == 1)
+				minimum = Math.min(minimum, mins[--r]);
+		}
+		return minimum;
+	}
+
+	/**
+	 * Returns the largest value from the index <code>from</code>, inclusive, to the
+	 * index <code>to</code>, exclusive. The range cannot be empty.
+	 *
+	 * @param from first index of the range
+	 * @param to   index after the last index of the range
+	 * @return the largest value in the range
+	 */
+	public double max(int from, int to) {
+		checkNonEmptyRange(from, to);
+		double maximum = Double.NEGATIVE_INFINITY;
+		for (int l = from + n, r = to + n; l < r; l >>= 1, r >>= 1) {
+			if ((l & 1) == 1)
+				maximum = Math.max(maximum, maxs[l++]);
+			if ((r & 1) == 1)
+				maximum = Math.max(maximum, maxs[--r]);
+		}
+		return maximum;
+	}
+
+	/**
+	 * Returns the range of the values from the index <code>from</code>, inclusive, to
+	 * the index <code>to</code>, exclusive; the largest value minus the smallest value.
+	 * The range cannot be empty.
+	 *
+	 * @param from first index of the range
+	 * @param to   index after the last index of the range
+	 * @return the range of the values in the range
+	 */
+	public double range(int from, int to) {
+		return max(from, to) - min(from, to);
+	}
+
+	/**
+	 * Returns a copy of every value in the tree, in order.
+	 *
+	 * @return the values in the tree
+	 */
+	public double[] toArray() {
+		double[] values = new double[n];
+		System.arraycopy(sums, n, values, 0, n);
+		return values;
+	}
+
+	private void pull(int i) {
+		int left = i << 1, right = left | 1;
+		sums[i] = sums[left] + sums[right];
+		mins[i] = Math.min(mins[left], mins[right]);
+		maxs[i] = Math.max(maxs[left], maxs[right]);
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= n)
+			throw new ArrayIndexOutOfBoundsException("Index " + index + " is out of bounds!");
+	}
+
+	private void checkRange(int from, int to) {
+		if (from < 0 || to > n || from > to)
+			throw new ArrayIndexOutOfBoundsException("Range [" + from + ", " + to + ") is out of bounds!");
+	}
+
+	private void checkNonEmptyRange(int from, int to) {
+		checkRange(from, to);
+		if (from == to)
+			throw new ArrayIndexOutOfBoundsException("Range [" + from + ", " + to + ") is empty!");
+	}
+
+}
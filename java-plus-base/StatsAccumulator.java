@@ -0,0 +1,295 @@
+//package setup.javaPlus;
+
+/**
+ * The <code>StatsAccumulator</code> class collects summary statistics of a stream of
+ * {@code double} values in a single pass, using a constant amount of memory. Values
+ * can be added one at a time or in chunks, and every statistic can be read at any
+ * time.<br>
+ * <br>
+ *
+ * The variance is kept with Welford's method, which stays accurate where the
+ * textbook "sum of squares" formula cancels out. Accumulators filled on different
+ * threads can be merged with {@link #combine(StatsAccumulator)}.<br>
+ * <br>
+ *
+ * The minimum and maximum follow {@link MathPlus#min(double...)} and
+ * {@link MathPlus#max(double...)}: a <code>NaN</code> is ignored unless it is the first
+ * value. Statistics which are undefined without any values are <code>NaN</code>.
+ *
+ * @author jonatanfontanez
+ * @see MathPlus
+ *
+ */
+public final class StatsAccumulator {
+	private long count;
+	private double sum;
+	private double min = Double.NaN;
+	private double max = Double.NaN;
+	private double product = 1.0;
+	private double logProduct;
+	private double logCompensation;
+	private double harmonicSum;
+	private double mean;
+	private double squaredDeviations;
+
+	/**
+	 * Creates an empty accumulator.
+	 */
+	public StatsAccumulator() {
+
+	}
+
+	/**
+	 * Creates an accumulator which has already collected every value in
+	 * <code>values</code>.
+	 *
+	 * @param values the values to collect
+	 * @return the filled accumulator
+	 */
+	public static StatsAccumulator of(double... values) {
+		StatsAccumulator stats = new StatsAccumulator();
+		stats.acceptAll(values);
+		return stats;
+	}
+
+	/**
+	 * Adds the value <code>value</code> to the statistics.
+	 *
+	 * @param value the value to add
+	 */
+	public void accept(double value) {
+		if (count == 0) {
+			min = value;
+			max = value;
+		} else if (value < min)
+			min = value;
+		else if (value > max)
+			max = value;
+		count++;
+		sum += value;
+		product *= value;
+		addLog(Math.log(value));
+		harmonicSum += 1.0 / value;
+		double delta = value - mean;
+		mean += delta / count;
+		squaredDeviations += delta * (value - mean);
+	}
+
+	/**
+	 * Adds every value in <code>values</code> to the statistics.
+	 *
+	 * @param values the values to add
+	 */
+	public void acceptAll(double... values) {
+		acceptAll(values, 0, values.length);
+	}
+
+	/**
+	 * Adds every value in <code>values</code> from the index <code>from</code>,
+	 * inclusive, to the index <code>to</code>, exclusive, to the statistics.
+	 *
+	 * @param values the values to add
+	 * @param from   first index to add
+	 * @param to     index after the last index to add
+	 */
+	public void acceptAll(double[] values, int from, int to) {
+		if (from < 0 || to > values.length || from > to)
+			throw new ArrayIndexOutOfBoundsException("Range [" + from + ", " + to + ") is out of bounds!");
+		for (int i = from; i < to; i++)
+			accept(values[i]);
+	}
+
+	/**
+	 * Merges the statistics of <code>other</code> into this accumulator, as if every
+	 * value given to <code>other</code> had been given to this accumulator as well.
+	 * Does not modify <code>other</code>.
+	 *
+	 * @param other the statistics to merge
+	 * @return this accumulator
+	 */
+	public StatsAccumulator combine(StatsAccumulator other) {
+		if (other.count == 0)
+			return this;
+		if (count == 0) {
+			min = other.min;
+			max = other.max;
+		} else {
+			if (other.min < min)
+				min = other.min;
+			if (other.max > max)
+				max = other.max;
+		}
+		long total = count + other.count;
+		double delta = other.mean - mean;
+		mean += delta * other.count / total;
+		squaredDeviations += other.squaredDeviations + delta * delta * ((double) count * other.count / total);
+		count = total;
+		sum += other.sum;
+		product *= other.product;
+		addLog(other.logProduct);
+		logCompensation += other.logCompensation;
+		harmonicSum += other.harmonicSum;
+		return this;
+	}
+
+	/**
+	 * Returns the amount of values collected.
+	 *
+	 * @return amount of values
+	 */
+	public long count() {
+		return count;
+	}
+
+	/**
+	 * Returns the sum of all values.
+	 *
+	 * @return sum of all values
+	 */
+	public double sum() {
+		return sum;
+	}
+
+	/**
+	 * Returns the sum of the reciprocals of all values.
+	 *
+	 * @return harmonic sum of all values
+	 */
+	public double harmonicSum() {
+		return harmonicSum;
+	}
+
+	/**
+	 * Returns the product of all values.
+	 *
+	 * @return product of all values
+	 */
+	public double product() {
+		return product;
+	}
+
+	/**
+	 * Returns the natural logarithm of the product of all values, which never
+	 * overflows or underflows the way {@link #product()} does.
+	 *
+	 * @return natural logarithm of the product of all values
+	 */
+	public double logProduct() {
+		return logProduct + logCompensation;
+	}
+
+	/**
+	 * Returns the smallest value.
+	 *
+	 * @return the smallest value
+	 */
+	public double min() {
+		return min;
+	}
+
+	/**
+	 * Returns the largest value.
+	 *
+	 * @return the largest value
+	 */
+	public double max() {
+		return max;
+	}
+
+	/**
+	 * Returns the range of all values, the largest value minus the smallest value.
+	 *
+	 * @return range of all values
+	 */
+	public double range() {
+		return max - min;
+	}
+
+	/**
+	 * Returns the arithmetic mean of all values.
+	 *
+	 * @return arithmetic mean of all values
+	 */
+	public double arithmeticMean() {
+		return count == 0 ? Double.NaN : sum / count;
+	}
+
+	/**
+	 * Returns the geometric mean of all values, found by averaging their logarithms
+	 * so that it works for any amount of values.
+	 *
+	 * @return geometric mean of all values
+	 */
+	public double geometricMean() {
+		return count == 0 ? Double.NaN : Math.exp(logProduct() / count);
+	}
+
+	/**
+	 * Returns the harmonic mean of all values.
+	 *
+	 * @return harmonic mean of all values
+	 */
+	public double harmonicMean() {
+		return count == 0 ? Double.NaN : count / harmonicSum;
+	}
+
+	/**
+	 * Returns the population variance of all values, the mean of the squared
+	 * deviations from the arithmetic mean.
+	 *
+	 * @return population variance of all values
+	 */
+	public double variance() {
+		return count == 0 ? Double.NaN : squaredDeviations / count;
+	}
+
+	/**
+	 * Returns the sample variance of all values, which divides the squared deviations
+	 * by one less than the amount of values.
+	 *
+	 * @return sample variance of all values
+	 */
+	public double sampleVariance() {
+		return count < 2 ? Double.NaN : squaredDeviations / (count - 1);
+	}
+
+	/**
+	 * Returns the population standard deviation of all values.
+	 *
+	 * @return population standard deviation of all values
+	 */
+	public double standardDeviation() {
+		return Math.sqrt(variance());
+	}
+
+	/**
+	 * Returns the sample standard deviation of all values.
+	 *
+	 * @return sample standard deviation of all values
+	 */
+	public double sampleStandardDeviation() {
+		return Math.sqrt(sampleVariance());
+	}
+
+	/**
+	 * Adds a logarithm to the log-product with Neumaier's compensated summation, since
+	 * the geometric mean exponentiates the sum and magnifies any error in it.
+	 */
+	private void addLog(double log) {
+		double t = logProduct + log;
+		logCompensation += MathKernels.sumError(logProduct, log, t);
+		logProduct = t;
+	}
+
+	/**
+	 * Creates and returns a string representation of the main statistics.
+	 *
+	 * @return string representation of the statistics
+	 */
+	@Override
+	public String toString() {
+		return "StatsAccumulator{count=" + count + ", sum=" + sum + ", min=" + min + ", max=" + max + ", mean="
+				+ arithmeticMean() + ", standardDeviation=" + standardDeviation() + "}";
+	}
+
+}
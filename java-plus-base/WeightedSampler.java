@@ -0,0 +1,180 @@
+//package setup.javaPlus;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * The <code>WeightedSampler</code> class produces random values from a fixed set of
+ * values, where each value has a weight. Unlike
+ * {@link MathPlus#weightedRandom(double[], double[])}, which scans every weight on each
+ * call, the sampler builds an alias table once (Vose's alias method) so that every
+ * draw afterwards takes constant time, no matter how many values there are.<br>
+ * <br>
+ *
+ * The sampler is immutable once built and can safely be shared between threads.
+ * Draws come from the calling thread's {@link RandomEngine} generator.
+ *
+ * @author jonatanfontanez
+ * @see MathPlus#weightedRandom(double[], double[])
+ *
+ */
+public final class WeightedSampler {
+	private final double[] values;
+	private final double[] probability;
+	private final int[] alias;
+
+	/**
+	 * Builds a sampler which produces the given {@code values}, where each value has a
+	 * weight found in the corresponding given {@code weights}.<br>
+	 * Higher weights result in a higher chance to produce a certain value and vice
+	 * versa.
+	 *
+	 * @param values  values that can be produced
+	 * @param weights weights of each values
+	 */
+	public WeightedSampler(double[] values, double[] weights) {
+		if (values.length != weights.length)
+			throw new IllegalArgumentException("The amount of values and weights are not equal!");
+		if (values.length == 0)
+			throw new IllegalArgumentException("There must be at least one value!");
+		int n = weights.length;
+		double sum = 0.0;
+		for (int i = 0; i < n; i++) {
+			if (weights[i] < 0)
+				throw new IllegalArgumentException("Weights cannot be less than zero!");
+			sum += weights[i];
+		}
+		if (!(sum > 0) || Double.isInfinite(sum))
+			throw new IllegalArgumentException("The sum of all weights must be positive and finite!");
+		this.values = values.clone();
+		this.probability = new double[n];
+		this.alias = new int[n];
+
+		// Scale every weight so the average is 1, then pair each "small" column with a
+		// "large" one that tops it up to exactly 1.
+		double[] scaled = new double[n];
+		int[] small = new int[n];
+		int[] large = new int[n];
+		int smallCount = 0, largeCount = 0;
+		for (int i = 0; i < n; i++) {
+			scaled[i] = weights[i] * n / sum;
+			if (scaled[i] < 1.0)
+				small[smallCount++] = i;
+			else
+				large[largeCount++] = i;
+		}
+		while (smallCount > 0 && largeCount > 0) {
+			int s = small[--smallCount];
+			int l = large[--largeCount];
+			probability[s] = scaled[s];
+			alias[s] = l;
+			scaled[l] = (scaled[l] + scaled[s]) - 1.0;
+			if (scaled[l] < 1.0)
+				small[smallCount++] = l;
+			else
+				large[largeCount++] = l;
+		}
+		// Whatever is left over is 1 up to rounding error
+		while (largeCount > 0) {
+			int l = large[--largeCount];
+			probability[l] = 1.0;
+			alias[l] = l;
+		}
+		while (smallCount > 0) {
+			int s = small[--smallCount];
+			probability[s] = 1.0;
+			alias[s] = s;
+		}
+	}
+
+	/**
+	 * Builds a sampler which produces the given integer {@code values}, where each
+	 * value has a weight found in the corresponding given {@code weights}.
+	 *
+	 * @param values  values that can be produced
+	 * @param weights weights of each values
+	 */
+	public WeightedSampler(int[] values, double[] weights) {
+		this(ArraysPlus.toDoubleArray(values), weights);
+	}
+
+	/**
+	 * Returns the amount of values this sampler can produce.
+	 *
+	 * @return amount of values
+	 */
+	public int size() {
+		return values.length;
+	}
+
+	/**
+	 * Produces the index of a random value, each weighted with the weights given to the
+	 * sampler.
+	 *
+	 * @return random index in range <code>[0, size())</code>
+	 */
+	public int nextIndex() {
+		return index(RandomEngine.nextDouble());
+	}
+
+	/**
+	 * Produces a random value, each weighted with the weights given to the sampler.
+	 *
+	 * @return random value
+	 */
+	public double next() {
+		return values[nextIndex()];
+	}
+
+	/**
+	 * Produces a random value, each weighted with the weights given to the sampler,
+	 * rounded down to an integer. Mostly useful when the sampler was built with
+	 * integer values.
+	 *
+	 * @return random integer value
+	 */
+	public int nextInt() {
+		return (int) next();
+	}
+
+	/**
+	 * Fills the array <code>out</code> with random values, each weighted with the
+	 * weights given to the sampler.
+	 *
+	 * @param out the array to fill
+	 * @return the filled array
+	 */
+	public double[] fill(double[] out) {
+		RandomGenerator rng = RandomEngine.current();
+		for (int i = 0; i < out.length; i++)
+			out[i] = values[index(rng.nextDouble())];
+		return out;
+	}
+
+	/**
+	 * Fills the array <code>out</code> with random values, each weighted with the
+	 * weights given to the sampler, rounded down to integers.
+	 *
+	 * @param out the array to fill
+	 * @return the filled array
+	 */
+	public int[] fill(int[] out) {
+		RandomGenerator rng = RandomEngine.current();
+		for (int i = 0; i < out.length; i++)
+			out[i] = (int) values[index(rng.nextDouble())];
+		return out;
+	}
+
+	/**
+	 * Maps a uniform value in <code>[0, 1)</code> to a table column using a single
+	 * random number: the integer part picks the column and the fractional part decides
+	 * between the column and its alias.
+	 */
+	private int index(double rand) {
+		double scaled = rand * values.length;
+		int column = (int) scaled;
+		if (column >= values.length)
+			column = values.length - 1;
+		return scaled - column < probability[column] ? column : alias[column];
+	}
+
+}